@@ -0,0 +1,122 @@
+package com.msbcgroup.mockinterview.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // @Scheduled jobs keep Boot's scheduler; the STOMP broker's own scheduler would otherwise make it back off
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = "questionGenerationExecutor")
+    public ThreadPoolTaskExecutor questionGenerationExecutor(
+            @Value("${interview.generation.pool-size:4}") int poolSize,
+            @Value("${interview.generation.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // Bounded so a scheduling burst can't grow without limit; queued jobs are only claimed when there is room
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("question-gen-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Grades submitted interviews so a cohort submitting at once doesn't tie up request threads
+    @Bean(name = "gradingExecutor")
+    public ThreadPoolTaskExecutor gradingExecutor(
+            @Value("${interview.grading.pool-size:6}") int poolSize,
+            @Value("${interview.grading.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // Grading jobs are only claimed when there is room; the rest wait in the job table
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("grading-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Warm runners for the in-process code sandbox; platform threads so per-thread CPU time can be measured
+    @Bean(name = "codeExecutionExecutor")
+    public ThreadPoolTaskExecutor codeExecutionExecutor(
+            @Value("${code-execution.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${code-execution.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setPrestartAllCoreThreads(true);
+        executor.setThreadNamePrefix("code-runner-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // Coordinates bulk scheduling batches; their candidates run on batchItemExecutor
+    @Bean(name = "batchSchedulingExecutor")
+    public ThreadPoolTaskExecutor batchSchedulingExecutor(
+            @Value("${interview.batch.concurrent-batches:2}") int concurrentBatches) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrentBatches);
+        executor.setMaxPoolSize(concurrentBatches);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("schedule-batch-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Candidates of all schedule batches; each batch keeps to its own parallelism within it
+    @Bean(name = "batchItemExecutor")
+    public ThreadPoolTaskExecutor batchItemExecutor(
+            @Value("${interview.batch.max-parallelism:16}") int maxParallelism,
+            @Value("${interview.batch.concurrent-batches:2}") int concurrentBatches) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxParallelism);
+        executor.setMaxPoolSize(maxParallelism);
+        // Batches only hand over as many candidates as their parallelism, so this never fills up
+        executor.setQueueCapacity(maxParallelism * concurrentBatches);
+        executor.setThreadNamePrefix("schedule-item-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Coordinates re-scoring runs; each run grades on its own pool
+    @Bean(name = "rescoringExecutor")
+    public ThreadPoolTaskExecutor rescoringExecutor(
+            @Value("${interview.rescoring.concurrent-runs:1}") int concurrentRuns) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrentRuns);
+        executor.setMaxPoolSize(concurrentRuns);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("rescore-run-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes to HR's live monitoring feeds; virtual threads, since a send can sit on a slow browser's connection
+    @Bean(name = "monitoringFeedExecutor")
+    public SimpleAsyncTaskExecutor monitoringFeedExecutor(
+            @Value("${monitoring.feed.max-subscribers:50}") int maxSubscribers) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("monitoring-feed-");
+        executor.setVirtualThreads(true);
+        // At most one send per subscriber is in flight
+        executor.setConcurrencyLimit(maxSubscribers);
+        return executor;
+    }
+}
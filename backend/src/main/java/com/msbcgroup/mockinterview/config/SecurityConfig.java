@@ -36,6 +36,8 @@ public class SecurityConfig {
                         .requestMatchers("/candidate/portal-info/**").permitAll()
                         .requestMatchers("/interview/**").permitAll()
                         .requestMatchers("/api/monitoring/**").permitAll()
+                        // STOMP handshake; subscriptions are checked per frame in WebSocketConfig
+                        .requestMatchers("/ws/**").permitAll()
                         .requestMatchers("/hr/**", "/interview/**", "/candidate/**", "/api/auth/**").authenticated()
                         .anyRequest().authenticated()
                 )
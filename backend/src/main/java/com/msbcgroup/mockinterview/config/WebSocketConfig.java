@@ -0,0 +1,130 @@
+package com.msbcgroup.mockinterview.config;
+
+import com.msbcgroup.mockinterview.service.AuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import java.security.Principal;
+
+/**
+ * STOMP over SockJS at {@code /ws}. The exam page keeps one connection open and sends proctoring
+ * events to {@code /app/monitoring-event}; HR subscribes to {@code /topic/monitoring} (or
+ * {@code /topic/monitoring/{sessionId}}). Clients may only send to {@code /app}, so nobody can
+ * publish straight to a topic, and only HR may subscribe. The in-memory
+ * broker serves a single node; with RELAY
+ * the topics go through an external STOMP broker (e.g. RabbitMQ) so HR sees events from every node.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${monitoring.websocket.allowed-origins:http://localhost:5173}")
+    private String[] allowedOrigins;
+
+    // SIMPLE (in-memory, single node) or RELAY (external STOMP broker)
+    @Value("${monitoring.websocket.broker:SIMPLE}")
+    private String broker;
+
+    @Value("${monitoring.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${monitoring.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${monitoring.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${monitoring.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${monitoring.websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Autowired
+    private AuthService authService;
+
+    private final TaskScheduler brokerScheduler;
+
+    public WebSocketConfig(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.brokerScheduler = messageBrokerTaskScheduler;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns(allowedOrigins)
+                .withSockJS();
+        // Frames from one connection are handled in the order they were sent
+        registry.setPreserveReceiveOrder(true);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        if ("RELAY".equalsIgnoreCase(broker)) {
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            // Heartbeats let both sides notice a dead connection and the page fall back to HTTP
+            registry.enableSimpleBroker("/topic")
+                    .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                    .setTaskScheduler(brokerScheduler);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            // Candidates connect without logging in and may only send; reading the feed needs an HR login
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor == null) {
+                    return message;
+                }
+                String destination = accessor.getDestination();
+                if (StompCommand.SEND.equals(accessor.getCommand())
+                        && (destination == null || !destination.startsWith("/app/"))) {
+                    throw new MessagingException(message, "Sending to " + destination + " is not allowed");
+                }
+                if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    if (accessor.getUser() == null) {
+                        throw new MessagingException(message, "Subscribing to " + destination + " requires login");
+                    }
+                    // Every topic carries monitoring data, and the broker matches patterns such as /topic/**
+                    if (!isHr(accessor.getUser())) {
+                        throw new MessagingException(message, "Subscribing to " + destination + " requires an HR login");
+                    }
+                }
+                return message;
+            }
+        });
+    }
+
+    private boolean isHr(Principal user) {
+        return user instanceof OAuth2AuthenticationToken token
+                && "hr".equals(authService.determineUserRole(token.getPrincipal().getAttribute("email")));
+    }
+}
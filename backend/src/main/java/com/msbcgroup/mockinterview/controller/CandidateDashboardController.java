@@ -31,7 +31,7 @@ public class CandidateDashboardController {
         // Use the email from the session to find the candidate's profile
         CandidateProfile profile = candidateService.findCandidateByEmail(session.getCandidateEmail());
 
-        Map<String, Object> response = new HashMap<>();fffff
+        Map<String, Object> response = new HashMap<>();
         response.put("candidateName", profile.getCandidateName());
         response.put("positionApplied", profile.getPositionApplied());
         response.put("message", "Welcome! Please press 'Start' when you are ready to begin the interview.");
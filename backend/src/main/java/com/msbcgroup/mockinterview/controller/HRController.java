@@ -10,6 +10,7 @@ import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,6 +40,39 @@ public class HRController {
     @Autowired
     private FileProcessingService fileProcessingService;
 
+    @Autowired
+    private BatchSchedulingService batchSchedulingService;
+
+    @Autowired
+    private LlmGovernor llmGovernor;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private QuestionPregenerationService questionPregenerationService;
+
+    @Autowired
+    private GradingService gradingService;
+
+    @Autowired
+    private CodeExecutionService codeExecutionService;
+
+    @Autowired
+    private RescoringService rescoringService;
+
+    @Autowired
+    private EventCountService eventCountService;
+
+    @Autowired
+    private MonitoringEventBuffer monitoringEventBuffer;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private MonitoringFeedService monitoringFeedService;
+
     @GetMapping("/dashboard")
     public ResponseEntity<List<Map<String, Object>>> hrDashboard() {
         return ResponseEntity.ok(candidateService.getAllCandidatesWithStatus());
@@ -129,6 +163,7 @@ public class HRController {
         }
         
         CandidateProfile saved = candidateService.addCandidate(candidate);
+        questionPregenerationService.stage(saved);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("data", saved);
@@ -139,6 +174,7 @@ public class HRController {
     public ResponseEntity<Map<String, Object>> updateResume(@RequestParam("resume") MultipartFile file,
                                                             @RequestParam("candidateEmail") String candidateEmail) throws IOException {
         CandidateProfile candidate = candidateService.findCandidateByEmail(candidateEmail);
+        String previousFingerprint = QuestionPregenerationService.fingerprint(candidate);
         
         String resumeText = fileProcessingService.extractTextFromFile(file);
         JsonNode parsedData = resumeParsingService.parseResume(resumeText);
@@ -151,6 +187,7 @@ public class HRController {
         candidate.setLocation(parsedData.get("location").asText());
         candidate.setDescription(parsedData.get("description").asText());
         CandidateProfile updatedCandidate = candidateService.updateCandidate(candidate);
+        questionPregenerationService.restageIfChanged(previousFingerprint, updatedCandidate);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -234,12 +271,141 @@ public class HRController {
 
 
     @PostMapping("/schedule-interview")
-    public ResponseEntity<Map<String, Object>> scheduleInterview(@RequestParam String candidateEmail) throws Exception {
-        String magicLink = interviewService.scheduleInterview(candidateEmail);
-        
+    public ResponseEntity<Map<String, Object>> scheduleInterview(@RequestParam String candidateEmail) {
+        Map<String, Object> response = interviewService.scheduleInterview(candidateEmail);
+        response.put("message", "Interview scheduled. Questions are being generated; the link becomes usable once ready.");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/interview-status/{sessionId}")
+    public ResponseEntity<Map<String, Object>> getInterviewStatus(@PathVariable String sessionId) {
+        return ResponseEntity.ok(interviewService.getGenerationStatus(sessionId));
+    }
+
+    @PostMapping("/schedule-interviews")
+    public ResponseEntity<Map<String, Object>> scheduleInterviews(
+            @RequestBody ScheduleInterviewsRequest request,
+            @AuthenticationPrincipal OAuth2User principal) {
+        if (request.getCandidateEmails() == null || request.getCandidateEmails().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        String hrEmail = principal != null ? principal.getAttribute("email") : "unknown@example.com";
+
+        ScheduleBatch batch = batchSchedulingService.createBatch(request.getCandidateEmails(), request.getParallelism(), hrEmail);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("batchId", batch.getBatchId());
+        response.put("total", batch.getTotalCandidates());
+        response.put("parallelism", batch.getParallelism());
+        response.put("message", "Batch scheduling started.");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/schedule-interviews/{batchId}")
+    public ResponseEntity<Map<String, Object>> getScheduleBatch(@PathVariable String batchId) {
+        return ResponseEntity.ok(batchSchedulingService.getBatchProgress(batchId));
+    }
+
+    @GetMapping("/grading-status/{candidateEmail}")
+    public ResponseEntity<Map<String, Object>> getGradingStatus(@PathVariable String candidateEmail) {
+        return ResponseEntity.ok(gradingService.getGradingStatus(candidateEmail));
+    }
+
+    @GetMapping("/monitoring-summary/{sessionId}")
+    public ResponseEntity<Map<String, Object>> getMonitoringSummary(@PathVariable String sessionId) {
+        Map<MonitoringEvent.EventType, Long> counts = eventCountService.getCounts(sessionId);
+        Map<MonitoringEvent.EventType, Long> violations = eventCountService.getViolationCounts(sessionId);
+
         Map<String, Object> response = new HashMap<>();
-        response.put("magicLink", magicLink);
-        response.put("message", "Interview scheduled successfully.");
+        response.put("sessionId", sessionId);
+        response.put("eventCounts", counts);
+        response.put("violations", violations);
+        response.put("totalViolations", violations.values().stream().mapToLong(Long::longValue).sum());
+        response.put("violationStats", monitoringService.getViolationStats(sessionId));
+        response.put("intervals", monitoringService.getIntervals(sessionId));
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    // Live feed of monitoring events as Server-Sent Events; sessionIds and eventTypes are comma-separated, omitted for all
+    @GetMapping("/monitoring/stream")
+    public ResponseEntity<?> streamMonitoringEvents(@RequestParam(required = false) List<String> sessionIds,
+                                                    @RequestParam(required = false) List<String> eventTypes) {
+        Set<MonitoringEvent.EventType> types = EnumSet.noneOf(MonitoringEvent.EventType.class);
+        for (String type : eventTypes != null ? eventTypes : List.<String>of()) {
+            try {
+                types.add(MonitoringEvent.EventType.valueOf(type.trim()));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid eventType: " + type));
+            }
+        }
+        Set<String> sessions = new HashSet<>();
+        for (String sessionId : sessionIds != null ? sessionIds : List.<String>of()) {
+            if (!sessionId.isBlank()) {
+                sessions.add(sessionId.trim());
+            }
+        }
+        try {
+            return ResponseEntity.ok(monitoringFeedService.subscribe(sessions, types));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/monitoring-buffer-metrics")
+    public ResponseEntity<Map<String, Object>> getMonitoringBufferMetrics() {
+        return ResponseEntity.ok(monitoringEventBuffer.getMetrics());
+    }
+
+    @GetMapping("/code-execution-metrics")
+    public ResponseEntity<Map<String, Object>> getCodeExecutionMetrics() {
+        return ResponseEntity.ok(codeExecutionService.getMetrics());
+    }
+
+    @GetMapping("/llm-metrics")
+    public ResponseEntity<Map<String, Object>> getLlmMetrics() {
+        return ResponseEntity.ok(llmGovernor.getMetrics());
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getJobs() {
+        return ResponseEntity.ok(jobQueueService.getOverview());
+    }
+
+    @PostMapping("/jobs/{jobId}/requeue")
+    public ResponseEntity<Map<String, Object>> requeueJob(@PathVariable Long jobId) {
+        jobQueueService.requeue(jobId);
+        return ResponseEntity.ok(Map.of("status", "success", "jobId", jobId));
+    }
+
+    @PostMapping("/rescoring")
+    public ResponseEntity<Map<String, Object>> startRescoring(
+            @RequestBody(required = false) Map<String, Object> requestBody,
+            @AuthenticationPrincipal OAuth2User principal) {
+        Map<String, Object> body = requestBody != null ? requestBody : Map.of();
+        String rubricVersion = (String) body.get("rubricVersion");
+        Integer parallelism = body.get("parallelism") != null
+                ? ((Number) body.get("parallelism")).intValue() : null;
+        String hrEmail = principal != null ? principal.getAttribute("email") : "unknown@example.com";
+
+        RescoreRun run = rescoringService.startRun(rubricVersion, parallelism, hrEmail);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("runId", run.getRunId());
+        response.put("rubricVersion", run.getRubricVersion());
+        response.put("total", run.getTotalSubmissions());
+        response.put("parallelism", run.getParallelism());
+        response.put("message", "Re-scoring started.");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/rescoring/{runId}")
+    public ResponseEntity<Map<String, Object>> getRescoring(@PathVariable String runId) {
+        return ResponseEntity.ok(rescoringService.getRunProgress(runId));
+    }
+
+    @PostMapping("/rescoring/{runId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelRescoring(@PathVariable String runId) {
+        rescoringService.cancelRun(runId);
+        return ResponseEntity.ok(Map.of("status", "success", "runId", runId));
+    }
+}
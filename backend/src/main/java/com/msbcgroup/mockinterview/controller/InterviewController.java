@@ -3,35 +3,66 @@ package com.msbcgroup.mockinterview.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.msbcgroup.mockinterview.model.*;
 import com.msbcgroup.mockinterview.repository.*;
 import org.springframework.ai.chat.client.ChatClient;
+import com.msbcgroup.mockinterview.service.AnswerAutosaveService;
+import com.msbcgroup.mockinterview.service.CodeExecutionService;
+import com.msbcgroup.mockinterview.service.IncrementalJsonArrayParser;
+import com.msbcgroup.mockinterview.service.LlmGovernor;
+import com.msbcgroup.mockinterview.service.LlmJsonParser;
+import com.msbcgroup.mockinterview.service.LlmUseCase;
+import com.msbcgroup.mockinterview.service.QuestionFanoutGenerator;
+import com.msbcgroup.mockinterview.service.SubmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/interview")
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
 public class InterviewController {
 
-    @Autowired
-    private InterviewResultRepository interviewResult;
+    // Interview session the caller's browser opened through start-with-session
+    static final String EXAM_SESSION_ATTRIBUTE = "interviewSessionId";
 
     @Autowired
     private InterviewSessionRepository sessionRepository;
 
+    @Value("${interview.generation.mode:SINGLE}")
+    private QuestionGenerationMode generationMode;
+
+    @Value("${interview.questions.mcq-count:25}")
+    private int mcqCount;
+
+    @Value("${interview.questions.coding-count:5}")
+    private int codingCount;
+
     @Autowired
-    private InterviewMeetingRepository meetingRepository;
+    private LlmGovernor llmGovernor;
 
     @Autowired
-    private MonitoringEventRepository eventRepository;
+    private LlmJsonParser llmJsonParser;
+
+    @Autowired
+    private QuestionFanoutGenerator questionFanoutGenerator;
+
+    @Autowired
+    private CodeExecutionService codeExecutionService;
+
+    @Autowired
+    private AnswerAutosaveService answerAutosaveService;
+
+    @Autowired
+    private SubmissionService submissionService;
 
     private final ChatClient chatClient;
 
@@ -41,240 +72,284 @@ public class InterviewController {
 
     @PostMapping("/submit-answers")
     public ResponseEntity<Map<String, Object>> submitAnswers(
-            @RequestBody Map<String, Object> requestBody) throws JsonProcessingException {
-        System.out.println("submitAnswers method called");
-
-
+            @RequestBody Map<String, Object> requestBody,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         String sessionId = (String) requestBody.get("sessionId");
         Map<String, String> answers = (Map<String, String>) requestBody.get("answers");
 
-        InterviewSession session = sessionRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
+        // Repeats of a submit (double clicks, retries after a timeout) get the original outcome back
+        try {
+            Map<String, Object> response = submissionService.submit(sessionId, answers, idempotencyKey);
+            return Boolean.TRUE.equals(response.get("duplicate"))
+                    ? ResponseEntity.ok(response)
+                    : ResponseEntity.accepted().body(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Conflict");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Bad Request");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 
-        String email = session.getCandidateEmail();
-        System.out.println("email "+email);
-        ObjectMapper mapper = new ObjectMapper();
-        List<Question> questions = mapper.readValue(session.getQuestionsJson(),
-                new TypeReference<List<Question>>() {
-                });
-        session.setCompleted(true);
-        sessionRepository.save(session);
-        List<InterviewMeeting> activeMeetings = meetingRepository.findAllByCandidateEmailAndStatus(email, InterviewMeeting.MeetingStatus.SCHEDULED);
-        activeMeetings.forEach(meeting -> {
-            meeting.setStatus(InterviewMeeting.MeetingStatus.COMPLETED);
-            meeting.setLoginToken(null);
-            meeting.setTokenExpiry(null);
-        });
-        meetingRepository.saveAll(activeMeetings);
-        
-        Map<String, String> userAnswerMap = new HashMap<>();
-
-        for (int i = 0; i < questions.size(); i++) {
-            String answer = answers.get("answer" + i);
-            if (answer != null) {
-                userAnswerMap.put(questions.get(i).getQuestion(), answer);
-            }
+    private List<Question> parseQuestions(String response) {
+        try {
+            return llmJsonParser.parseQuestions(response);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
         }
+    }
 
-        List<MonitoringEvent> allEvents = eventRepository.findAllEventsBySessionId(sessionId);
+    @GetMapping("/start-with-session/{sessionId}")
+    public ResponseEntity<Map<String, Object>> startWithSession(
+            @PathVariable String sessionId, HttpServletRequest request) throws JsonProcessingException {
 
-        // Generate AI review
-        String reviewPrompt = buildReviewPrompt(questions, userAnswerMap,allEvents  );
+        // Verify session exists
+        InterviewSession session = sessionRepository.findBySessionId(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found"));
 
-        String aiResponse = chatClient.prompt()
-                .user(reviewPrompt)
-                .call()
-                .content();
-
-        InterviewSummary summary = parseAiSummary(aiResponse);
-
-        // Save to DB
-        Optional<InterviewResult> existingResultOpt = interviewResult.findByCandidateEmail(email);
-        if (existingResultOpt.isPresent()) {
-            InterviewResult existingResult = existingResultOpt.get();
-            existingResult.setAttempts(existingResult.getAttempts() + 1);
-            existingResult.setSubmittedAt(LocalDateTime.now());
-            existingResult.setSummary(summary);
-            interviewResult.save(existingResult);
-        } else {
-            InterviewResult result = new InterviewResult(email, summary);
-            interviewResult.save(result);
+        // Prevent re-taking a completed interview
+        if (session.isCompleted()) {
+            // Return a 409 Conflict status, which is more descriptive for the frontend.
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Conflict");
+            errorResponse.put("message", "This interview session has already been completed.");
+            return ResponseEntity.status(409).body(errorResponse);
+        }
+
+        // In streaming mode questions land one by one, so serve whatever is already there
+        boolean hasQuestions = session.getQuestionsJson() != null && !session.getQuestionsJson().isBlank();
+        if (session.getGenerationStatus() == GenerationStatus.GENERATING && !hasQuestions) {
+            Map<String, Object> pendingResponse = new HashMap<>();
+            pendingResponse.put("error", "Too Early");
+            pendingResponse.put("message", "Your interview questions are still being prepared. Please try again in a moment.");
+            pendingResponse.put("generationStatus", session.getGenerationStatus());
+            return ResponseEntity.status(425).body(pendingResponse);
+        }
+
+        if (session.getGenerationStatus() == GenerationStatus.FAILED) {
+            Map<String, Object> failedResponse = new HashMap<>();
+            failedResponse.put("error", "Service Unavailable");
+            failedResponse.put("message", "Your interview could not be prepared. Please contact HR.");
+            failedResponse.put("generationStatus", session.getGenerationStatus());
+            return ResponseEntity.status(503).body(failedResponse);
         }
 
-        // Return JSON instead of view
+        // Retrieve the questions that were generated when the interview was scheduled
+        ObjectMapper mapper = new ObjectMapper();
+        List<Question> questions = mapper.readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {});
+
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", "Interview submitted successfully");
+        response.put("questions", forCandidate(questions));
         response.put("sessionId", sessionId);
+        response.put("complete", session.isReady());
+        // Answers autosaved before a reload, keyed by question id
+        response.put("savedAnswers", answerAutosaveService.getSavedAnswers(sessionId));
+
+        // Binds this browser to the interview, so only it can run code for it
+        request.getSession(true).setAttribute(EXAM_SESSION_ATTRIBUTE, sessionId);
 
         return ResponseEntity.ok(response);
     }
 
-    private List<Question> parseQuestions(String response) {
-        try {
-            if (response.startsWith("```")) {
-                response = response.replaceAll("```json", "").replaceAll("```", "").trim();
-            }
+    // Debounced autosave from the exam page: only the questions changed since the last save
+    @PutMapping("/session/{sessionId}/answers")
+    public ResponseEntity<Map<String, Object>> saveAnswers(
+            @PathVariable String sessionId,
+            @RequestBody Map<String, Object> requestBody) {
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response);
-
-            if (root.has("questions")) {
-                return mapper.convertValue(root.get("questions"), new TypeReference<List<Question>>() {
-                });
-            }
+        InterviewSession session = sessionRepository.findBySessionId(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found"));
 
-            if (root.isArray()) {
-                return mapper.convertValue(root, new TypeReference<List<Question>>() {
-                });
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<AnswerAutosaveService.AnswerDelta> deltas = new ArrayList<>();
+            Object rawAnswers = requestBody.get("answers");
+            if (rawAnswers instanceof List<?> list) {
+                for (Object item : list) {
+                    if (item instanceof Map<?, ?> delta) {
+                        deltas.add(toAnswerDelta(delta));
+                    }
+                }
             }
 
-            return new ArrayList<>();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+            int saved = answerAutosaveService.saveDeltas(session, deltas);
+            response.put("status", "success");
+            response.put("saved", saved);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("error", "Conflict");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Bad Request");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         }
     }
 
-    private String buildReviewPrompt(List<Question> questions, Map<String, String> answers,List<MonitoringEvent> events) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("Please review this interview and provide a comprehensive summary:\n\n");
+    // JSON values of the wrong type are the client's error, not a server one
+    private static AnswerAutosaveService.AnswerDelta toAnswerDelta(Map<?, ?> delta) {
+        Object questionId = delta.get("questionId");
+        Object answer = delta.get("answer");
+        Object revision = delta.get("revision");
+        if (!(questionId instanceof String)) {
+            throw new IllegalArgumentException("questionId must be a string");
+        }
+        if (answer != null && !(answer instanceof String)) {
+            throw new IllegalArgumentException("answer to " + questionId + " must be a string");
+        }
+        if (revision != null && !(revision instanceof Number)) {
+            throw new IllegalArgumentException("revision of " + questionId + " must be a number");
+        }
+        return new AnswerAutosaveService.AnswerDelta((String) questionId, (String) answer,
+                revision != null ? ((Number) revision).longValue() : 0L, Boolean.TRUE.equals(delta.get("final")));
+    }
 
-        for (Question question : questions) {
-            String answer = answers.get(question.getQuestion());
-            prompt.append("Question: ").append(question.getQuestion()).append("\n");
+    // Lets the exam page pick up questions that arrived after it started, from index "from" onwards
+    @GetMapping("/session/{sessionId}/questions")
+    public ResponseEntity<Map<String, Object>> getSessionQuestions(
+            @PathVariable String sessionId,
+            @RequestParam(defaultValue = "0") int from) throws JsonProcessingException {
 
-            if ("MCQ".equals(question.getType()) && question.getOptions() != null && !question.getOptions().isEmpty()) {
-                prompt.append("Options: ").append(String.join(", ", question.getOptions())).append("\n");
-            }
+        InterviewSession session = sessionRepository.findBySessionId(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found"));
 
-            prompt.append("Answer: ").append(answer != null ? answer : "No answer provided").append("\n\n");
+        List<Question> questions = new ArrayList<>();
+        if (session.getQuestionsJson() != null && !session.getQuestionsJson().isBlank()) {
+            questions = new ObjectMapper().readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {});
         }
 
+        Map<String, Object> response = new HashMap<>();
+        response.put("questions", from < questions.size() ? forCandidate(questions.subList(Math.max(from, 0), questions.size())) : List.of());
+        response.put("total", questions.size());
+        response.put("complete", session.isReady());
+        response.put("generationStatus", session.getGenerationStatus());
+        return ResponseEntity.ok(response);
+    }
 
+    // "Run" button in the exam editor; same response shape the frontend used for the remote judge
+    @PostMapping("/execute-code")
+    public ResponseEntity<Map<String, Object>> executeCode(@RequestBody Map<String, String> requestBody,
+                                                           HttpServletRequest request) {
+        String language = requestBody.getOrDefault("language", "java");
+        String sessionId = requestBody.get("sessionId");
+        Map<String, Object> response = new HashMap<>();
 
-        Map<MonitoringEvent.EventType, Long> violationCounts = events.stream()
-                .filter(e -> e.getEventType() == MonitoringEvent.EventType.FACE_NOT_DETECTED
-                        || e.getEventType() == MonitoringEvent.EventType.MULTIPLE_FACES
-                        || e.getEventType() == MonitoringEvent.EventType.TAB_SWITCH)
-                .collect(Collectors.groupingBy(MonitoringEvent::getEventType, Collectors.counting()));
-
-        if (!violationCounts.isEmpty()) {
-            prompt.append("During the interview, the following violations occurred:\n");
-            violationCounts.forEach((type, count) ->
-                    prompt.append(type).append(": ").append(count).append(" time(s)\n")
-            );
-            prompt.append("\n");
+        // Running code is only open to a candidate in the middle of their own interview
+        HttpSession httpSession = request.getSession(false);
+        if (sessionId == null || httpSession == null || !sessionId.equals(httpSession.getAttribute(EXAM_SESSION_ATTRIBUTE))) {
+            response.put("error", "Forbidden");
+            response.put("message", "Open your interview from its link before running code.");
+            return ResponseEntity.status(403).body(response);
+        }
+        Optional<InterviewSession> session = sessionRepository.findBySessionId(sessionId);
+        if (session.isEmpty() || session.get().isCompleted() || session.get().getSubmittedAt() != null
+                || session.get().getGenerationStatus() == GenerationStatus.FAILED) {
+            response.put("error", "Conflict");
+            response.put("message", "This interview is not in progress.");
+            return ResponseEntity.status(409).body(response);
         }
 
-        prompt.append("""
-                You are an experienced technical interviewer. Review the candidate's exam answers and generate a structured evaluation.
-        
-        SCORING INSTRUCTIONS:
-        - Total questions: 25 (20 MCQ + 5 coding)
-        - Each question is worth exactly 1 point
-        - No negative marking
-        - Score range: 0-25
-        
-        For MCQ questions:
-        - Award 1 point if the selected option matches the correct answer
-        - Award 0 points if incorrect or no answer provided
-        
-        For coding questions:
-        - Award 1 point if the solution demonstrates correct logic and approach
-        - Award 0 points if the logic is fundamentally flawed or no solution provided
-        - Minor syntax errors should not result in 0 points if the approach is correct
-        
-        VIOLATIONS:
-        - Do NOT deduct points for violations
-        - Mention violations in the summary field as observational data
-        - Consider violations only in the recommendation, not the score
-        
-        EVALUATION GUIDELINES:
-        - Do NOT mention specific questions or answers in the summary
-        - Provide only a high-level evaluation of performance
-        - Include any violations and their frequency directly in the "summary" field
-        
-        If the candidate score is above average (score >= 15), include in the summary:
-        - Areas where the candidate is strong
-        - Areas where the candidate can improve
-        
-        Output strictly in JSON format:
-        {
-          "score": [Number 0-25],
-          "summary": "[One sentence summary including performance, strengths, weaknesses, and violations]",
-          "strengths": "[3 bullet points separated by |]",
-          "improvements": "[3 bullet points separated by |]",
-          
+        if (!"java".equalsIgnoreCase(language)) {
+            response.put("output", "");
+            response.put("error", "Only Java can be run on this server");
+            response.put("status", CodeExecutionService.Status.REJECTED);
+            return ResponseEntity.badRequest().body(response);
         }
-        """);
 
-        return prompt.toString();
+        CodeExecutionService.ExecutionResult result = codeExecutionService.run(requestBody.get("code"), requestBody.get("input"));
+        response.put("output", result.stdout());
+        response.put("error", result.error() != null ? result.error() : "");
+        response.put("status", result.status());
+        response.put("cpuTimeMs", result.cpuTimeMs());
+        return ResponseEntity.ok(response);
     }
 
-    private InterviewSummary parseAiSummary(String response) {
-        try {
-            if (response.startsWith("`")) {
-                response = response.replaceAll("`json", "").replaceAll("`", "").trim();
-            }
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response);
-
-            int score = root.has("score") && !root.get("score").isNull() ? root.get("score").asInt() : 0;
-            String summary = root.has("summary") && !root.get("summary").isNull() ? root.get("summary").asText() : "No summary available";
-            String strengths = root.has("strengths") && !root.get("strengths").isNull() ? root.get("strengths").asText() : "No strengths identified";
-            String improvements = root.has("improvements") && !root.get("improvements").isNull() ? root.get("improvements").asText() : "No improvements identified";
-            String recommendation = root.has("recommendation") && !root.get("recommendation").isNull() ? root.get("recommendation").asText() : "No recommendation available";
+    // Answer keys stay on the server; everything sent to the exam page goes through here
+    private List<Question> forCandidate(List<Question> questions) {
+        return questions.stream().map(Question::withoutAnswer).toList();
+    }
 
-            return new InterviewSummary(score, summary, strengths, improvements, recommendation);
+    public List<Question> generateQuestionsFromProfile(CandidateProfile profile) {
+        return generateQuestionsFromProfile(profile, null);
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new InterviewSummary(0, "Error parsing summary", "", "", "");
+    /**
+     * Generates questions for a profile. In STREAMING mode, and when a listener is given,
+     * each question is handed to {@code onQuestion} as soon as it has fully arrived.
+     * In FANOUT mode the set is generated as concurrent chunks and returned once merged.
+     */
+    public List<Question> generateQuestionsFromProfile(CandidateProfile profile, Consumer<Question> onQuestion) {
+        if (generationMode == QuestionGenerationMode.FANOUT) {
+            return questionFanoutGenerator.generate(profile);
         }
-    }
 
+        String prompt = buildQuestionPrompt(profile);
 
-    @GetMapping("/start-with-session/{sessionId}")
-    public ResponseEntity<Map<String, Object>> startWithSession(
-            @PathVariable String sessionId) throws JsonProcessingException {
+        if (generationMode == QuestionGenerationMode.STREAMING && onQuestion != null) {
+            return streamQuestions(prompt, onQuestion);
+        }
 
-        // Verify session exists
-        InterviewSession session = sessionRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
+        String response = llmGovernor.callHedged(LlmUseCase.QUESTION_GENERATION, () -> chatClient.prompt()
+                .user(prompt)
+                .call()
+                .content(), llmJsonParser::isValidQuestions);
 
-        // Prevent re-taking a completed interview
-        if (session.isCompleted()) {
-            // Return a 409 Conflict status, which is more descriptive for the frontend.
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Conflict");
-            errorResponse.put("message", "This interview session has already been completed.");
-            return ResponseEntity.status(409).body(errorResponse);
+        try {
+            return parseQuestions(response);
+        } catch (Exception e) {
+            // Log the error and re-throw a more specific exception
+            // This prevents a parsing error from being silent.
+            System.err.println("Failed to parse questions from AI response: " + e.getMessage());
+            throw new RuntimeException("Error generating interview questions from AI service.", e);
         }
 
-        // Retrieve the questions that were generated when the interview was scheduled
-        ObjectMapper mapper = new ObjectMapper();
-        List<Question> questions = mapper.readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {});
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("questions", questions);
-        response.put("sessionId", sessionId);
+    private List<Question> streamQuestions(String prompt, Consumer<Question> onQuestion) {
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser();
+        List<Question> questions = new ArrayList<>();
 
-        return ResponseEntity.ok(response);
+        // The pool slot is held for the whole stream, like a blocking call would hold it
+        llmGovernor.call(LlmUseCase.QUESTION_GENERATION, () -> chatClient.prompt()
+                .user(prompt)
+                .stream()
+                .content()
+                .doOnNext(chunk -> {
+                    for (String json : parser.feed(chunk)) {
+                        try {
+                            Question question = llmJsonParser.parseQuestion(json);
+                            questions.add(question);
+                            onQuestion.accept(question);
+                        } catch (IOException e) {
+                            System.err.println("Skipping malformed streamed question: " + e.getMessage());
+                        }
+                    }
+                })
+                .blockLast(llmGovernor.deadlineFor(LlmUseCase.QUESTION_GENERATION)));
+
+        return questions;
     }
 
-    public List<Question> generateQuestionsFromProfile(CandidateProfile profile) {
+    private String buildQuestionPrompt(CandidateProfile profile) {
 
         String randomSeed = UUID.randomUUID().toString().substring(0, 8);
 
-        String prompt = """
+        return """
                     You are an interview question generator.
-                    Generate exactly 30 interview questions tailored to the candidate's background.
+                    Generate exactly %d interview questions tailored to the candidate's background.
                 
-                    Total questions must be 25 and **mix of types**:
-                     - 25 Multiple-Choice (MCQ/OMR style) questions with 4 options each (do NOT include correct answers).
-                     - 5 Coding/Practical problems (coding challenges, logic-based coding exercises solvable within 5–10 minutes).
+                    Total questions must be %d and **mix of types**:
+                     - %d Multiple-Choice (MCQ/OMR style) questions with 4 options each, with the letter of the correct option in "answer".
+                     - %d Coding/Practical problems (coding challenges, logic-based coding exercises solvable within 5–10 minutes).
+                       Each program reads its input from standard input and prints the result to standard output;
+                       include 3 "testCases" with "input" and "expectedOutput" for each Coding problem.
                 
                     Candidate Profile:
                     positionApplied: %s
@@ -297,7 +372,7 @@ public class InterviewController {
                     -Ensure a natural variety of question topics based on candidate's skills and Description.
                     -Ensure questions are concise, clear, and realistic.
                     -Generate fresh and unique questions each time, ensuring variety and creativity.
-                    -Do NOT include any explanations or answers.
+                    -Do NOT include any explanations, and no answers for Coding problems.
                     
                 
                     Output strictly in JSON format only, no explanations.
@@ -308,33 +383,21 @@ public class InterviewController {
                       "id": "Q1",
                       "type": "MCQ",
                       "question": "...",
-                      "options": ["A) ...", "B) ...", "C) ...", "D) ..."]
+                      "options": ["A) ...", "B) ...", "C) ...", "D) ..."],
+                      "answer": "B"
                     },
                     {
                       "id": "Q6",
                       "type": "Coding",
-                      "question": "..."
+                      "question": "...",
+                      "testCases": [{"input": "...", "expectedOutput": "..."}]
                     }
                   ]
                 }
                 
-                """.formatted(profile.getPositionApplied(), profile.getExperienceYears(),
+                """.formatted(mcqCount + codingCount, mcqCount + codingCount, mcqCount, codingCount,
+                profile.getPositionApplied(), profile.getExperienceYears(),
                 profile.getSkills(), profile.getDescription());
-
-        String response = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
-
-        try {
-            return parseQuestions(response);
-        } catch (Exception e) {
-            // Log the error and re-throw a more specific exception
-            // This prevents a parsing error from being silent.
-            System.err.println("Failed to parse questions from AI response: " + e.getMessage());
-            throw new RuntimeException("Error generating interview questions from AI service.", e);
-        }
-
     }
 
 
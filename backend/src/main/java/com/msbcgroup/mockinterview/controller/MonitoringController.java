@@ -2,9 +2,11 @@ package com.msbcgroup.mockinterview.controller;
 
 import com.msbcgroup.mockinterview.service.MonitoringService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,10 +19,23 @@ public class MonitoringController {
 
     @PostMapping("/log-event")
     public ResponseEntity<String> logEvent(@RequestBody Map<String, Object> eventData) {
-        monitoringService.logEvent(eventData);
+        if (!monitoringService.logEvent(eventData)) {
+            // Shed under load; the client may send it again later
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Event dropped, monitoring is overloaded");
+        }
         return ResponseEntity.ok("Event logged successfully");
     }
 
+    // Batched form of log-event: an array of the same event objects, stored together
+    @PostMapping("/log-events")
+    public ResponseEntity<?> logEvents(@RequestBody List<Map<String, Object>> events) {
+        try {
+            return ResponseEntity.ok(monitoringService.logEvents(events));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
 
 
 }
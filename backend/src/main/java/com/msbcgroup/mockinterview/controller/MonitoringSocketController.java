@@ -0,0 +1,35 @@
+package com.msbcgroup.mockinterview.controller;
+
+import com.msbcgroup.mockinterview.service.MonitoringService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+// WebSocket counterpart of MonitoringController's log-event: same payload, no HTTP round trip per event
+@Controller
+public class MonitoringSocketController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringSocketController.class);
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @MessageMapping("/monitoring-event")
+    public void logEvent(@Payload Map<String, Object> eventData) {
+        if (!monitoringService.logEvent(eventData)) {
+            logger.debug("Monitoring buffer full, dropped {} event", eventData.get("eventType"));
+        }
+    }
+
+    // Fire-and-forget from the client's side, so a bad event is only logged
+    @MessageExceptionHandler
+    public void handleException(Exception e) {
+        logger.warn("Dropped monitoring event received over WebSocket: {}", e.getMessage());
+    }
+}
@@ -0,0 +1,113 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "background_job", indexes = {
+        @Index(name = "idx_background_job_claim", columnList = "jobType, status, runAt"),
+        @Index(name = "idx_background_job_payload", columnList = "jobType, payload")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_background_job_active", columnNames = {"jobType", "payload", "active"})
+})
+public class BackgroundJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private JobType jobType;
+
+    // The session id the job works on ("sessionId:questionId" for QUESTION_GRADING)
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private JobStatus status = JobStatus.QUEUED;
+
+    // TRUE while QUEUED or RUNNING, NULL once DONE or DEAD. Unique with type and payload, so there
+    // is at most one active job per payload while finished ones pile up freely (NULLs never clash).
+    private Boolean active = Boolean.TRUE;
+
+    private Integer attempts = 0;
+
+    private Integer maxAttempts;
+
+    // Earliest time a QUEUED job may be claimed; pushed out by the retry backoff
+    private LocalDateTime runAt;
+
+    // Node holding a RUNNING job; once the lease lapses any node may reclaim it
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public enum JobType {
+        QUESTION_GENERATION, GRADING, QUESTION_GRADING
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, DONE, DEAD
+    }
+
+    public BackgroundJob() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.runAt = this.createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public JobType getJobType() { return jobType; }
+    public void setJobType(JobType jobType) { this.jobType = jobType; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) {
+        this.status = status;
+        this.active = activeFlag(status);
+    }
+
+    public Boolean getActive() { return active; }
+
+    public static Boolean activeFlag(JobStatus status) {
+        return status == JobStatus.QUEUED || status == JobStatus.RUNNING ? Boolean.TRUE : null;
+    }
+
+    public Integer getAttempts() { return attempts != null ? attempts : 0; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public Integer getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(Integer maxAttempts) { this.maxAttempts = maxAttempts; }
+
+    public LocalDateTime getRunAt() { return runAt; }
+    public void setRunAt(LocalDateTime runAt) { this.runAt = runAt; }
+
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,8 @@
+package com.msbcgroup.mockinterview.model;
+
+public enum BatchItemStatus {
+    PENDING,    // Not picked up yet (or interrupted before its session was created)
+    GENERATING, // Session exists, questions are being generated
+    READY,
+    FAILED
+}
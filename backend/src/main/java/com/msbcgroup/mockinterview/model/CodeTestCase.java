@@ -0,0 +1,30 @@
+package com.msbcgroup.mockinterview.model;
+
+public class CodeTestCase {
+    private String input;
+    private String expectedOutput;
+
+    public CodeTestCase() {
+    }
+
+    public CodeTestCase(String input, String expectedOutput) {
+        this.input = input;
+        this.expectedOutput = expectedOutput;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    public String getExpectedOutput() {
+        return expectedOutput;
+    }
+
+    public void setExpectedOutput(String expectedOutput) {
+        this.expectedOutput = expectedOutput;
+    }
+}
@@ -0,0 +1,7 @@
+package com.msbcgroup.mockinterview.model;
+
+public enum GenerationStatus {
+    GENERATING, // Questions are being produced in the background
+    READY,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.msbcgroup.mockinterview.model;
+
+public enum GradingMode {
+    SINGLE,  // One model request per submission
+    BATCHED  // Submissions that are ready together share one request, split back per candidate
+}
@@ -0,0 +1,7 @@
+package com.msbcgroup.mockinterview.model;
+
+public enum GradingStatus {
+    PENDING, // Answers are saved; the AI review is queued or running
+    GRADED,
+    FAILED
+}
@@ -20,6 +20,9 @@ public class InterviewResult {
 
     private Integer attempts = 1;
 
+    // Session of the attempt the summary belongs to
+    private String sessionId;
+
     @Column(nullable = false)
     private LocalDateTime submittedAt;
 
@@ -43,6 +46,9 @@ public class InterviewResult {
     public Integer getAttempts() { return attempts; }
     public void setAttempts(Integer attempts) { this.attempts = attempts; }
 
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
     public LocalDateTime getSubmittedAt() { return submittedAt; }
     public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
 }
\ No newline at end of file
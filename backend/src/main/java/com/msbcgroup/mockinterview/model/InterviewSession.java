@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "interview_session")
+@Table(name = "interview_session", indexes = {
+        // Keyset order for streaming submissions during re-scoring
+        @Index(name = "idx_interview_session_submitted", columnList = "submittedAt, sessionId")
+})
 public class InterviewSession {
 
     @Id
@@ -22,6 +25,37 @@ public class InterviewSession {
     private LocalDateTime createdAt;
     private boolean completed = false;
 
+    // Null for sessions created before background generation existed; treated as READY
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private GenerationStatus generationStatus;
+
+    private Integer generationAttempts = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String generationError;
+
+    // Raw submitted answers ("answer0", "answer1", ...). Each attempt is its own session, so this is
+    // the permanent per-attempt record that re-scoring grades again
+    @Column(columnDefinition = "JSON")
+    private String answersJson;
+
+    private LocalDateTime submittedAt;
+
+    // Idempotency key the submission was made with, if the client sent one
+    @Column(length = 100)
+    private String submissionKey;
+
+    // Null until the candidate submits
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private GradingStatus gradingStatus;
+
+    private Integer gradingAttempts = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String gradingError;
+
 
 
 
@@ -70,4 +104,80 @@ public class InterviewSession {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    public GenerationStatus getGenerationStatus() {
+        return generationStatus != null ? generationStatus : GenerationStatus.READY;
+    }
+
+    public void setGenerationStatus(GenerationStatus generationStatus) {
+        this.generationStatus = generationStatus;
+    }
+
+    public Integer getGenerationAttempts() {
+        return generationAttempts != null ? generationAttempts : 0;
+    }
+
+    public void setGenerationAttempts(Integer generationAttempts) {
+        this.generationAttempts = generationAttempts;
+    }
+
+    public String getGenerationError() {
+        return generationError;
+    }
+
+    public void setGenerationError(String generationError) {
+        this.generationError = generationError;
+    }
+
+    public String getAnswersJson() {
+        return answersJson;
+    }
+
+    public void setAnswersJson(String answersJson) {
+        this.answersJson = answersJson;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public String getSubmissionKey() {
+        return submissionKey;
+    }
+
+    public void setSubmissionKey(String submissionKey) {
+        this.submissionKey = submissionKey;
+    }
+
+    public GradingStatus getGradingStatus() {
+        return gradingStatus;
+    }
+
+    public void setGradingStatus(GradingStatus gradingStatus) {
+        this.gradingStatus = gradingStatus;
+    }
+
+    public Integer getGradingAttempts() {
+        return gradingAttempts != null ? gradingAttempts : 0;
+    }
+
+    public void setGradingAttempts(Integer gradingAttempts) {
+        this.gradingAttempts = gradingAttempts;
+    }
+
+    public String getGradingError() {
+        return gradingError;
+    }
+
+    public void setGradingError(String gradingError) {
+        this.gradingError = gradingError;
+    }
+
+    public boolean isReady() {
+        return getGenerationStatus() == GenerationStatus.READY;
+    }
 }
@@ -4,11 +4,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "monitoring_event")
+@Table(name = "monitoring_event", indexes = {
+        @Index(name = "idx_monitoring_event_session", columnList = "sessionId, eventType"),
+        @Index(name = "idx_monitoring_event_timestamp", columnList = "timestamp")
+})
 public class MonitoringEvent {
 
+    public static final int ID_BLOCK_SIZE = 100;
+
+    // Ids come from a pooled sequence (a table on MySQL) rather than IDENTITY, which makes Hibernate insert
+    // row by row; with ids known up front, bulk inserts go out as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "monitoring_event_seq")
+    @SequenceGenerator(name = "monitoring_event_seq", sequenceName = "monitoring_event_seq", allocationSize = MonitoringEvent.ID_BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +33,13 @@ public class MonitoringEvent {
     private String metadata; // JSON data
     private LocalDateTime timestamp;
 
+    // A row covers a run of consecutive same-type events in its session: timestamp is the first,
+    // endedAt the last (null on rows stored before coalescing), occurrences how many there were
+    private LocalDateTime endedAt;
+
+    @Column(columnDefinition = "int default 1")
+    private int occurrences = 1;
+
     public enum EventType {
         FACE_NOT_DETECTED,
         MULTIPLE_FACES,
@@ -41,6 +56,7 @@ public class MonitoringEvent {
 
     public MonitoringEvent() {
         this.timestamp = LocalDateTime.now();
+        this.endedAt = this.timestamp;
     }
 
     // Getters and setters
@@ -64,4 +80,10 @@ public class MonitoringEvent {
 
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public LocalDateTime getEndedAt() { return endedAt != null ? endedAt : timestamp; }
+    public void setEndedAt(LocalDateTime endedAt) { this.endedAt = endedAt; }
+
+    public int getOccurrences() { return occurrences; }
+    public void setOccurrences(int occurrences) { this.occurrences = occurrences; }
 }
@@ -1,6 +1,8 @@
 package com.msbcgroup.mockinterview.model;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class Question {
@@ -9,6 +11,15 @@ public class Question {
     private String question;
     private List<String> options;
 
+    // Correct option letter for MCQs, captured at generation time. Stored with the session
+    // but stripped (with the test cases) by withoutAnswer() before questions are sent to the candidate.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String answer;
+
+    // Hidden stdin/stdout cases for Coding questions, run by CodeExecutionService during grading
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<CodeTestCase> testCases;
+
     public Question() {
     }
 
@@ -50,4 +61,24 @@ public class Question {
     public void setOptions(List<String> options) {
         this.options = options;
     }
-}
\ No newline at end of file
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    public List<CodeTestCase> getTestCases() {
+        return testCases;
+    }
+
+    public void setTestCases(List<CodeTestCase> testCases) {
+        this.testCases = testCases;
+    }
+
+    public Question withoutAnswer() {
+        return new Question(id, type, question, options);
+    }
+}
@@ -0,0 +1,96 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "question_bank_item", indexes = {
+        @Index(name = "idx_question_bank_key_hash", columnList = "keyHash")
+})
+public class QuestionBankItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String positionKey;
+
+    @Column(nullable = false, length = 20)
+    private String experienceBand;
+
+    // Normalized, sorted skill tokens joined by ","
+    @Column(nullable = false, length = 512)
+    private String skillKey;
+
+    // SHA-256 of position, band and skills, looked up instead of the three columns, whose combined
+    // utf8mb4 length is over InnoDB's index key limit
+    @Column(columnDefinition = "CHAR(64)")
+    private String keyHash;
+
+    @Column(length = 20)
+    private String questionType;
+
+    @Column(columnDefinition = "TEXT")
+    private String questionText;
+
+    @Column(columnDefinition = "TEXT")
+    private String optionsJson;
+
+    // Correct option letter for MCQs; never leaves the server
+    @Column(length = 255)
+    private String correctAnswer;
+
+    @Column(columnDefinition = "TEXT")
+    private String testCasesJson;
+
+    private Integer usageCount = 0;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastUsedAt;
+
+    public QuestionBankItem() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getPositionKey() { return positionKey; }
+    public void setPositionKey(String positionKey) { this.positionKey = positionKey; }
+
+    public String getExperienceBand() { return experienceBand; }
+    public void setExperienceBand(String experienceBand) { this.experienceBand = experienceBand; }
+
+    public String getSkillKey() { return skillKey; }
+    public void setSkillKey(String skillKey) { this.skillKey = skillKey; }
+
+    public String getKeyHash() { return keyHash; }
+    public void setKeyHash(String keyHash) { this.keyHash = keyHash; }
+
+    public String getQuestionType() { return questionType; }
+    public void setQuestionType(String questionType) { this.questionType = questionType; }
+
+    public String getQuestionText() { return questionText; }
+    public void setQuestionText(String questionText) { this.questionText = questionText; }
+
+    public String getOptionsJson() { return optionsJson; }
+    public void setOptionsJson(String optionsJson) { this.optionsJson = optionsJson; }
+
+    public String getCorrectAnswer() { return correctAnswer; }
+    public void setCorrectAnswer(String correctAnswer) { this.correctAnswer = correctAnswer; }
+
+    public String getTestCasesJson() { return testCasesJson; }
+    public void setTestCasesJson(String testCasesJson) { this.testCasesJson = testCasesJson; }
+
+    public Integer getUsageCount() { return usageCount != null ? usageCount : 0; }
+    public void setUsageCount(Integer usageCount) { this.usageCount = usageCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getLastUsedAt() { return lastUsedAt; }
+    public void setLastUsedAt(LocalDateTime lastUsedAt) { this.lastUsedAt = lastUsedAt; }
+}
@@ -0,0 +1,7 @@
+package com.msbcgroup.mockinterview.model;
+
+public enum QuestionGenerationMode {
+    SINGLE,    // One blocking call, parse when the full response is in
+    STREAMING, // Stream the response and persist each question as soon as it is complete
+    FANOUT     // Split into concurrent per-skill MCQ chunks plus a coding chunk, then merge
+}
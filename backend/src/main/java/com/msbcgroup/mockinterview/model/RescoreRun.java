@@ -0,0 +1,95 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rescore_run")
+public class RescoreRun {
+
+    @Id
+    private String runId;
+
+    @Column(length = 50, nullable = false)
+    private String rubricVersion;
+
+    private String requestedBy;
+
+    private Integer parallelism;
+
+    // Submissions in scope when the run started; later submissions are graded live under the new version
+    private Long totalSubmissions;
+
+    private Long processed = 0L;
+
+    private Long failed = 0L;
+
+    // Keyset cursor: the last (submittedAt, sessionId) whose whole page has been graded
+    private LocalDateTime cursorSubmittedAt;
+
+    private String cursorSessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RunStatus status = RunStatus.RUNNING;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    // Node running the run; once the lease lapses another node may take it over from the cursor
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, CANCELLED
+    }
+
+    public RescoreRun() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getRunId() { return runId; }
+    public void setRunId(String runId) { this.runId = runId; }
+
+    public String getRubricVersion() { return rubricVersion; }
+    public void setRubricVersion(String rubricVersion) { this.rubricVersion = rubricVersion; }
+
+    public String getRequestedBy() { return requestedBy; }
+    public void setRequestedBy(String requestedBy) { this.requestedBy = requestedBy; }
+
+    public Integer getParallelism() { return parallelism; }
+    public void setParallelism(Integer parallelism) { this.parallelism = parallelism; }
+
+    public Long getTotalSubmissions() { return totalSubmissions; }
+    public void setTotalSubmissions(Long totalSubmissions) { this.totalSubmissions = totalSubmissions; }
+
+    public Long getProcessed() { return processed != null ? processed : 0L; }
+    public void setProcessed(Long processed) { this.processed = processed; }
+
+    public Long getFailed() { return failed != null ? failed : 0L; }
+    public void setFailed(Long failed) { this.failed = failed; }
+
+    public LocalDateTime getCursorSubmittedAt() { return cursorSubmittedAt; }
+    public void setCursorSubmittedAt(LocalDateTime cursorSubmittedAt) { this.cursorSubmittedAt = cursorSubmittedAt; }
+
+    public String getCursorSessionId() { return cursorSessionId; }
+    public void setCursorSessionId(String cursorSessionId) { this.cursorSessionId = cursorSessionId; }
+
+    public RunStatus getStatus() { return status; }
+    public void setStatus(RunStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+}
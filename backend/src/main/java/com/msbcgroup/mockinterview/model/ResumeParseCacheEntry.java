@@ -0,0 +1,47 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "resume_parse_cache", indexes = {
+        @Index(name = "idx_resume_parse_cache_accessed", columnList = "lastAccessedAt")
+})
+public class ResumeParseCacheEntry {
+
+    // SHA-256 of prompt version + normalized resume text
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    @Column(columnDefinition = "TEXT")
+    private String parsedJson;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastAccessedAt;
+
+    public ResumeParseCacheEntry() {
+        this.createdAt = LocalDateTime.now();
+        this.lastAccessedAt = this.createdAt;
+    }
+
+    public ResumeParseCacheEntry(String cacheKey, String parsedJson) {
+        this();
+        this.cacheKey = cacheKey;
+        this.parsedJson = parsedJson;
+    }
+
+    public String getCacheKey() { return cacheKey; }
+    public void setCacheKey(String cacheKey) { this.cacheKey = cacheKey; }
+
+    public String getParsedJson() { return parsedJson; }
+    public void setParsedJson(String parsedJson) { this.parsedJson = parsedJson; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getLastAccessedAt() { return lastAccessedAt; }
+    public void setLastAccessedAt(LocalDateTime lastAccessedAt) { this.lastAccessedAt = lastAccessedAt; }
+}
@@ -0,0 +1,67 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "schedule_batch")
+public class ScheduleBatch {
+
+    @Id
+    private String batchId;
+
+    private String requestedBy;
+
+    private Integer parallelism;
+
+    private Integer totalCandidates;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private BatchStatus status = BatchStatus.RUNNING;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    // Node running the batch; once the lease lapses another node may take it over
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    public enum BatchStatus {
+        RUNNING, COMPLETED
+    }
+
+    public ScheduleBatch() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
+    public String getRequestedBy() { return requestedBy; }
+    public void setRequestedBy(String requestedBy) { this.requestedBy = requestedBy; }
+
+    public Integer getParallelism() { return parallelism; }
+    public void setParallelism(Integer parallelism) { this.parallelism = parallelism; }
+
+    public Integer getTotalCandidates() { return totalCandidates; }
+    public void setTotalCandidates(Integer totalCandidates) { this.totalCandidates = totalCandidates; }
+
+    public BatchStatus getStatus() { return status; }
+    public void setStatus(BatchStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+}
@@ -0,0 +1,64 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "schedule_batch_item", indexes = {
+        @Index(name = "idx_schedule_batch_item_batch", columnList = "batchId")
+})
+public class ScheduleBatchItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String batchId;
+
+    @Column(nullable = false)
+    private String candidateEmail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private BatchItemStatus status = BatchItemStatus.PENDING;
+
+    private String sessionId;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    private LocalDateTime updatedAt;
+
+    public ScheduleBatchItem() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public ScheduleBatchItem(String batchId, String candidateEmail) {
+        this();
+        this.batchId = batchId;
+        this.candidateEmail = candidateEmail;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
+    public String getCandidateEmail() { return candidateEmail; }
+    public void setCandidateEmail(String candidateEmail) { this.candidateEmail = candidateEmail; }
+
+    public BatchItemStatus getStatus() { return status; }
+    public void setStatus(BatchItemStatus status) { this.status = status; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,26 @@
+package com.msbcgroup.mockinterview.model;
+
+import java.util.List;
+
+public class ScheduleInterviewsRequest {
+    private List<String> candidateEmails;
+    // Candidates scheduled at once; the batch default applies when null
+    private Integer parallelism;
+
+    // Getters and Setters
+    public List<String> getCandidateEmails() {
+        return candidateEmails;
+    }
+
+    public void setCandidateEmails(List<String> candidateEmails) {
+        this.candidateEmails = candidateEmails;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,70 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One autosaved answer per session and question; written as small deltas while the exam is in progress
+@Entity
+@Table(name = "session_answer", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_session_answer_question", columnNames = {"sessionId", "questionId"})
+})
+public class SessionAnswer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sessionId;
+
+    @Column(length = 64, nullable = false)
+    private String questionId;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String answer;
+
+    // Client-side edit counter; a delta older than the stored one is ignored, so out-of-order saves can't regress
+    private Long revision;
+
+    private LocalDateTime updatedAt;
+
+    // Grade from incremental grading, valid only while gradedRevision still equals revision
+    private Long gradedRevision;
+
+    private Integer points;
+
+    @Column(columnDefinition = "TEXT")
+    private String feedback;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public String getQuestionId() { return questionId; }
+    public void setQuestionId(String questionId) { this.questionId = questionId; }
+
+    public String getAnswer() { return answer; }
+    public void setAnswer(String answer) { this.answer = answer; }
+
+    public Long getRevision() { return revision; }
+    public void setRevision(Long revision) { this.revision = revision; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getGradedRevision() { return gradedRevision; }
+    public void setGradedRevision(Long gradedRevision) { this.gradedRevision = gradedRevision; }
+
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+
+    public String getFeedback() { return feedback; }
+    public void setFeedback(String feedback) { this.feedback = feedback; }
+
+    public boolean isGradedAtCurrentRevision() {
+        return gradedRevision != null && gradedRevision.equals(revision) && points != null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Running count of one monitoring event type in one session, so readers never have to scan the events
+@Entity
+@Table(name = "session_event_count", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_session_event_count_type", columnNames = {"sessionId", "eventType"})
+})
+public class SessionEventCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 25, nullable = false)
+    private MonitoringEvent.EventType eventType;
+
+    private Long eventCount = 0L;
+
+    private LocalDateTime updatedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public MonitoringEvent.EventType getEventType() { return eventType; }
+    public void setEventType(MonitoringEvent.EventType eventType) { this.eventType = eventType; }
+
+    public Long getEventCount() { return eventCount != null ? eventCount : 0L; }
+    public void setEventCount(Long eventCount) { this.eventCount = eventCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
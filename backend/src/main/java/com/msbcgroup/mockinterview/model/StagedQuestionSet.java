@@ -0,0 +1,65 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "staged_question_set", indexes = {
+        @Index(name = "idx_staged_question_set_expires", columnList = "expiresAt")
+})
+public class StagedQuestionSet {
+
+    // One staged set per candidate; restaging replaces it
+    @Id
+    private String candidateEmail;
+
+    // SHA-256 of the profile fields the generation prompt uses
+    @Column(length = 64, nullable = false)
+    private String profileFingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private GenerationStatus status;
+
+    @Column(columnDefinition = "JSON")
+    private String questionsJson;
+
+    // Question bank items the set was drawn from; their usage is recorded when the set is claimed
+    @Column(columnDefinition = "JSON")
+    private String bankItemIdsJson;
+
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+
+    public StagedQuestionSet() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getCandidateEmail() { return candidateEmail; }
+    public void setCandidateEmail(String candidateEmail) { this.candidateEmail = candidateEmail; }
+
+    public String getProfileFingerprint() { return profileFingerprint; }
+    public void setProfileFingerprint(String profileFingerprint) { this.profileFingerprint = profileFingerprint; }
+
+    public GenerationStatus getStatus() { return status; }
+    public void setStatus(GenerationStatus status) { this.status = status; }
+
+    public String getQuestionsJson() { return questionsJson; }
+    public void setQuestionsJson(String questionsJson) { this.questionsJson = questionsJson; }
+
+    public String getBankItemIdsJson() { return bankItemIdsJson; }
+    public void setBankItemIdsJson(String bankItemIdsJson) { this.bankItemIdsJson = bankItemIdsJson; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
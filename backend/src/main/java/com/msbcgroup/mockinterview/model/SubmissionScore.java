@@ -0,0 +1,99 @@
+package com.msbcgroup.mockinterview.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One grading of one submitted attempt under one rubric version. Live grading writes the row for
+ * the current version; a re-scoring run adds rows for a new version without touching older ones.
+ */
+@Entity
+@Table(name = "submission_score", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_submission_score_version", columnNames = {"sessionId", "rubricVersion"})
+}, indexes = {
+        @Index(name = "idx_submission_score_email", columnList = "candidateEmail, rubricVersion")
+})
+public class SubmissionScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sessionId;
+
+    @Column(nullable = false)
+    private String candidateEmail;
+
+    @Column(length = 50, nullable = false)
+    private String rubricVersion;
+
+    private Integer score;
+
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(columnDefinition = "TEXT")
+    private String strengths;
+
+    @Column(columnDefinition = "TEXT")
+    private String improvements;
+
+    // Null when written by live grading
+    private String runId;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime createdAt;
+
+    public SubmissionScore() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public SubmissionScore(InterviewSession session, String rubricVersion, InterviewSummary summary, String runId) {
+        this();
+        this.sessionId = session.getSessionId();
+        this.candidateEmail = session.getCandidateEmail();
+        this.submittedAt = session.getSubmittedAt();
+        this.rubricVersion = rubricVersion;
+        this.score = summary.getScore();
+        this.summary = summary.getSummary();
+        this.strengths = summary.getStrengths();
+        this.improvements = summary.getImprovements();
+        this.runId = runId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public String getCandidateEmail() { return candidateEmail; }
+    public void setCandidateEmail(String candidateEmail) { this.candidateEmail = candidateEmail; }
+
+    public String getRubricVersion() { return rubricVersion; }
+    public void setRubricVersion(String rubricVersion) { this.rubricVersion = rubricVersion; }
+
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+
+    public String getStrengths() { return strengths; }
+    public void setStrengths(String strengths) { this.strengths = strengths; }
+
+    public String getImprovements() { return improvements; }
+    public void setImprovements(String improvements) { this.improvements = improvements; }
+
+    public String getRunId() { return runId; }
+    public void setRunId(String runId) { this.runId = runId; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
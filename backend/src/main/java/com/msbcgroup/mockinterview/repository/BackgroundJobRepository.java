@@ -0,0 +1,100 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.BackgroundJob;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobStatus;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    // Locks due jobs for the caller's transaction; rows another node has locked are skipped
+    // rather than waited on, so concurrent pollers each get a disjoint set.
+    @Query(value = "SELECT * FROM background_job WHERE job_type = :type AND "
+            + "((status = 'QUEUED' AND run_at <= :now) OR (status = 'RUNNING' AND lease_expires_at < :now)) "
+            + "ORDER BY run_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BackgroundJob> lockDue(@Param("type") String type, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Adds a QUEUED job unless uk_background_job_active already holds an active one for the payload;
+    // 1 when inserted, 0 when deduplicated. Atomic across nodes, and never fails the caller's transaction.
+    // INSERT IGNORE rather than a no-op ON DUPLICATE KEY UPDATE, which Connector/J reports as 1 row.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO background_job (job_type, payload, status, active, attempts, max_attempts, run_at, "
+            + "created_at, updated_at) VALUES (:type, :payload, 'QUEUED', TRUE, 0, :maxAttempts, :runAt, :now, :now)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("type") String type, @Param("payload") String payload, @Param("maxAttempts") int maxAttempts,
+                       @Param("runAt") LocalDateTime runAt, @Param("now") LocalDateTime now);
+
+    // Active jobs stored before the active column existed; a duplicate among them stays inactive
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE IGNORE background_job SET active = TRUE WHERE active IS NULL AND status IN ('QUEUED', 'RUNNING')",
+            nativeQuery = true)
+    int backfillActive();
+
+    // Only the current lease holder may finish a job, so a worker whose lease was reclaimed can't overwrite the new owner
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :status, j.active = :active, j.runAt = :runAt, j.lastError = :error, "
+            + "j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.leaseOwner = :owner AND j.status = :running")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("running") JobStatus running,
+               @Param("status") JobStatus status, @Param("active") Boolean active, @Param("runAt") LocalDateTime runAt,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // Hands back a job this node claimed but could not start, without charging an attempt
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :queued, j.attempts = j.attempts - 1, "
+            + "j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.leaseOwner = :owner AND j.status = :running")
+    int release(@Param("id") Long id, @Param("owner") String owner, @Param("running") JobStatus running,
+                @Param("queued") JobStatus queued, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.leaseExpiresAt = :until "
+            + "WHERE j.id IN :ids AND j.leaseOwner = :owner AND j.status = :running")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                    @Param("running") JobStatus running, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :queued, j.active = TRUE, j.attempts = 0, j.runAt = :now, "
+            + "j.lastError = NULL, j.updatedAt = :now WHERE j.id = :id AND j.status = :dead")
+    int requeueDead(@Param("id") Long id, @Param("dead") JobStatus dead, @Param("queued") JobStatus queued,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BackgroundJob j WHERE j.jobType = :type AND j.payload = :payload AND j.status = :queued")
+    int deleteQueued(@Param("type") JobType type, @Param("payload") String payload, @Param("queued") JobStatus queued);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.runAt = :runAt, j.lastError = :error, j.updatedAt = :now "
+            + "WHERE j.jobType = :type AND j.payload = :payload AND j.status = :queued")
+    int rescheduleQueued(@Param("type") JobType type, @Param("payload") String payload, @Param("queued") JobStatus queued,
+                         @Param("runAt") LocalDateTime runAt, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BackgroundJob j WHERE j.status = :status AND j.updatedAt < :before")
+    int deleteByStatusBefore(@Param("status") JobStatus status, @Param("before") LocalDateTime before);
+
+    List<BackgroundJob> findByStatusOrderByUpdatedAtDesc(JobStatus status, Pageable pageable);
+
+    @Query("SELECT j.jobType, j.status, COUNT(j) FROM BackgroundJob j GROUP BY j.jobType, j.status")
+    List<Object[]> countByTypeAndStatus();
+}
@@ -1,9 +1,17 @@
 package com.msbcgroup.mockinterview.repository;
 
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.GradingStatus;
 import com.msbcgroup.mockinterview.model.InterviewSession;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +20,63 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
     Optional<InterviewSession> findBySessionId(String sessionId);
 
     List<InterviewSession> findByCandidateEmail(String candidateEmail);
+
+    Optional<InterviewSession> findFirstByCandidateEmailAndSubmittedAtIsNotNullOrderBySubmittedAtDesc(String candidateEmail);
+
+    // Claims the session for submission; 0 when it was already submitted, by this request's twin or another node
+    @Transactional
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.answersJson = :answersJson, s.submittedAt = :now, s.completed = true, "
+            + "s.gradingStatus = :pending, s.gradingAttempts = 0, s.gradingError = null, s.submissionKey = :submissionKey "
+            + "WHERE s.sessionId = :sessionId AND s.submittedAt IS NULL "
+            + "AND (s.generationStatus IS NULL OR s.generationStatus <> com.msbcgroup.mockinterview.model.GenerationStatus.GENERATING)")
+    int markSubmitted(@Param("sessionId") String sessionId, @Param("answersJson") String answersJson,
+                      @Param("now") LocalDateTime now, @Param("pending") GradingStatus pending,
+                      @Param("submissionKey") String submissionKey);
+
+    // Question generation only ever writes its own columns, so it can't overwrite a submission
+    // that lands while it runs
+    @Transactional
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.generationAttempts = :attempts WHERE s.sessionId = :sessionId")
+    int updateGenerationAttempts(@Param("sessionId") String sessionId, @Param("attempts") Integer attempts);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.questionsJson = :questionsJson "
+            + "WHERE s.sessionId = :sessionId AND s.generationStatus = :generating")
+    int updateGeneratingQuestions(@Param("sessionId") String sessionId, @Param("questionsJson") String questionsJson,
+                                  @Param("generating") GenerationStatus generating);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.questionsJson = :questionsJson, s.generationStatus = :ready, s.generationError = null "
+            + "WHERE s.sessionId = :sessionId AND s.generationStatus = :generating")
+    int markGenerated(@Param("sessionId") String sessionId, @Param("questionsJson") String questionsJson,
+                      @Param("generating") GenerationStatus generating, @Param("ready") GenerationStatus ready);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.generationError = :error WHERE s.sessionId = :sessionId")
+    int updateGenerationError(@Param("sessionId") String sessionId, @Param("error") String error);
+
+    // Moves the session between generation states; 0 when it wasn't in the expected one
+    @Transactional
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.generationStatus = :to, s.generationError = :error "
+            + "WHERE s.sessionId = :sessionId AND s.generationStatus = :from")
+    int updateGenerationStatus(@Param("sessionId") String sessionId, @Param("from") GenerationStatus from,
+                               @Param("to") GenerationStatus to, @Param("error") String error);
+
+    long countBySubmittedAtLessThanEqual(LocalDateTime until);
+
+    // Keyset page of submissions after (afterSubmittedAt, afterSessionId), up to a fixed upper bound.
+    // Walks idx_interview_session_submitted without an OFFSET, so every page costs the same.
+    @Query("SELECT s FROM InterviewSession s WHERE s.submittedAt <= :until "
+            + "AND (s.submittedAt > :afterSubmittedAt OR (s.submittedAt = :afterSubmittedAt AND s.sessionId > :afterSessionId)) "
+            + "ORDER BY s.submittedAt ASC, s.sessionId ASC")
+    List<InterviewSession> findSubmittedAfter(@Param("afterSubmittedAt") LocalDateTime afterSubmittedAt,
+                                              @Param("afterSessionId") String afterSessionId,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable page);
 }
@@ -3,12 +3,15 @@ package com.msbcgroup.mockinterview.repository;
 import com.msbcgroup.mockinterview.model.EventType;
 import com.msbcgroup.mockinterview.model.MonitoringEvent;
 
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,6 +26,30 @@ public interface MonitoringEventRepository extends JpaRepository<MonitoringEvent
     // Fetch full event objects for a session
     @Query("SELECT e FROM MonitoringEvent e WHERE e.sessionId = :sessionId ORDER BY e.timestamp ASC")
     List<MonitoringEvent> findAllEventsBySessionId(@Param("sessionId") String sessionId);
+    // Per-type totals straight from the events, for reconciling the running counts in session_event_count;
+    // each row is an interval standing for its occurrences
+    @Query("SELECT e.sessionId, e.eventType, SUM(e.occurrences) FROM MonitoringEvent e WHERE e.sessionId IN :sessionIds "
+            + "GROUP BY e.sessionId, e.eventType")
+    List<Object[]> countBySessionIdsAndEventType(@Param("sessionIds") Collection<String> sessionIds);
+
+    // Per type: number of interval rows, their total and longest length in seconds
+    @Query(value = "SELECT event_type, COUNT(*), "
+            + "SUM(TIMESTAMPDIFF(SECOND, `timestamp`, COALESCE(ended_at, `timestamp`))), "
+            + "MAX(TIMESTAMPDIFF(SECOND, `timestamp`, COALESCE(ended_at, `timestamp`))) "
+            + "FROM monitoring_event WHERE session_id = :sessionId GROUP BY event_type", nativeQuery = true)
+    List<Object[]> summarizeIntervalsBySessionId(@Param("sessionId") String sessionId);
+
+    @Query("SELECT DISTINCT e.sessionId FROM MonitoringEvent e WHERE e.timestamp > :since")
+    List<String> findSessionIdsWithEventsSince(@Param("since") LocalDateTime since);
+
+    // Moves the id sequence (a table on MySQL) past every existing id, including rows written under the old
+    // auto-increment ids; the pooled optimizer hands out the block below the value it reads, hence the extra block
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE monitoring_event_seq SET next_val = GREATEST(next_val, "
+            + "(SELECT COALESCE(MAX(id), 0) FROM monitoring_event) + :blockSize + 1)", nativeQuery = true)
+    int alignIdSequence(@Param("blockSize") int blockSize);
+
     // Custom query for recent events by session
     default List<MonitoringEvent> findRecentEventsBySession(LocalDateTime since) {
         return findByTimestampAfterOrderByTimestampDesc(since);
@@ -0,0 +1,35 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.QuestionBankItem;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QuestionBankItemRepository extends JpaRepository<QuestionBankItem, Long> {
+    List<QuestionBankItem> findByKeyHashAndUsageCountLessThan(String keyHash, Integer maxUses);
+
+    // Rows stored before keyHash existed; same digest as QuestionBankService.BankKey.hash()
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE question_bank_item SET key_hash = SHA2(CONCAT_WS(CHAR(0), position_key, experience_band, skill_key), 256) "
+            + "WHERE key_hash IS NULL", nativeQuery = true)
+    int backfillKeyHashes();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE QuestionBankItem q SET q.usageCount = q.usageCount + 1, q.lastUsedAt = :usedAt WHERE q.id IN :ids")
+    int recordUsage(@Param("ids") Collection<Long> ids, @Param("usedAt") LocalDateTime usedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM QuestionBankItem q WHERE q.createdAt < :cutoff OR q.usageCount >= :maxUses")
+    int deleteStaleOrOverused(@Param("cutoff") LocalDateTime cutoff, @Param("maxUses") Integer maxUses);
+}
@@ -0,0 +1,62 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.RescoreRun;
+import com.msbcgroup.mockinterview.model.RescoreRun.RunStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RescoreRunRepository extends JpaRepository<RescoreRun, String> {
+    List<RescoreRun> findByStatus(RescoreRun.RunStatus status);
+
+    // Takes a running run unless another node holds an unexpired lease on it
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoreRun r SET r.leaseOwner = :owner, r.leaseExpiresAt = :until "
+            + "WHERE r.runId = :id AND r.status = :running "
+            + "AND (r.leaseOwner IS NULL OR r.leaseOwner = :owner OR r.leaseExpiresAt < :now)")
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("running") RunStatus running,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoreRun r SET r.leaseExpiresAt = :until "
+            + "WHERE r.runId IN :ids AND r.leaseOwner = :owner AND r.status = :running")
+    int renewLeases(@Param("ids") Collection<String> ids, @Param("owner") String owner,
+                    @Param("running") RunStatus running, @Param("until") LocalDateTime until);
+
+    // Zero rows means HR cancelled the run or another node took it over, and this node should stop
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoreRun r SET r.cursorSubmittedAt = :cursorSubmittedAt, r.cursorSessionId = :cursorSessionId, "
+            + "r.processed = :processed, r.failed = :failed, r.leaseExpiresAt = :until "
+            + "WHERE r.runId = :id AND r.leaseOwner = :owner AND r.status = :running")
+    int checkpoint(@Param("id") String id, @Param("owner") String owner, @Param("running") RunStatus running,
+                   @Param("cursorSubmittedAt") LocalDateTime cursorSubmittedAt,
+                   @Param("cursorSessionId") String cursorSessionId, @Param("processed") Long processed,
+                   @Param("failed") Long failed, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoreRun r SET r.status = :completed, r.completedAt = :now, "
+            + "r.leaseOwner = NULL, r.leaseExpiresAt = NULL "
+            + "WHERE r.runId = :id AND r.leaseOwner = :owner AND r.status = :running")
+    int complete(@Param("id") String id, @Param("owner") String owner, @Param("running") RunStatus running,
+                 @Param("completed") RunStatus completed, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoreRun r SET r.status = :cancelled, r.completedAt = :now, "
+            + "r.leaseOwner = NULL, r.leaseExpiresAt = NULL "
+            + "WHERE r.runId = :id AND r.status = :running")
+    int cancel(@Param("id") String id, @Param("running") RunStatus running,
+               @Param("cancelled") RunStatus cancelled, @Param("now") LocalDateTime now);
+}
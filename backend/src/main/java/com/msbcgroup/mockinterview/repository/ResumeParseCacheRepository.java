@@ -0,0 +1,31 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.ResumeParseCacheEntry;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResumeParseCacheRepository extends JpaRepository<ResumeParseCacheEntry, String> {
+
+    @Query("SELECT e.cacheKey FROM ResumeParseCacheEntry e ORDER BY e.lastAccessedAt ASC")
+    List<String> findLeastRecentlyUsedKeys(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ResumeParseCacheEntry e SET e.lastAccessedAt = :accessedAt WHERE e.cacheKey IN :keys")
+    int touchAll(@Param("keys") Collection<String> keys, @Param("accessedAt") LocalDateTime accessedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ResumeParseCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,27 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.BatchItemStatus;
+import com.msbcgroup.mockinterview.model.ScheduleBatchItem;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduleBatchItemRepository extends JpaRepository<ScheduleBatchItem, Long> {
+    List<ScheduleBatchItem> findByBatchIdOrderByIdAsc(String batchId);
+
+    List<ScheduleBatchItem> findByBatchIdAndStatus(String batchId, BatchItemStatus status);
+
+    // Row lock is held until the caller's transaction commits, so a second runner waits and then finds the item taken
+    @Transactional
+    @Modifying
+    @Query("UPDATE ScheduleBatchItem i SET i.status = :claimed, i.updatedAt = :now WHERE i.id = :id AND i.status = :pending")
+    int claimPending(@Param("id") Long id, @Param("pending") BatchItemStatus pending,
+                     @Param("claimed") BatchItemStatus claimed, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,44 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.ScheduleBatch;
+import com.msbcgroup.mockinterview.model.ScheduleBatch.BatchStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScheduleBatchRepository extends JpaRepository<ScheduleBatch, String> {
+    List<ScheduleBatch> findByStatus(ScheduleBatch.BatchStatus status);
+
+    // Takes a running batch unless another node holds an unexpired lease on it
+    @Transactional
+    @Modifying
+    @Query("UPDATE ScheduleBatch b SET b.leaseOwner = :owner, b.leaseExpiresAt = :until "
+            + "WHERE b.batchId = :id AND b.status = :running "
+            + "AND (b.leaseOwner IS NULL OR b.leaseOwner = :owner OR b.leaseExpiresAt < :now)")
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("running") BatchStatus running,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ScheduleBatch b SET b.leaseExpiresAt = :until "
+            + "WHERE b.batchId IN :ids AND b.leaseOwner = :owner AND b.status = :running")
+    int renewLeases(@Param("ids") Collection<String> ids, @Param("owner") String owner,
+                    @Param("running") BatchStatus running, @Param("until") LocalDateTime until);
+
+    // Only the lease holder completes a batch, so a node that lost it can't close a batch another node is running
+    @Transactional
+    @Modifying
+    @Query("UPDATE ScheduleBatch b SET b.status = :completed, b.completedAt = :now, "
+            + "b.leaseOwner = NULL, b.leaseExpiresAt = NULL "
+            + "WHERE b.batchId = :id AND b.leaseOwner = :owner AND b.status = :running")
+    int complete(@Param("id") String id, @Param("owner") String owner, @Param("running") BatchStatus running,
+                 @Param("completed") BatchStatus completed, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,45 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.SessionAnswer;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SessionAnswerRepository extends JpaRepository<SessionAnswer, Long> {
+
+    List<SessionAnswer> findBySessionId(String sessionId);
+
+    Optional<SessionAnswer> findBySessionIdAndQuestionId(String sessionId, String questionId);
+
+    // Stores a grade only if the answer hasn't been edited since it was read for grading
+    @Transactional
+    @Modifying
+    @Query("UPDATE SessionAnswer a SET a.points = :points, a.feedback = :feedback, a.gradedRevision = :revision "
+            + "WHERE a.id = :id AND a.revision = :revision")
+    int recordGrade(@Param("id") Long id, @Param("revision") Long revision,
+                    @Param("points") int points, @Param("feedback") String feedback);
+
+    // Stores the answer if the incoming revision is newer. Counts matched rows, so 0 means stale or not saved yet.
+    @Transactional
+    @Modifying
+    @Query("UPDATE SessionAnswer a SET a.answer = :answer, a.revision = :revision, a.updatedAt = :now "
+            + "WHERE a.sessionId = :sessionId AND a.questionId = :questionId AND a.revision < :revision")
+    int updateIfNewer(@Param("sessionId") String sessionId, @Param("questionId") String questionId,
+                      @Param("answer") String answer, @Param("revision") long revision, @Param("now") LocalDateTime now);
+
+    // First save of a question; 0 when a row already exists
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO session_answer (session_id, question_id, answer, revision, updated_at) "
+            + "VALUES (:sessionId, :questionId, :answer, :revision, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("sessionId") String sessionId, @Param("questionId") String questionId,
+                       @Param("answer") String answer, @Param("revision") long revision, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,38 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.SessionEventCount;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SessionEventCountRepository extends JpaRepository<SessionEventCount, Long> {
+
+    List<SessionEventCount> findBySessionId(String sessionId);
+
+    // Adds a batch of newly ingested events to the running count; additive, so nodes can flush independently
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO session_event_count (session_id, event_type, event_count, updated_at) "
+            + "VALUES (:sessionId, :eventType, :delta, :now) "
+            + "ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int addCount(@Param("sessionId") String sessionId, @Param("eventType") String eventType,
+                 @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    // Overwrites the running count with one recomputed from the events themselves
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO session_event_count (session_id, event_type, event_count, updated_at) "
+            + "VALUES (:sessionId, :eventType, :count, :now) "
+            + "ON DUPLICATE KEY UPDATE event_count = VALUES(event_count), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int setCount(@Param("sessionId") String sessionId, @Param("eventType") String eventType,
+                 @Param("count") long count, @Param("now") LocalDateTime now);
+}
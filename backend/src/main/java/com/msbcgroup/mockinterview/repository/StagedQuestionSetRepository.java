@@ -0,0 +1,28 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.StagedQuestionSet;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface StagedQuestionSetRepository extends JpaRepository<StagedQuestionSet, String> {
+
+    // Consumes the set; only one caller can get a row count of 1, so a set is never bound twice
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StagedQuestionSet s WHERE s.candidateEmail = :email AND s.profileFingerprint = :fingerprint AND s.status = :status")
+    int deleteForClaim(@Param("email") String email, @Param("fingerprint") String fingerprint,
+                       @Param("status") GenerationStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StagedQuestionSet s WHERE s.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.msbcgroup.mockinterview.repository;
+
+import com.msbcgroup.mockinterview.model.SubmissionScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SubmissionScoreRepository extends JpaRepository<SubmissionScore, Long> {
+
+    boolean existsBySessionIdAndRubricVersion(String sessionId, String rubricVersion);
+
+    List<SubmissionScore> findBySessionIdOrderByCreatedAtAsc(String sessionId);
+}
@@ -0,0 +1,117 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.model.SessionAnswer;
+import com.msbcgroup.mockinterview.repository.SessionAnswerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Server-side copy of a candidate's in-progress answers. The exam page sends only the questions
+ * that changed since its last save, each with a revision, so a reload can resume from here and
+ * the final submission only has to commit what is already stored.
+ */
+@Service
+public class AnswerAutosaveService {
+
+    @Autowired
+    private SessionAnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerGradingService answerGradingService;
+
+    @Value("${interview.autosave.max-answer-kb:64}")
+    private int maxAnswerKb;
+
+    @Value("${interview.autosave.max-deltas:50}")
+    private int maxDeltas;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // finalized: the candidate has moved on from the question, so it can be graded now
+    public record AnswerDelta(String questionId, String answer, long revision, boolean finalized) {}
+
+    public int saveDeltas(InterviewSession session, List<AnswerDelta> deltas) {
+        if (session.isCompleted()) {
+            throw new IllegalStateException("This interview session has already been completed.");
+        }
+        if (deltas.size() > maxDeltas) {
+            throw new IllegalArgumentException("Too many answers in one save (max " + maxDeltas + ")");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int saved = 0;
+        for (AnswerDelta delta : deltas) {
+            if (delta.questionId() == null || delta.questionId().isBlank() || delta.questionId().length() > 64) {
+                throw new IllegalArgumentException("Invalid question id: " + delta.questionId());
+            }
+            String answer = delta.answer() != null ? delta.answer() : "";
+            if (answer.length() > maxAnswerKb * 1024) {
+                throw new IllegalArgumentException("Answer to " + delta.questionId() + " exceeds " + maxAnswerKb + " KB");
+            }
+            if (store(session.getSessionId(), delta.questionId(), answer, delta.revision(), now)) {
+                saved++;
+            }
+        }
+        for (AnswerDelta delta : deltas) {
+            if (delta.finalized()) {
+                answerGradingService.onFinalized(session, delta.questionId());
+            }
+        }
+        return saved;
+    }
+
+    // Whether the delta was stored; a stale revision is not. MySQL reports a matched row for an
+    // upsert that changed nothing, so newer-revision updates and first inserts are told apart here.
+    private boolean store(String sessionId, String questionId, String answer, long revision, LocalDateTime now) {
+        if (answerRepository.updateIfNewer(sessionId, questionId, answer, revision, now) > 0) {
+            return true;
+        }
+        if (answerRepository.insertIfAbsent(sessionId, questionId, answer, revision, now) > 0) {
+            return true;
+        }
+        // A concurrent save inserted the row first; this revision may still be the newer one
+        return answerRepository.updateIfNewer(sessionId, questionId, answer, revision, now) > 0;
+    }
+
+    // Saved answers by question id, for resuming the exam
+    public Map<String, String> getSavedAnswers(String sessionId) {
+        Map<String, String> answers = new HashMap<>();
+        for (SessionAnswer saved : answerRepository.findBySessionId(sessionId)) {
+            answers.put(saved.getQuestionId(), saved.getAnswer());
+        }
+        return answers;
+    }
+
+    /**
+     * Builds the submission in grading's "answer0", "answer1", ... form from the saved answers,
+     * with anything the client sent at submit time taking precedence.
+     */
+    public Map<String, String> commit(InterviewSession session, Map<String, String> submitted) throws Exception {
+        Map<String, String> answers = new HashMap<>();
+        Map<String, String> saved = getSavedAnswers(session.getSessionId());
+        if (!saved.isEmpty() && session.getQuestionsJson() != null && !session.getQuestionsJson().isBlank()) {
+            List<Question> questions = mapper.readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {});
+            for (int i = 0; i < questions.size(); i++) {
+                String answer = saved.get(questions.get(i).getId());
+                if (answer != null) {
+                    answers.put("answer" + i, answer);
+                }
+            }
+        }
+        if (submitted != null) {
+            submitted.forEach((key, value) -> {
+                if (value != null) {
+                    answers.put(key, value);
+                }
+            });
+        }
+        return answers;
+    }
+}
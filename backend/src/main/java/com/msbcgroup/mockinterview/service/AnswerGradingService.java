@@ -0,0 +1,292 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.*;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import com.msbcgroup.mockinterview.repository.SessionAnswerRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental grading: while the exam is in progress, each answer the candidate finalizes is graded
+ * on its own as a QUESTION_GRADING job (answer-keyed MCQs need no job; they are scored locally).
+ * At submission only the roll-up remains, which reuses those grades, grades whatever changed
+ * since in parallel, and assembles the summary without another full review prompt; one short
+ * model call turns the result into a recommendation.
+ */
+@Service
+public class AnswerGradingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerGradingService.class);
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionAnswerRepository answerRepository;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private LlmGovernor llmGovernor;
+
+    @Autowired
+    private LlmJsonParser llmJsonParser;
+
+    @Autowired
+    private CodeExecutionService codeExecutionService;
+
+    @Autowired
+    @Qualifier("gradingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${interview.grading.incremental.enabled:false}")
+    private boolean enabled;
+
+    @Value("${interview.grading.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${interview.grading.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    private final ChatClient chatClient;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    record QuestionGrade(int points, String feedback) {}
+
+    public AnswerGradingService(ChatClient.Builder chatClient) {
+        this.chatClient = chatClient.build();
+    }
+
+    // Nothing to mark on the session when a question job dies; the roll-up grades that answer itself
+    @PostConstruct
+    public void registerJobHandler() {
+        jobQueueService.register(JobType.QUESTION_GRADING, this::gradeSavedAnswer, executor, maxAttempts,
+                retryBackoffSeconds, (payload, error) -> {}, payload -> {});
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Called when the exam page reports an answer as final (the candidate moved on or went idle).
+     */
+    public void onFinalized(InterviewSession session, String questionId) {
+        if (!enabled) {
+            return;
+        }
+        Question question = findQuestion(session, questionId);
+        if (question == null || McqScorer.isKeyed(question)) {
+            return;
+        }
+        jobQueueService.enqueue(JobType.QUESTION_GRADING, session.getSessionId() + ":" + questionId);
+    }
+
+    private void gradeSavedAnswer(String payload) {
+        int separator = payload.indexOf(':');
+        String sessionId = payload.substring(0, separator);
+        String questionId = payload.substring(separator + 1);
+
+        InterviewSession session = sessionRepository.findBySessionId(sessionId).orElse(null);
+        SessionAnswer saved = answerRepository.findBySessionIdAndQuestionId(sessionId, questionId).orElse(null);
+        // Once submitted, the roll-up grades anything still outstanding
+        if (session == null || session.getSubmittedAt() != null || saved == null || saved.isGradedAtCurrentRevision()) {
+            return;
+        }
+        Question question = findQuestion(session, questionId);
+        if (question == null) {
+            return;
+        }
+
+        QuestionGrade grade = gradeQuestion(question, saved.getAnswer());
+        if (answerRepository.recordGrade(saved.getId(), saved.getRevision(), grade.points(), grade.feedback()) == 0) {
+            logger.debug("Answer {} of session {} changed while it was graded; the grade was discarded", questionId, sessionId);
+        }
+    }
+
+    QuestionGrade gradeQuestion(Question question, String answer) {
+        if (answer == null || answer.isBlank()) {
+            return new QuestionGrade(0, "No answer provided");
+        }
+
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("You are an experienced technical interviewer grading ONE answer from a candidate's exam.\n\n");
+        prompt.append("Question: ").append(question.getQuestion()).append("\n");
+        if ("MCQ".equals(question.getType()) && question.getOptions() != null && !question.getOptions().isEmpty()) {
+            prompt.append("Options: ").append(String.join(", ", question.getOptions())).append("\n");
+        }
+        prompt.append("Answer: ").append(answer).append("\n");
+        String testSummary = codeExecutionService.summarizeTests(question, answer);
+        if (testSummary != null) {
+            prompt.append("Automated tests: ").append(testSummary).append("\n");
+        }
+        prompt.append("""
+
+                Award 1 point if the answer is correct, otherwise 0.
+                For coding answers: award 1 point if the solution demonstrates correct logic and approach; minor syntax
+                errors should not result in 0 points. Where "Automated tests" are shown, the answer was compiled and run
+                against hidden test cases; treat them as strong evidence of correctness.
+
+                Output strictly in JSON format:
+                {"score": [0 or 1], "feedback": "[One short sentence on what was good or missing, without restating the answer]"}
+                """);
+
+        String response = llmGovernor.callHedged(LlmUseCase.GRADING, () -> chatClient.prompt()
+                .user(prompt.toString())
+                .call()
+                .content(), llmJsonParser::isValidJson);
+        try {
+            JsonNode node = llmJsonParser.parseTree(response);
+            int points = Math.max(0, Math.min(node.path("score").asInt(0), 1));
+            return new QuestionGrade(points, node.path("feedback").asText(""));
+        } catch (Exception e) {
+            throw new RuntimeException("Unreadable grade for question " + question.getId(), e);
+        }
+    }
+
+    /**
+     * Builds the submission's summary from per-question grades. Grades whose answer still matches
+     * the submitted one are reused; the rest are graded now, in parallel on the grading pool. The
+     * returned score covers only the questions that are not answer-keyed MCQs, like the full
+     * review's score.
+     */
+    public InterviewSummary rollUp(InterviewSession session, List<Question> questions, Map<String, String> answers,
+                                   McqScorer.Result mcq,
+                                   Map<MonitoringEvent.EventType, MonitoringService.IntervalStats> violations) throws Exception {
+        Map<String, SessionAnswer> saved = answerRepository.findBySessionId(session.getSessionId()).stream()
+                .collect(Collectors.toMap(SessionAnswer::getQuestionId, Function.identity(), (a, b) -> a));
+
+        List<FutureTask<QuestionGrade>> grades = new ArrayList<>();
+        int gradedNow = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            if (McqScorer.isKeyed(question)) {
+                continue;
+            }
+            String answer = answers.get("answer" + i);
+            SessionAnswer row = saved.get(question.getId());
+            FutureTask<QuestionGrade> grade;
+            if (row != null && row.isGradedAtCurrentRevision() && Objects.equals(row.getAnswer(), answer)) {
+                grade = new FutureTask<>(() -> new QuestionGrade(row.getPoints(), row.getFeedback()));
+                grade.run();
+            } else {
+                grade = new FutureTask<>(() -> gradeQuestion(question, answer));
+                try {
+                    executor.execute(grade);
+                } catch (TaskRejectedException e) {
+                    // Pool queue full: grade() below runs it here instead
+                }
+                gradedNow++;
+            }
+            grades.add(grade);
+        }
+
+        int reviewed = grades.size();
+        int points = 0;
+        List<String> strengths = new ArrayList<>();
+        List<String> improvements = new ArrayList<>();
+        for (FutureTask<QuestionGrade> task : grades) {
+            QuestionGrade grade = await(task);
+            points += grade.points();
+            if (grade.feedback() != null && !grade.feedback().isBlank()) {
+                (grade.points() > 0 ? strengths : improvements).add(grade.feedback());
+            }
+        }
+
+        int total = mcq.total() + reviewed;
+        int overall = mcq.correct() + points;
+        StringBuilder summary = new StringBuilder()
+                .append("Scored ").append(overall).append(" of ").append(total)
+                .append(" (").append(mcq.correct()).append("/").append(mcq.total()).append(" on auto-scored multiple choice, ")
+                .append(points).append("/").append(reviewed).append(" on reviewed questions).");
+        if (!violations.isEmpty()) {
+            summary.append(" Violations observed: ").append(violations.entrySet().stream()
+                    .map(entry -> entry.getKey() + " " + entry.getValue().describe())
+                    .collect(Collectors.joining(", "))).append(".");
+        }
+
+        logger.info("Rolled up session {} from per-question grades ({} graded at submit)", session.getSessionId(), gradedNow);
+        String strengthText = strengths.isEmpty() ? "No strengths identified" : joinBullets(strengths);
+        String improvementText = improvements.isEmpty() ? "No improvements identified" : joinBullets(improvements);
+        return new InterviewSummary(points, summary.toString(), strengthText, improvementText,
+                recommend(session, summary.toString(), strengthText, improvementText));
+    }
+
+    // Roll-ups run on the grading pool too, so a task no worker has started yet is run by the caller
+    // rather than waited on; a pool full of roll-ups can't then wait on each other's grading.
+    private static QuestionGrade await(FutureTask<QuestionGrade> task) throws Exception {
+        task.run();
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    // One short call on the rolled-up result; the grade stands without it if the call fails
+    private String recommend(InterviewSession session, String summary, String strengths, String improvements) {
+        String prompt = """
+                You are an experienced technical interviewer. A candidate's exam has been graded:
+
+                Result: %s
+                Strengths: %s
+                Improvements: %s
+
+                Recommend, in one or two sentences, whether to move the candidate forward and what to probe next.
+                Consider any violations listed in the result here, though they did not affect the score.
+
+                Output strictly in JSON format:
+                {"recommendation": "[One or two sentences]"}
+                """.formatted(summary, strengths, improvements);
+        try {
+            String response = llmGovernor.callHedged(LlmUseCase.GRADING, () -> chatClient.prompt()
+                    .user(prompt)
+                    .call()
+                    .content(), llmJsonParser::isValidJson);
+            String recommendation = llmJsonParser.parseTree(response).path("recommendation").asText("");
+            if (!recommendation.isBlank()) {
+                return recommendation;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not generate a recommendation for session {}", session.getSessionId(), e);
+        }
+        return "No recommendation available";
+    }
+
+    // Same "a | b | c" form the full review asks the model for
+    private static String joinBullets(List<String> items) {
+        return String.join(" | ", items.subList(0, Math.min(3, items.size())));
+    }
+
+    private Question findQuestion(InterviewSession session, String questionId) {
+        if (session.getQuestionsJson() == null || session.getQuestionsJson().isBlank()) {
+            return null;
+        }
+        try {
+            List<Question> questions = mapper.readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {});
+            return questions.stream().filter(q -> questionId.equals(q.getId())).findFirst().orElse(null);
+        } catch (Exception e) {
+            logger.warn("Could not read questions of session {}", session.getSessionId(), e);
+            return null;
+        }
+    }
+}
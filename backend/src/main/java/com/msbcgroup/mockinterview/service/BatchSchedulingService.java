@@ -0,0 +1,304 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.*;
+import com.msbcgroup.mockinterview.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Schedules interviews for many candidates at once. Every candidate is tracked as a persisted
+ * batch item, saved with its session id in the transaction that creates the session, so a batch
+ * interrupted by a restart resumes with the candidates it had not reached and never creates a
+ * second session for one it had. A batch runs on the node holding its lease, renewed while it runs;
+ * other nodes only take it over once the lease lapses.
+ */
+@Service
+public class BatchSchedulingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchSchedulingService.class);
+
+    @Autowired
+    private ScheduleBatchRepository batchRepository;
+
+    @Autowired
+    private ScheduleBatchItemRepository itemRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private QuestionGenerationService questionGenerationService;
+
+    @Autowired
+    @Qualifier("batchSchedulingExecutor")
+    private ThreadPoolTaskExecutor batchExecutor;
+
+    @Autowired
+    @Qualifier("batchItemExecutor")
+    private ThreadPoolTaskExecutor itemExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Value("${interview.batch.default-parallelism:4}")
+    private int defaultParallelism;
+
+    @Value("${interview.batch.max-parallelism:16}")
+    private int maxParallelism;
+
+    @Value("${interview.batch.lease-seconds:120}")
+    private long leaseSeconds;
+
+    // Batches this node holds the lease on, queued or running, so their leases can be renewed
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ScheduleBatch createBatch(List<String> candidateEmails, Integer parallelism, String requestedBy) {
+        List<String> emails = candidateEmails.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .distinct()
+                .toList();
+        if (emails.isEmpty()) {
+            throw new RuntimeException("No candidate emails provided");
+        }
+
+        ScheduleBatch batch = new ScheduleBatch();
+        batch.setBatchId(UUID.randomUUID().toString());
+        batch.setRequestedBy(requestedBy);
+        batch.setParallelism(Math.max(1, Math.min(parallelism != null ? parallelism : defaultParallelism, maxParallelism)));
+        batch.setTotalCandidates(emails.size());
+        batch.setLeaseOwner(jobQueueService.getNodeId());
+        batch.setLeaseExpiresAt(LocalDateTime.now().plusSeconds(leaseSeconds));
+        batchRepository.save(batch);
+
+        List<ScheduleBatchItem> items = new ArrayList<>();
+        for (String email : emails) {
+            items.add(new ScheduleBatchItem(batch.getBatchId(), email));
+        }
+        itemRepository.saveAll(items);
+
+        dispatch(batch.getBatchId());
+        return batch;
+    }
+
+    // Also runs periodically, to pick up batches whose node died while the others kept running
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${interview.batch.resume-interval-ms:60000}",
+            fixedDelayString = "${interview.batch.resume-interval-ms:60000}")
+    public void resumeInterruptedBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ScheduleBatch batch : batchRepository.findByStatus(ScheduleBatch.BatchStatus.RUNNING)) {
+            boolean leased = batch.getLeaseOwner() != null && batch.getLeaseExpiresAt() != null
+                    && batch.getLeaseExpiresAt().isAfter(now);
+            if (!leased && dispatch(batch.getBatchId())) {
+                logger.info("Resuming schedule batch {}", batch.getBatchId());
+            }
+        }
+    }
+
+    // Claims the batch's lease and hands it to the executor; false if this or another node already runs it
+    private boolean dispatch(String batchId) {
+        if (!running.add(batchId)) {
+            return false;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (batchRepository.claim(batchId, jobQueueService.getNodeId(), ScheduleBatch.BatchStatus.RUNNING,
+                    now.plusSeconds(leaseSeconds), now) == 0) {
+                running.remove(batchId);
+                return false;
+            }
+            batchExecutor.execute(() -> {
+                try {
+                    runBatch(batchId);
+                } finally {
+                    running.remove(batchId);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            running.remove(batchId);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${interview.batch.heartbeat-interval-ms:30000}")
+    public void renewLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        batchRepository.renewLeases(new ArrayList<>(running), jobQueueService.getNodeId(),
+                ScheduleBatch.BatchStatus.RUNNING, LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    void runBatch(String batchId) {
+        ScheduleBatch batch = batchRepository.findById(batchId).orElse(null);
+        if (batch == null || batch.getStatus() != ScheduleBatch.BatchStatus.RUNNING) {
+            return;
+        }
+
+        // Sessions created before a restart: make sure each still has generation queued
+        for (ScheduleBatchItem item : itemRepository.findByBatchIdAndStatus(batchId, BatchItemStatus.GENERATING)) {
+            syncWithSession(item);
+            if (item.getStatus() == BatchItemStatus.GENERATING) {
+                questionGenerationService.submit(item.getSessionId());
+            }
+        }
+
+        List<ScheduleBatchItem> pending = itemRepository.findByBatchIdAndStatus(batchId, BatchItemStatus.PENDING);
+        Semaphore slots = new Semaphore(batch.getParallelism());
+        try {
+            for (ScheduleBatchItem item : pending) {
+                slots.acquire();
+                try {
+                    itemExecutor.execute(() -> {
+                        try {
+                            processItem(item);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    slots.release();
+                    throw e;
+                }
+            }
+            // All slots back means every candidate handed over has finished
+            slots.acquire(batch.getParallelism());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (batchRepository.complete(batchId, jobQueueService.getNodeId(), ScheduleBatch.BatchStatus.RUNNING,
+                ScheduleBatch.BatchStatus.COMPLETED, LocalDateTime.now()) == 0) {
+            logger.warn("Lost the lease on schedule batch {} before it finished; another node owns it now", batchId);
+            return;
+        }
+        logger.info("Schedule batch {} dispatched {} candidates", batchId, pending.size());
+    }
+
+    private void processItem(ScheduleBatchItem item) {
+        try {
+            if (item.getSessionId() == null) {
+                if (!createSession(item)) {
+                    return;
+                }
+            } else {
+                item.setStatus(BatchItemStatus.GENERATING);
+                touch(item);
+            }
+
+            // First attempt runs here, bounded by the batch's parallelism; later retries
+            // run as queued generation jobs.
+            questionGenerationService.generateNow(item.getSessionId());
+            syncWithSession(item);
+        } catch (Exception e) {
+            item.setStatus(BatchItemStatus.FAILED);
+            item.setError(e.getMessage());
+            touch(item);
+            logger.warn("Batch scheduling failed for {}", item.getCandidateEmail(), e);
+        }
+    }
+
+    // The item only ever points at a committed session, and a committed session always has its item.
+    // Returns false if another node, running the batch after this one's lease lapsed, took the item first.
+    private boolean createSession(ScheduleBatchItem item) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (itemRepository.claimPending(item.getId(), BatchItemStatus.PENDING, BatchItemStatus.GENERATING,
+                        LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                InterviewSession session = interviewService.createPendingSession(item.getCandidateEmail());
+                item.setSessionId(session.getSessionId());
+                item.setStatus(BatchItemStatus.GENERATING);
+                touch(item);
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            item.setSessionId(null);
+            throw e;
+        }
+    }
+
+    // Items still generating follow their session, which a queued retry may finish later
+    private void syncWithSession(ScheduleBatchItem item) {
+        if (item.getStatus() != BatchItemStatus.GENERATING || item.getSessionId() == null) {
+            return;
+        }
+        sessionRepository.findBySessionId(item.getSessionId()).ifPresent(session -> {
+            if (session.getGenerationStatus() == GenerationStatus.READY) {
+                item.setStatus(BatchItemStatus.READY);
+                item.setError(null);
+                touch(item);
+            } else if (session.getGenerationStatus() == GenerationStatus.FAILED) {
+                item.setStatus(BatchItemStatus.FAILED);
+                item.setError(session.getGenerationError());
+                touch(item);
+            }
+        });
+    }
+
+    private void touch(ScheduleBatchItem item) {
+        item.setUpdatedAt(LocalDateTime.now());
+        itemRepository.save(item);
+    }
+
+    public Map<String, Object> getBatchProgress(String batchId) {
+        ScheduleBatch batch = batchRepository.findById(batchId)
+                .orElseThrow(() -> new RuntimeException("Schedule batch not found with id: " + batchId));
+
+        List<ScheduleBatchItem> items = itemRepository.findByBatchIdOrderByIdAsc(batchId);
+        Map<BatchItemStatus, Integer> counts = new EnumMap<>(BatchItemStatus.class);
+        for (BatchItemStatus status : BatchItemStatus.values()) {
+            counts.put(status, 0);
+        }
+
+        List<Map<String, Object>> itemData = new ArrayList<>();
+        for (ScheduleBatchItem item : items) {
+            syncWithSession(item);
+            counts.merge(item.getStatus(), 1, Integer::sum);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("candidateEmail", item.getCandidateEmail());
+            data.put("status", item.getStatus());
+            data.put("sessionId", item.getSessionId());
+            data.put("magicLink", item.getSessionId() != null ? interviewService.buildMagicLink(item.getSessionId()) : null);
+            data.put("error", item.getError());
+            itemData.add(data);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("batchId", batchId);
+        response.put("status", batch.getStatus());
+        response.put("parallelism", batch.getParallelism());
+        response.put("total", items.size());
+        response.put("counts", counts);
+        response.put("items", itemData);
+        response.put("createdAt", batch.getCreatedAt());
+        response.put("completedAt", batch.getCompletedAt());
+        return response;
+    }
+}
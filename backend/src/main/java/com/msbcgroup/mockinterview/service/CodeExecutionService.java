@@ -0,0 +1,463 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.CodeTestCase;
+import com.msbcgroup.mockinterview.model.Question;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles and runs Java answers in-process: javac via javax.tools into memory, bytecode checked and
+ * instrumented by SandboxInstrumenter, each run in a fresh class loader on a warm pool of runner
+ * threads, with CPU-time, allocation and output limits enforced by SandboxGuard. Programs read
+ * standard input and write standard output, like the exam editor's "Run" button.
+ *
+ * Runs share the application's JVM, so memory-mb bounds what a run allocates rather than capping
+ * its heap, and an OutOfMemoryError it triggers anyway is reported as MEMORY_LIMIT_EXCEEDED. A job
+ * past its wall-clock limit is cancelled and its runner interrupted; a runner stuck inside a single
+ * JDK call cannot be stopped in-process and is counted in stuckRunners until it returns.
+ */
+@Service
+public class CodeExecutionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeExecutionService.class);
+
+    private static final Pattern PUBLIC_CLASS = Pattern.compile("public\\s+(?:final\\s+|abstract\\s+)*class\\s+([A-Za-z_$][\\w$]*)");
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final List<String> COMPILER_OPTIONS = List.of("-proc:none", "-implicit:none", "-nowarn", "-g:source,lines");
+
+    public enum Status {
+        OK, COMPILE_ERROR, RUNTIME_ERROR, TIME_LIMIT_EXCEEDED, MEMORY_LIMIT_EXCEEDED, OUTPUT_LIMIT_EXCEEDED,
+        FORBIDDEN_API, REJECTED
+    }
+
+    public record ExecutionResult(Status status, String stdout, String error, long cpuTimeMs) {}
+
+    public record TestCaseResult(boolean passed, Status status, String error, long cpuTimeMs) {}
+
+    public record TestReport(int passed, int total, Status status, String error, List<TestCaseResult> results) {}
+
+    // One submitted job: the guard's cancel flag, and whether its runner started and finished
+    private static final class JobControl {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicBoolean started = new AtomicBoolean();
+        final AtomicBoolean finished = new AtomicBoolean();
+    }
+
+    @Autowired
+    @Qualifier("codeExecutionExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${code-execution.cpu-time-ms:2000}")
+    private long cpuTimeMs;
+
+    @Value("${code-execution.memory-mb:64}")
+    private long memoryMb;
+
+    @Value("${code-execution.output-kb:64}")
+    private int outputKb;
+
+    @Value("${code-execution.max-source-kb:64}")
+    private int maxSourceKb;
+
+    // Wall-clock allowance per job on top of the CPU limits, for compilation and scheduling
+    @Value("${code-execution.wall-overhead-ms:10000}")
+    private long wallOverheadMs;
+
+    private JavaCompiler compiler;
+
+    // javac file managers are not thread-safe but are costly to create, so each runner keeps one
+    private final ThreadLocal<StandardJavaFileManager> fileManagers = new ThreadLocal<>();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong abandonedRuns = new AtomicLong();
+    private final AtomicInteger stuckRunners = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            logger.warn("No system Java compiler (running on a JRE?); code execution is disabled");
+            return;
+        }
+        // Load javac and the instrumenter on every runner up front so the first real submissions don't pay for it
+        for (int i = 0; i < executor.getCorePoolSize(); i++) {
+            try {
+                executor.execute(() -> executeAll("public class Main { public static void main(String[] a) { System.out.print(1); } }",
+                        List.of(new CodeTestCase("", null)), new JobControl()));
+            } catch (TaskRejectedException e) {
+                break;
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        return compiler != null;
+    }
+
+    // Heuristic used by grading to decide whether an answer can be executed at all
+    public static boolean looksLikeJava(String code) {
+        return code != null && code.contains("class ") && code.contains("static void main");
+    }
+
+    /** Compiles and runs {@code source} once with the given standard input. */
+    public ExecutionResult run(String source, String stdin) {
+        JobResult job = submit(source, List.of(new CodeTestCase(stdin, null)));
+        if (job.runs().isEmpty()) {
+            return new ExecutionResult(job.report().status(), "", job.report().error(), 0);
+        }
+        return job.runs().get(0);
+    }
+
+    /** Compiles once and runs every test case in a fresh class loader, comparing trimmed output. */
+    public TestReport runTests(String source, List<CodeTestCase> testCases) {
+        return submit(source, testCases).report();
+    }
+
+    /**
+     * Runs a Java answer against the question's hidden test cases and describes the outcome for a
+     * grading prompt, e.g. "2/3 passed". Null when there is nothing to run.
+     */
+    public String summarizeTests(Question question, String answer) {
+        if (question.getTestCases() == null || question.getTestCases().isEmpty()
+                || !looksLikeJava(answer) || !isAvailable()) {
+            return null;
+        }
+        TestReport report = runTests(answer, question.getTestCases());
+        String summary = report.passed() + "/" + report.total() + " passed";
+        if (report.status() != Status.OK) {
+            summary += " (" + report.status() + (report.error() != null ? ": " + firstLine(report.error()) : "") + ")";
+        }
+        return summary;
+    }
+
+    private static String firstLine(String text) {
+        int newline = text.indexOf('\n');
+        return newline >= 0 ? text.substring(0, newline) : text;
+    }
+
+    private record JobResult(TestReport report, List<ExecutionResult> runs) {}
+
+    private JobResult submit(String source, List<CodeTestCase> testCases) {
+        if (compiler == null) {
+            return failed(testCases, Status.REJECTED, "Code execution is not available on this server");
+        }
+        if (source == null || source.length() > maxSourceKb * 1024) {
+            return failed(testCases, Status.REJECTED, "Source is empty or larger than " + maxSourceKb + " KB");
+        }
+
+        JobControl control = new JobControl();
+        Future<JobResult> future;
+        try {
+            future = executor.submit(() -> executeAll(source, testCases, control));
+        } catch (TaskRejectedException e) {
+            return failed(testCases, Status.REJECTED, "Code runners are busy, please retry");
+        }
+
+        long wallMs = wallOverheadMs + cpuTimeMs * 2 * Math.max(1, testCases.size());
+        try {
+            return future.get(wallMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(control, future);
+            logger.warn("Code execution exceeded {} ms wall time and was abandoned ({} runners still stuck)",
+                    wallMs, stuckRunners.get());
+            return failed(testCases, Status.TIME_LIMIT_EXCEEDED, "Wall-clock limit exceeded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(control, future);
+            return failed(testCases, Status.REJECTED, "Interrupted");
+        } catch (ExecutionException e) {
+            logger.error("Code execution failed unexpectedly", e.getCause());
+            return failed(testCases, Status.REJECTED, "Internal execution error");
+        } finally {
+            runs.incrementAndGet();
+        }
+    }
+
+    // Stops a job at its runner's next guard check, or before it starts if still queued
+    private void abandon(JobControl control, Future<JobResult> future) {
+        control.cancelled.set(true);
+        future.cancel(true);
+        abandonedRuns.incrementAndGet();
+        if (control.started.get() && !control.finished.getAndSet(true)) {
+            stuckRunners.incrementAndGet();
+        }
+    }
+
+    private static JobResult failed(List<CodeTestCase> testCases, Status status, String error) {
+        return new JobResult(new TestReport(0, testCases.size(), status, error, List.of()), List.of());
+    }
+
+    private JobResult executeAll(String source, List<CodeTestCase> testCases, JobControl control) {
+        control.started.set(true);
+        try {
+            return executeAll(source, testCases, control.cancelled);
+        } finally {
+            // Already marked finished means the job was abandoned while this runner was busy with it
+            if (control.finished.getAndSet(true)) {
+                stuckRunners.decrementAndGet();
+            }
+        }
+    }
+
+    private JobResult executeAll(String source, List<CodeTestCase> testCases, AtomicBoolean cancelled) {
+        Compiled compiled;
+        try {
+            compiled = compile(source);
+        } catch (CompileFailure e) {
+            return failed(testCases, e.status, e.getMessage());
+        }
+
+        List<TestCaseResult> results = new ArrayList<>();
+        List<ExecutionResult> executions = new ArrayList<>();
+        int passed = 0;
+        for (CodeTestCase testCase : testCases) {
+            ExecutionResult execution = runOnce(compiled, testCase.getInput(), cancelled);
+            executions.add(execution);
+            boolean ok = execution.status() == Status.OK
+                    && (testCase.getExpectedOutput() == null || sameOutput(testCase.getExpectedOutput(), execution.stdout()));
+            if (ok) {
+                passed++;
+            }
+            results.add(new TestCaseResult(ok, execution.status(), execution.error(), execution.cpuTimeMs()));
+            if (cancelled.get()) {
+                break;
+            }
+        }
+        Status overall = results.stream().map(TestCaseResult::status).filter(s -> s != Status.OK).findFirst().orElse(Status.OK);
+        return new JobResult(new TestReport(passed, testCases.size(), overall, null, results), executions);
+    }
+
+    private record Compiled(Map<String, byte[]> classes, String mainClass) {}
+
+    private static final class CompileFailure extends Exception {
+        private final Status status;
+
+        CompileFailure(Status status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private Compiled compile(String source) throws CompileFailure {
+        Matcher publicClass = PUBLIC_CLASS.matcher(source);
+        String simpleName = publicClass.find() ? publicClass.group(1) : "Main";
+        Matcher packageDecl = PACKAGE.matcher(source);
+        String packagePrefix = packageDecl.find() ? packageDecl.group(1) + "." : "";
+
+        StandardJavaFileManager standard = fileManagers.get();
+        if (standard == null) {
+            standard = compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+            fileManagers.set(standard);
+        }
+
+        MemoryFileManager fileManager = new MemoryFileManager(standard);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + simpleName + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        Boolean ok = compiler.getTask(null, fileManager, diagnostics, COMPILER_OPTIONS, null, List.of(file)).call();
+        if (!Boolean.TRUE.equals(ok)) {
+            StringBuilder message = new StringBuilder();
+            diagnostics.getDiagnostics().stream()
+                    .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                    .limit(10)
+                    .forEach(d -> message.append("Line ").append(d.getLineNumber()).append(": ")
+                            .append(d.getMessage(Locale.ROOT)).append('\n'));
+            throw new CompileFailure(Status.COMPILE_ERROR, message.toString().trim());
+        }
+
+        Map<String, byte[]> instrumented;
+        try {
+            instrumented = SandboxInstrumenter.instrument(fileManager.classes());
+        } catch (SandboxInstrumenter.RejectedException e) {
+            throw new CompileFailure(Status.FORBIDDEN_API, e.getMessage());
+        }
+
+        String mainClass = packagePrefix + simpleName;
+        if (!instrumented.containsKey(mainClass)) {
+            throw new CompileFailure(Status.COMPILE_ERROR, "No class " + mainClass + " with a main method");
+        }
+        return new Compiled(instrumented, mainClass);
+    }
+
+    private ExecutionResult runOnce(Compiled compiled, String stdin, AtomicBoolean cancelled) {
+        SandboxClassLoader loader = new SandboxClassLoader(compiled.classes());
+        SandboxGuard.Budget budget = SandboxGuard.enter(stdin, TimeUnit.MILLISECONDS.toNanos(cpuTimeMs),
+                memoryMb * 1024 * 1024, outputKb * 1024, cancelled);
+        Status status = Status.OK;
+        String error = null;
+        try {
+            Class<?> mainClass = Class.forName(compiled.mainClass(), true, loader);
+            Method main = mainClass.getMethod("main", String[].class);
+            if (!Modifier.isStatic(main.getModifiers())) {
+                throw new NoSuchMethodException("main must be static");
+            }
+            main.invoke(null, (Object) new String[0]);
+        } catch (InvocationTargetException | ExceptionInInitializerError e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof OutOfMemoryError) {
+                status = Status.MEMORY_LIMIT_EXCEEDED;
+                error = "Out of memory: " + cause.getMessage();
+            } else if (!(cause instanceof SandboxGuard.Violation)) {
+                status = Status.RUNTIME_ERROR;
+                error = describe(cause, loader);
+            }
+        } catch (SandboxGuard.Violation e) {
+            // Hit during class initialization before main was reached
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            status = Status.RUNTIME_ERROR;
+            error = "No public static void main(String[] args) in " + compiled.mainClass();
+        } catch (IllegalAccessException e) {
+            status = Status.RUNTIME_ERROR;
+            error = "main must be public";
+        } catch (StackOverflowError e) {
+            status = Status.RUNTIME_ERROR;
+            error = e.toString();
+        } catch (OutOfMemoryError e) {
+            status = Status.MEMORY_LIMIT_EXCEEDED;
+            error = "Out of memory: " + e.getMessage();
+        } finally {
+            SandboxGuard.exit();
+        }
+
+        // A limit takes precedence, even if the program caught the violation and returned normally
+        if (budget.violation() != null) {
+            status = switch (budget.violation()) {
+                case TIME, CANCELLED -> Status.TIME_LIMIT_EXCEEDED;
+                case MEMORY -> Status.MEMORY_LIMIT_EXCEEDED;
+                case OUTPUT -> Status.OUTPUT_LIMIT_EXCEEDED;
+            };
+            error = budget.violation() == SandboxGuard.Limit.OUTPUT
+                    ? "Output limit of " + outputKb + " KB exceeded"
+                    : budget.violation() == SandboxGuard.Limit.MEMORY
+                    ? "Memory limit of " + memoryMb + " MB exceeded"
+                    : "Time limit of " + cpuTimeMs + " ms exceeded";
+        } else if (error == null && !budget.stderr().isEmpty()) {
+            error = budget.stderr();
+        }
+        return new ExecutionResult(status, budget.stdout(), error, TimeUnit.NANOSECONDS.toMillis(budget.cpuTimeNanos()));
+    }
+
+    // Exception plus the frames from the candidate's own classes
+    private static String describe(Throwable throwable, SandboxClassLoader loader) {
+        StringBuilder text = new StringBuilder(throwable.toString());
+        for (StackTraceElement frame : throwable.getStackTrace()) {
+            if (loader.defines(frame.getClassName())) {
+                text.append("\n    at ").append(frame);
+            }
+        }
+        return text.toString();
+    }
+
+    static boolean sameOutput(String expected, String actual) {
+        return normalizeOutput(expected).equals(normalizeOutput(actual));
+    }
+
+    private static String normalizeOutput(String output) {
+        return output.replace("\r\n", "\n").lines().map(String::stripTrailing)
+                .reduce((a, b) -> a + "\n" + b).orElse("").strip();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("available", isAvailable());
+        metrics.put("runners", executor.getCorePoolSize());
+        metrics.put("activeRunners", executor.getActiveCount());
+        metrics.put("queued", executor.getThreadPoolExecutor().getQueue().size());
+        metrics.put("jobs", runs.get());
+        metrics.put("abandonedJobs", abandonedRuns.get());
+        metrics.put("stuckRunners", stuckRunners.get());
+        return metrics;
+    }
+
+    // Collects javac output in memory instead of writing .class files
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+        MemoryFileManager(StandardJavaFileManager standard) {
+            super(standard);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    outputs.put(className, out);
+                    return out;
+                }
+            };
+        }
+
+        Map<String, byte[]> classes() {
+            Map<String, byte[]> classes = new HashMap<>();
+            outputs.forEach((name, out) -> classes.put(name, out.toByteArray()));
+            return classes;
+        }
+    }
+
+    /**
+     * One per run, so static state never leaks between test cases or candidates. Only the JDK
+     * (through the platform loader) and SandboxGuard are visible besides the candidate's classes.
+     */
+    private static final class SandboxClassLoader extends ClassLoader {
+        private static final String GUARD = SandboxGuard.class.getName();
+
+        private final Map<String, byte[]> classes;
+
+        SandboxClassLoader(Map<String, byte[]> classes) {
+            super("sandbox", ClassLoader.getPlatformClassLoader());
+            this.classes = classes;
+        }
+
+        boolean defines(String name) {
+            return classes.containsKey(name);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(GUARD) || name.startsWith(GUARD + "$")) {
+                return SandboxGuard.class.getClassLoader().loadClass(name);
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
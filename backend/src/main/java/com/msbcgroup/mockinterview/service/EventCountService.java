@@ -0,0 +1,185 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import com.msbcgroup.mockinterview.model.SessionEventCount;
+import com.msbcgroup.mockinterview.repository.MonitoringEventRepository;
+import com.msbcgroup.mockinterview.repository.SessionEventCountRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-session, per-type monitoring event counts, maintained as events are ingested so grading and
+ * dashboards read a handful of counters instead of every event. Increments collect in memory and
+ * are added to {@code session_event_count} on a short interval (and on shutdown); a count is the
+ * stored value plus whatever this node has not flushed yet. Increments lost in a crash are repaired
+ * on startup by recounting the sessions that had recent events.
+ */
+@Service
+public class EventCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventCountService.class);
+
+    // The event types reported to the reviewer as violations
+    static final Set<EventType> VIOLATION_TYPES =
+            EnumSet.of(EventType.FACE_NOT_DETECTED, EventType.MULTIPLE_FACES, EventType.TAB_SWITCH);
+
+    private static final EventType[] TYPES = EventType.values();
+
+    @Autowired
+    private SessionEventCountRepository countRepository;
+
+    @Autowired
+    private MonitoringEventRepository eventRepository;
+
+    @Value("${monitoring.counts.reconcile-window-hours:24}")
+    private long reconcileWindowHours;
+
+    // Unflushed increments per session, indexed by event type ordinal. Only touched inside
+    // compute/computeIfPresent, so an increment can't land in an array that is being flushed.
+    private final ConcurrentHashMap<String, long[]> pending = new ConcurrentHashMap<>();
+
+    public void record(String sessionId, EventType type) {
+        pending.compute(sessionId, (key, counts) -> {
+            long[] updated = counts != null ? counts : new long[TYPES.length];
+            updated[type.ordinal()]++;
+            return updated;
+        });
+    }
+
+    /**
+     * Current counts of every type seen in the session. Types never seen are absent.
+     */
+    public Map<EventType, Long> getCounts(String sessionId) {
+        List<SessionEventCount> rows = countRepository.findBySessionId(sessionId);
+        long[] local = unflushed(sessionId);
+        if (rows.isEmpty() && local == null) {
+            // Sessions from before the counts existed get them on first read
+            reconcile(List.of(sessionId));
+            rows = countRepository.findBySessionId(sessionId);
+        }
+
+        Map<EventType, Long> counts = new EnumMap<>(EventType.class);
+        for (SessionEventCount row : rows) {
+            counts.put(row.getEventType(), row.getEventCount());
+        }
+        if (local != null) {
+            for (EventType type : TYPES) {
+                if (local[type.ordinal()] > 0) {
+                    counts.merge(type, local[type.ordinal()], Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    // Counts of the violation types only, as reported to the reviewer
+    public Map<EventType, Long> getViolationCounts(String sessionId) {
+        Map<EventType, Long> violations = new EnumMap<>(EventType.class);
+        getCounts(sessionId).forEach((type, count) -> {
+            if (VIOLATION_TYPES.contains(type) && count > 0) {
+                violations.put(type, count);
+            }
+        });
+        return violations;
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.counts.flush-interval-ms:2000}")
+    public void flush() {
+        for (String sessionId : new ArrayList<>(pending.keySet())) {
+            flushSession(sessionId);
+        }
+    }
+
+    /**
+     * Writes this node's unflushed increments for one session, e.g. right before it is graded.
+     */
+    public void flushSession(String sessionId) {
+        long[][] taken = new long[1][];
+        pending.computeIfPresent(sessionId, (key, counts) -> {
+            taken[0] = counts;
+            return null;
+        });
+        if (taken[0] == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (EventType type : TYPES) {
+            long delta = taken[0][type.ordinal()];
+            if (delta == 0) {
+                continue;
+            }
+            try {
+                countRepository.addCount(sessionId, type.name(), delta, now);
+            } catch (Exception e) {
+                // Keep the increment for the next flush
+                pending.compute(sessionId, (key, counts) -> {
+                    long[] updated = counts != null ? counts : new long[TYPES.length];
+                    updated[type.ordinal()] += delta;
+                    return updated;
+                });
+                logger.warn("Could not flush {} {} count(s) for session {}", delta, type, sessionId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Recounts sessions with events in the reconcile window, restoring increments that were still
+     * in memory when a node stopped without flushing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileRecentSessions() {
+        try {
+            List<String> sessionIds = eventRepository.findSessionIdsWithEventsSince(
+                    LocalDateTime.now().minusHours(reconcileWindowHours));
+            for (int from = 0; from < sessionIds.size(); from += 100) {
+                reconcile(sessionIds.subList(from, Math.min(from + 100, sessionIds.size())));
+            }
+            if (!sessionIds.isEmpty()) {
+                logger.info("Reconciled event counts for {} recent sessions", sessionIds.size());
+            }
+        } catch (Exception e) {
+            logger.warn("Event count reconciliation failed", e);
+        }
+    }
+
+    void reconcile(Collection<String> sessionIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : eventRepository.countBySessionIdsAndEventType(sessionIds)) {
+            String sessionId = (String) row[0];
+            EventType type = (EventType) row[1];
+            if (type == null) {
+                continue;
+            }
+            // This node's unflushed increments are events already counted here
+            long[] local = unflushed(sessionId);
+            long count = (Long) row[2] - (local != null ? local[type.ordinal()] : 0);
+            countRepository.setCount(sessionId, type.name(), count, now);
+        }
+    }
+
+    // Copy of a session's unflushed increments, taken under the same lock as record()
+    private long[] unflushed(String sessionId) {
+        long[][] copy = new long[1][];
+        pending.computeIfPresent(sessionId, (key, counts) -> {
+            copy[0] = counts.clone();
+            return counts;
+        });
+        return copy[0];
+    }
+}
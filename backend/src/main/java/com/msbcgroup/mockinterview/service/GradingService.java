@@ -0,0 +1,482 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.*;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import com.msbcgroup.mockinterview.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Grades submitted interviews. Submissions only persist the answers and mark the session PENDING;
+ * the AI review and result bookkeeping run here as GRADING jobs on the durable job queue, so they
+ * survive restarts and spread across nodes, with retries on a bounded worker pool.
+ * In BATCHED mode, reviews that are ready at about the same time share one model request.
+ */
+@Service
+public class GradingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradingService.class);
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private InterviewResultRepository interviewResult;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private LlmGovernor llmGovernor;
+
+    @Autowired
+    private LlmJsonParser llmJsonParser;
+
+    @Autowired
+    private CodeExecutionService codeExecutionService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private AnswerGradingService answerGradingService;
+
+    @Autowired
+    private SubmissionScoreRepository scoreRepository;
+
+    @Autowired
+    @Qualifier("gradingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${interview.grading.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${interview.grading.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    @Value("${interview.grading.mode:SINGLE}")
+    private GradingMode gradingMode;
+
+    // Batches can't grow past the grading pool size, since each waiting review holds a worker
+    @Value("${interview.grading.batch.max-size:4}")
+    private int batchMaxSize;
+
+    @Value("${interview.grading.batch.max-wait-ms:2000}")
+    private long batchMaxWaitMs;
+
+    // Label stored with every score; bump it when the review prompt or rubric changes
+    @Value("${interview.grading.rubric-version:v1}")
+    private String rubricVersion;
+
+    private final ChatClient chatClient;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Null unless gradingMode is BATCHED
+    private MicroBatcher<ReviewRequest, InterviewSummary> batcher;
+
+    // One candidate's part of a review prompt, plus what is needed to state how it should be scored
+    record ReviewRequest(String sessionId, String candidateSection, McqScorer.Result mcq, int reviewCount) {}
+
+    public GradingService(ChatClient.Builder chatClient) {
+        this.chatClient = chatClient.build();
+    }
+
+    @PostConstruct
+    public void registerJobHandler() {
+        if (gradingMode == GradingMode.BATCHED) {
+            batcher = new MicroBatcher<>(batchMaxSize, batchMaxWaitMs, this::reviewBatch);
+        }
+        jobQueueService.register(JobType.GRADING, this::grade, executor, maxAttempts, retryBackoffSeconds,
+                this::markFailed, this::markPending);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    /**
+     * Queues grading for a submitted session. Returns false if a job for it is already queued or running.
+     */
+    public boolean submit(String sessionId) {
+        boolean queued = enqueue(sessionId);
+        if (queued) {
+            dispatch();
+        }
+        return queued;
+    }
+
+    /**
+     * Queues grading without starting it, for callers queueing inside their own transaction;
+     * they call {@link #dispatch()} once it has committed.
+     */
+    public boolean enqueue(String sessionId) {
+        return jobQueueService.enqueue(JobType.GRADING, sessionId);
+    }
+
+    public void dispatch() {
+        // With incremental grading the job is mostly a roll-up, so don't leave it waiting for the next poll
+        if (answerGradingService.isEnabled()) {
+            jobQueueService.dispatchNow(JobType.GRADING);
+        }
+    }
+
+    // Throws when the attempt failed; the session stays PENDING until the queue gives up on it
+    void grade(String sessionId) throws Exception {
+        InterviewSession session = sessionRepository.findBySessionId(sessionId).orElse(null);
+        if (session == null || session.getGradingStatus() != GradingStatus.PENDING) {
+            return;
+        }
+
+        int attempt = session.getGradingAttempts() + 1;
+        session.setGradingAttempts(attempt);
+        sessionRepository.save(session);
+
+        try {
+            InterviewSummary summary = evaluate(session, LlmUseCase.GRADING);
+            saveResult(session, summary);
+            recordScore(session, summary);
+
+            session.setGradingStatus(GradingStatus.GRADED);
+            session.setGradingError(null);
+            sessionRepository.save(session);
+            logger.info("Graded session {} (attempt {})", sessionId, attempt);
+        } catch (Exception e) {
+            session.setGradingError(e.getMessage());
+            sessionRepository.save(session);
+            throw e;
+        }
+    }
+
+    /**
+     * Scores one submission from its stored questions and answers; the returned summary's score is
+     * the overall total. Live grading (GRADING) may roll up incremental grades or share a batched
+     * review; any other use case, such as re-scoring, always gets a full review of its own.
+     */
+    InterviewSummary evaluate(InterviewSession session, LlmUseCase useCase) throws Exception {
+        List<Question> questions = mapper.readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {});
+        Map<String, String> answers = mapper.readValue(session.getAnswersJson(), new TypeReference<Map<String, String>>() {});
+
+        // MCQs with an answer key are scored here; only the rest goes to the model
+        McqScorer.Result mcq = McqScorer.score(questions, answers);
+
+        List<Question> reviewQuestions = new ArrayList<>();
+        Map<String, String> userAnswerMap = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            if (McqScorer.isKeyed(question)) {
+                continue;
+            }
+            reviewQuestions.add(question);
+            String answer = answers.get("answer" + i);
+            if (answer != null) {
+                userAnswerMap.put(question.getQuestion(), answer);
+            }
+        }
+
+        Map<MonitoringEvent.EventType, MonitoringService.IntervalStats> violations =
+                monitoringService.getViolationStats(session.getSessionId());
+
+        InterviewSummary summary;
+        if (useCase == LlmUseCase.GRADING && answerGradingService.isEnabled()) {
+            // Roll up the grades given while the exam was in progress
+            summary = answerGradingService.rollUp(session, questions, answers, mcq, violations);
+        } else {
+            ReviewRequest request = new ReviewRequest(session.getSessionId(),
+                    buildCandidateSection(reviewQuestions, userAnswerMap, violations), mcq, reviewQuestions.size());
+            summary = useCase == LlmUseCase.GRADING ? review(request) : reviewSingle(request, useCase);
+        }
+        int reviewedScore = Math.max(0, Math.min(summary.getScore() != null ? summary.getScore() : 0, reviewQuestions.size()));
+        summary.setScore(mcq.correct() + reviewedScore);
+        return summary;
+    }
+
+    // Versioned copy of the live grade, next to any re-scorings of the same attempt
+    private void recordScore(InterviewSession session, InterviewSummary summary) {
+        try {
+            if (!scoreRepository.existsBySessionIdAndRubricVersion(session.getSessionId(), rubricVersion)) {
+                scoreRepository.save(new SubmissionScore(session, rubricVersion, summary, null));
+            }
+        } catch (Exception e) {
+            logger.warn("Could not record {} score for session {}", rubricVersion, session.getSessionId(), e);
+        }
+    }
+
+    public String getRubricVersion() {
+        return rubricVersion;
+    }
+
+    private void markFailed(String sessionId, String error) {
+        sessionRepository.findBySessionId(sessionId).ifPresent(session -> {
+            if (session.getGradingStatus() == GradingStatus.PENDING) {
+                session.setGradingStatus(GradingStatus.FAILED);
+                session.setGradingError(error);
+                sessionRepository.save(session);
+            }
+        });
+    }
+
+    // A requeued dead job needs its session back in PENDING, or the handler would skip it
+    private void markPending(String sessionId) {
+        sessionRepository.findBySessionId(sessionId).ifPresent(session -> {
+            if (session.getGradingStatus() == GradingStatus.FAILED) {
+                session.setGradingStatus(GradingStatus.PENDING);
+                session.setGradingError(null);
+                sessionRepository.save(session);
+            }
+        });
+    }
+
+    private void saveResult(InterviewSession session, InterviewSummary summary) {
+        String email = session.getCandidateEmail();
+        LocalDateTime submittedAt = session.getSubmittedAt() != null ? session.getSubmittedAt() : LocalDateTime.now();
+        Optional<InterviewResult> existingResultOpt = interviewResult.findByCandidateEmail(email);
+        if (existingResultOpt.isPresent()) {
+            InterviewResult existingResult = existingResultOpt.get();
+            // A retried grading of the same attempt replaces its summary without counting another attempt
+            if (!session.getSessionId().equals(existingResult.getSessionId())) {
+                existingResult.setAttempts(existingResult.getAttempts() + 1);
+            }
+            existingResult.setSessionId(session.getSessionId());
+            existingResult.setSubmittedAt(submittedAt);
+            existingResult.setSummary(summary);
+            interviewResult.save(existingResult);
+        } else {
+            InterviewResult result = new InterviewResult(email, summary);
+            result.setSessionId(session.getSessionId());
+            result.setSubmittedAt(submittedAt);
+            interviewResult.save(result);
+        }
+    }
+
+    public Map<String, Object> getGradingStatus(String candidateEmail) {
+        InterviewSession session = sessionRepository.findFirstByCandidateEmailAndSubmittedAtIsNotNullOrderBySubmittedAtDesc(candidateEmail)
+                .orElseThrow(() -> new RuntimeException("No submitted interview for: " + candidateEmail));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("candidateEmail", candidateEmail);
+        response.put("sessionId", session.getSessionId());
+        response.put("submittedAt", session.getSubmittedAt());
+        response.put("gradingStatus", session.getGradingStatus());
+        response.put("attempts", session.getGradingAttempts());
+        response.put("error", session.getGradingError());
+        return response;
+    }
+
+    private InterviewSummary review(ReviewRequest request) {
+        if (batcher != null) {
+            try {
+                InterviewSummary summary = batcher.submit(request).join();
+                if (summary != null) {
+                    return summary;
+                }
+            } catch (CompletionException e) {
+                logger.warn("Batched review failed for session {}, grading it on its own", request.sessionId(), e.getCause());
+            }
+        }
+        return reviewSingle(request, LlmUseCase.GRADING);
+    }
+
+    private InterviewSummary reviewSingle(ReviewRequest request, LlmUseCase useCase) {
+        String reviewPrompt = "Please review this interview and provide a comprehensive summary:\n\n"
+                + request.candidateSection() + buildReviewInstructions(request);
+
+        String aiResponse = llmGovernor.callHedged(useCase, () -> chatClient.prompt()
+                .user(reviewPrompt)
+                .call()
+                .content(), llmJsonParser::isValidSummary);
+
+        return parseAiSummary(aiResponse);
+    }
+
+    /**
+     * Reviews several candidates in one request: the instructions are sent once and each
+     * candidate's answers are fenced by a label (C1, C2, ...) that the response must echo back.
+     * Entries for candidates missing from a usable response are null, and the whole batch is null
+     * when the response can't be parsed; those candidates are then graded on their own.
+     */
+    List<InterviewSummary> reviewBatch(List<ReviewRequest> requests) {
+        List<InterviewSummary> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        if (requests.size() < 2) {
+            return results;
+        }
+
+        String batchPrompt = buildBatchReviewPrompt(requests);
+        String aiResponse = llmGovernor.callHedged(LlmUseCase.GRADING, () -> chatClient.prompt()
+                .user(batchPrompt)
+                .call()
+                .content(), llmJsonParser::isValidSummaryBatch);
+
+        Map<String, InterviewSummary> summaries;
+        try {
+            summaries = llmJsonParser.parseSummaryBatch(aiResponse);
+        } catch (Exception e) {
+            logger.warn("Malformed batched review response for {} candidates", requests.size(), e);
+            return results;
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            results.set(i, summaries.get(candidateLabel(i)));
+        }
+        logger.info("Batched review graded {}/{} candidates in one request", summaries.size(), requests.size());
+        return results;
+    }
+
+    private static String candidateLabel(int index) {
+        return "C" + (index + 1);
+    }
+
+    private String buildCandidateSection(List<Question> questions, Map<String, String> answers,
+                                         Map<MonitoringEvent.EventType, MonitoringService.IntervalStats> violations) {
+        StringBuilder prompt = new StringBuilder();
+
+        for (Question question : questions) {
+            String answer = answers.get(question.getQuestion());
+            prompt.append("Question: ").append(question.getQuestion()).append("\n");
+
+            if ("MCQ".equals(question.getType()) && question.getOptions() != null && !question.getOptions().isEmpty()) {
+                prompt.append("Options: ").append(String.join(", ", question.getOptions())).append("\n");
+            }
+
+            prompt.append("Answer: ").append(answer != null ? answer : "No answer provided").append("\n");
+            String testSummary = codeExecutionService.summarizeTests(question, answer);
+            if (testSummary != null) {
+                prompt.append("Automated tests: ").append(testSummary).append("\n");
+            }
+            prompt.append("\n");
+        }
+
+        if (!violations.isEmpty()) {
+            prompt.append("During the interview, the following violations occurred:\n");
+            violations.forEach((type, stats) ->
+                    prompt.append(type).append(": ").append(stats.describe()).append("\n")
+            );
+            prompt.append("\n");
+        }
+
+        return prompt.toString();
+    }
+
+    // Shared by single and batched reviews; nothing candidate-specific goes in here
+    private static final String REVIEW_GUIDELINES = """
+        For MCQ questions (if any are listed):
+        - Award 1 point if the selected option is the correct one
+        - Award 0 points if incorrect or no answer provided
+        
+        For coding questions:
+        - Where "Automated tests" are shown, the answer was compiled and run against hidden test cases; treat them as strong evidence of correctness
+        - Award 1 point if the solution demonstrates correct logic and approach
+        - Award 0 points if the logic is fundamentally flawed or no solution provided
+        - Minor syntax errors should not result in 0 points if the approach is correct
+        
+        VIOLATIONS:
+        - Do NOT deduct points for violations
+        - Mention violations in the summary field as observational data
+        - Consider violations only in the recommendation, not the score
+        
+        EVALUATION GUIDELINES:
+        - Do NOT mention specific questions or answers in the summary
+        - Provide only a high-level evaluation of performance, covering both the MCQ result and the listed questions
+        - Include any violations and their frequency directly in the "summary" field
+        """;
+
+    private String buildReviewInstructions(ReviewRequest request) {
+        int totalQuestions = request.mcq().total() + request.reviewCount();
+        return """
+                You are an experienced technical interviewer. Review the candidate's exam answers and generate a structured evaluation.
+        
+        SCORING INSTRUCTIONS:
+        - The candidate's %d answer-keyed multiple-choice questions were already scored automatically: %d correct
+        - Score ONLY the %d questions listed above
+        - Each listed question is worth exactly 1 point
+        - No negative marking
+        - Score range: 0-%d
+        
+        %s
+        If the candidate's overall result (MCQ correct + your score) is above average (at least %d of %d), include in the summary:
+        - Areas where the candidate is strong
+        - Areas where the candidate can improve
+        
+        Output strictly in JSON format:
+        {
+          "score": [Number 0-%d, points for the listed questions only],
+          "summary": "[One sentence summary including performance, strengths, weaknesses, and violations]",
+          "strengths": "[3 bullet points separated by |]",
+          "improvements": "[3 bullet points separated by |]",
+          
+        }
+        """.formatted(request.mcq().total(), request.mcq().correct(), request.reviewCount(), request.reviewCount(),
+                REVIEW_GUIDELINES, Math.round(totalQuestions * 0.6f), totalQuestions, request.reviewCount());
+    }
+
+    private String buildBatchReviewPrompt(List<ReviewRequest> requests) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("""
+                You are an experienced technical interviewer. Review the exam answers of %d independent candidates below and generate a structured evaluation for each one.
+                Evaluate every candidate on their own answers only; never compare candidates or carry anything over between them.
+        
+        SCORING INSTRUCTIONS:
+        - Each candidate's block states how many answer-keyed multiple-choice questions were already scored automatically, and how many were correct
+        - Score ONLY the questions listed in that candidate's block
+        - Each listed question is worth exactly 1 point
+        - No negative marking
+        - Score range: 0 to the number of listed questions
+        
+        %s
+        If a candidate's overall result (MCQ correct + your score) is at least the above-average mark stated in their block, include in their summary:
+        - Areas where the candidate is strong
+        - Areas where the candidate can improve
+        
+        Output strictly in JSON format, with exactly one entry per candidate, labelled as in the candidate's header:
+        {
+          "results": [
+            {
+              "candidate": "C1",
+              "score": [Number, points for that candidate's listed questions only],
+              "summary": "[One sentence summary including performance, strengths, weaknesses, and violations]",
+              "strengths": "[3 bullet points separated by |]",
+              "improvements": "[3 bullet points separated by |]"
+            }
+          ]
+        }
+        
+        """.formatted(requests.size(), REVIEW_GUIDELINES));
+
+        for (int i = 0; i < requests.size(); i++) {
+            ReviewRequest request = requests.get(i);
+            String label = candidateLabel(i);
+            int totalQuestions = request.mcq().total() + request.reviewCount();
+            prompt.append("=== CANDIDATE ").append(label).append(" ===\n");
+            prompt.append("Already scored: %d answer-keyed MCQs, %d correct. Listed questions: %d (score range 0-%d). Above-average mark: %d of %d.\n\n"
+                    .formatted(request.mcq().total(), request.mcq().correct(), request.reviewCount(), request.reviewCount(),
+                            Math.round(totalQuestions * 0.6f), totalQuestions));
+            prompt.append(request.candidateSection());
+            prompt.append("=== END CANDIDATE ").append(label).append(" ===\n\n");
+        }
+        return prompt.toString();
+    }
+
+    private InterviewSummary parseAiSummary(String response) {
+        try {
+            return llmJsonParser.parseSummary(response);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new InterviewSummary(0, "Error parsing summary", "", "", "");
+        }
+    }
+}
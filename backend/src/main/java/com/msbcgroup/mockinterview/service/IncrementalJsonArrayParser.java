@@ -0,0 +1,82 @@
+package com.msbcgroup.mockinterview.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Pulls complete JSON objects out of an array while the text is still arriving in chunks.
+ * Works for both a bare array and one wrapped in an object (e.g. {"questions": [...]});
+ * markdown fences and prose around the JSON are skipped. Not thread-safe, one instance per stream.
+ */
+public class IncrementalJsonArrayParser {
+
+    private final Deque<Character> containers = new ArrayDeque<>();
+    private final StringBuilder current = new StringBuilder();
+    private boolean capturing = false;
+    private int captureDepth;
+    private boolean inString = false;
+    private boolean escaped = false;
+
+    /**
+     * Feeds the next chunk and returns the raw JSON of every array element object completed by it.
+     */
+    public List<String> feed(CharSequence chunk) {
+        List<String> completed = new ArrayList<>();
+        if (chunk == null) {
+            return completed;
+        }
+
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (capturing) {
+                current.append(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"':
+                    // Quotes in prose before the JSON starts are not strings we need to track
+                    if (!containers.isEmpty()) {
+                        inString = true;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    if (c == '{' && !capturing && !containers.isEmpty() && containers.peek() == '[') {
+                        capturing = true;
+                        captureDepth = containers.size();
+                        current.setLength(0);
+                        current.append(c);
+                    }
+                    containers.push(c);
+                    break;
+                case '}':
+                case ']':
+                    if (!containers.isEmpty()) {
+                        containers.pop();
+                    }
+                    if (capturing && c == '}' && containers.size() == captureDepth) {
+                        completed.add(current.toString());
+                        current.setLength(0);
+                        capturing = false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return completed;
+    }
+}
@@ -1,7 +1,7 @@
 package com.msbcgroup.mockinterview.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.msbcgroup.mockinterview.controller.InterviewController;
 import com.msbcgroup.mockinterview.model.*;
 import com.msbcgroup.mockinterview.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,9 +29,29 @@ public class InterviewService {
     private InterviewSummaryRepository interviewSummaryRepository;
     
     @Autowired
-    private InterviewController interviewController;
+    private QuestionGenerationService questionGenerationService;
 
-    public String scheduleInterview(String candidateEmail) throws Exception {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    private QuestionPregenerationService questionPregenerationService;
+
+    public Map<String, Object> scheduleInterview(String candidateEmail) {
+        InterviewSession session = createPendingSession(candidateEmail);
+        if (session.getGenerationStatus() == GenerationStatus.GENERATING) {
+            questionGenerationService.submit(session.getSessionId());
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("sessionId", session.getSessionId());
+        response.put("magicLink", buildMagicLink(session.getSessionId()));
+        response.put("generationStatus", session.getGenerationStatus());
+        return response;
+    }
+
+    // Creates the session and meeting up front. A pre-generated set is bound right away when one is
+    // staged for the profile; otherwise questions are filled in by QuestionGenerationService.
+    public InterviewSession createPendingSession(String candidateEmail) {
         CandidateProfile profile = candidateProfileRepository.findByCandidateEmail(candidateEmail)
                 .orElseThrow(() -> new RuntimeException("Candidate profile not found for email: " + candidateEmail));
 
@@ -40,19 +60,26 @@ public class InterviewService {
             candidateProfileRepository.save(profile);
         }
 
-        List<Question> questions = interviewController.generateQuestionsFromProfile(profile);
-        ObjectMapper mapper = new ObjectMapper();
-        String questionsJson = mapper.writeValueAsString(questions);
-
         InterviewSession session = new InterviewSession();
         String sessionId = UUID.randomUUID().toString();
         session.setSessionId(sessionId);
         session.setCandidateEmail(candidateEmail);
-        session.setQuestionsJson(questionsJson);
         session.setCompleted(false);
+        Optional<List<Question>> staged = questionPregenerationService.claim(profile);
+        if (staged.isPresent()) {
+            try {
+                session.setQuestionsJson(mapper.writeValueAsString(staged.get()));
+                session.setGenerationStatus(GenerationStatus.READY);
+            } catch (JsonProcessingException e) {
+                staged = Optional.empty();
+            }
+        }
+        if (staged.isEmpty()) {
+            session.setGenerationStatus(GenerationStatus.GENERATING);
+        }
         sessionRepository.save(session);
 
-        String magicLink = "http://localhost:8081/api/auth/start-interview/" + sessionId;
+        String magicLink = buildMagicLink(sessionId);
 
         InterviewMeeting meeting = new InterviewMeeting();
         meeting.setMeetingUrl(magicLink);
@@ -62,7 +89,26 @@ public class InterviewService {
         meeting.setTokenExpiry(LocalDateTime.now().plusHours(48));
         meetingRepository.save(meeting);
 
-        return magicLink;
+        return session;
+    }
+
+    public Map<String, Object> getGenerationStatus(String sessionId) {
+        InterviewSession session = sessionRepository.findBySessionId(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("sessionId", sessionId);
+        response.put("candidateEmail", session.getCandidateEmail());
+        response.put("generationStatus", session.getGenerationStatus());
+        response.put("attempts", session.getGenerationAttempts());
+        response.put("error", session.getGenerationError());
+        response.put("magicLink", buildMagicLink(sessionId));
+        response.put("linkReady", session.isReady());
+        return response;
+    }
+
+    public String buildMagicLink(String sessionId) {
+        return "http://localhost:8081/api/auth/start-interview/" + sessionId;
     }
 
     public Map<String, Object> getInterviewSummary(String candidateEmail) {
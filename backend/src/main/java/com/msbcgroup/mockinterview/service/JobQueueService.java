@@ -0,0 +1,301 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.BackgroundJob;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobStatus;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import com.msbcgroup.mockinterview.repository.BackgroundJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Durable work queue in the {@code background_job} table, shared by every backend node. Each node
+ * polls for due jobs of the types it has handlers for, claims only as many as its pool has room for
+ * with {@code FOR UPDATE SKIP LOCKED}, and holds a lease it renews while the job runs. A job whose
+ * node dies is reclaimed once the lease lapses. Failures are retried with exponential backoff and
+ * dead-lettered after the handler's attempt limit.
+ */
+@Service
+public class JobQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobQueueService.class);
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(String payload) throws Exception;
+    }
+
+    /**
+     * How one job type is run: the pool it runs on, its retry policy, and callbacks for when a job
+     * is dead-lettered (payload, last error) and when a dead job is requeued by HR.
+     */
+    record Registration(Handler handler, ThreadPoolTaskExecutor executor, int maxAttempts, long backoffSeconds,
+                        BiConsumer<String, String> onDeadLetter, Consumer<String> onRequeue) {}
+
+    @Autowired
+    private BackgroundJobRepository jobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${job-queue.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${job-queue.done-retention-hours:24}")
+    private long doneRetentionHours;
+
+    private final Map<JobType, Registration> registrations = new ConcurrentHashMap<>();
+
+    // Jobs this node is running, so their leases can be renewed
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    private final String nodeId = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    public void register(JobType type, Handler handler, ThreadPoolTaskExecutor executor, int maxAttempts,
+                         long backoffSeconds, BiConsumer<String, String> onDeadLetter, Consumer<String> onRequeue) {
+        registrations.put(type, new Registration(handler, executor, maxAttempts, backoffSeconds, onDeadLetter, onRequeue));
+    }
+
+    public boolean enqueue(JobType type, String payload) {
+        return enqueue(type, payload, 0);
+    }
+
+    /**
+     * Adds a job unless one for the same payload is already queued or running, on any node; the
+     * unique key on active jobs decides races. Returns false when it was deduplicated.
+     */
+    public boolean enqueue(JobType type, String payload, long delaySeconds) {
+        Registration registration = registrations.get(type);
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.insertIfAbsent(type.name(), payload, registration != null ? registration.maxAttempts() : 3,
+                now.plusSeconds(delaySeconds), now) > 0;
+    }
+
+    /**
+     * Drops the job for a payload if it is still waiting to run, e.g. one that only stood guard
+     * over work done inline. Returns false when there was none, or it has already been claimed.
+     */
+    public boolean cancel(JobType type, String payload) {
+        return jobRepository.deleteQueued(type, payload, JobStatus.QUEUED) > 0;
+    }
+
+    /**
+     * Moves the run time of a payload's waiting job, recording why.
+     * Returns false when there was none, or it has already been claimed.
+     */
+    public boolean reschedule(JobType type, String payload, long delaySeconds, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.rescheduleQueued(type, payload, JobStatus.QUEUED, now.plusSeconds(delaySeconds), error, now) > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${job-queue.poll-interval-ms:1000}")
+    public void poll() {
+        for (Map.Entry<JobType, Registration> entry : registrations.entrySet()) {
+            try {
+                pollType(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                logger.warn("Polling {} jobs failed", entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Claims due jobs of one type right away instead of waiting for the next poll,
+     * for work where a second of queueing latency matters.
+     */
+    public void dispatchNow(JobType type) {
+        Registration registration = registrations.get(type);
+        if (registration == null) {
+            return;
+        }
+        try {
+            pollType(type, registration);
+        } catch (Exception e) {
+            logger.warn("Immediate dispatch of {} jobs failed; the next poll will pick them up", type, e);
+        }
+    }
+
+    private void pollType(JobType type, Registration registration) {
+        ThreadPoolTaskExecutor executor = registration.executor();
+        // Only take what can start now; the rest stays claimable by other nodes
+        int free = executor.getMaxPoolSize() - executor.getActiveCount() - executor.getQueueSize();
+        if (free <= 0) {
+            return;
+        }
+
+        List<BackgroundJob> deadLettered = new ArrayList<>();
+        List<BackgroundJob> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<BackgroundJob> due = jobRepository.lockDue(type.name(), now, free);
+            List<BackgroundJob> runnable = new ArrayList<>();
+            for (BackgroundJob job : due) {
+                job.setUpdatedAt(now);
+                if (job.getStatus() == JobStatus.RUNNING && job.getAttempts() >= job.getMaxAttempts()) {
+                    // Lease lapsed on the final attempt, most likely a node that died mid-job
+                    job.setStatus(JobStatus.DEAD);
+                    job.setLeaseOwner(null);
+                    job.setLeaseExpiresAt(null);
+                    job.setLastError("Lease expired on final attempt");
+                    deadLettered.add(job);
+                    continue;
+                }
+                job.setStatus(JobStatus.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLeaseOwner(nodeId);
+                job.setLeaseExpiresAt(now.plusSeconds(leaseSeconds));
+                runnable.add(job);
+            }
+            jobRepository.saveAll(due);
+            return runnable;
+        });
+
+        for (BackgroundJob job : deadLettered) {
+            notifyDeadLetter(registration, job, job.getLastError());
+        }
+        for (BackgroundJob job : claimed != null ? claimed : List.<BackgroundJob>of()) {
+            running.add(job.getId());
+            try {
+                executor.execute(() -> run(job, registration));
+            } catch (TaskRejectedException e) {
+                running.remove(job.getId());
+                jobRepository.release(job.getId(), nodeId, JobStatus.RUNNING, JobStatus.QUEUED, LocalDateTime.now());
+            }
+        }
+    }
+
+    void run(BackgroundJob job, Registration registration) {
+        try {
+            registration.handler().handle(job.getPayload());
+            finish(job, JobStatus.DONE, null, null);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                if (finish(job, JobStatus.DEAD, null, error)) {
+                    logger.error("{} job {} for {} dead-lettered after {} attempts", job.getJobType(), job.getId(),
+                            job.getPayload(), job.getAttempts(), e);
+                    notifyDeadLetter(registration, job, error);
+                }
+            } else {
+                // Exponential backoff between attempts: 1x, 2x, 4x ...
+                long delay = registration.backoffSeconds() * (1L << (job.getAttempts() - 1));
+                finish(job, JobStatus.QUEUED, LocalDateTime.now().plusSeconds(delay), error);
+                logger.warn("{} job {} for {} failed (attempt {}/{}), retrying in {}s", job.getJobType(), job.getId(),
+                        job.getPayload(), job.getAttempts(), job.getMaxAttempts(), delay, e);
+            }
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    private boolean finish(BackgroundJob job, JobStatus status, LocalDateTime runAt, String error) {
+        int updated = jobRepository.finish(job.getId(), nodeId, JobStatus.RUNNING, status, BackgroundJob.activeFlag(status),
+                runAt, error, LocalDateTime.now());
+        if (updated == 0) {
+            logger.warn("Lost the lease on {} job {} before it finished; another node owns it now", job.getJobType(), job.getId());
+        }
+        return updated > 0;
+    }
+
+    private void notifyDeadLetter(Registration registration, BackgroundJob job, String error) {
+        try {
+            registration.onDeadLetter().accept(job.getPayload(), error);
+        } catch (Exception e) {
+            logger.warn("Dead-letter callback failed for {} job {}", job.getJobType(), job.getId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${job-queue.heartbeat-interval-ms:30000}")
+    public void renewLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        jobRepository.renewLeases(new ArrayList<>(running), nodeId, JobStatus.RUNNING,
+                LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    @Scheduled(fixedDelayString = "${job-queue.cleanup-interval-ms:3600000}")
+    public void deleteFinishedJobs() {
+        int backfilled = jobRepository.backfillActive();
+        if (backfilled > 0) {
+            logger.info("Marked {} queued or running jobs active", backfilled);
+        }
+        int deleted = jobRepository.deleteByStatusBefore(JobStatus.DONE, LocalDateTime.now().minusHours(doneRetentionHours));
+        if (deleted > 0) {
+            logger.info("Deleted {} finished jobs", deleted);
+        }
+    }
+
+    /**
+     * Puts a dead-lettered job back on the queue with a fresh attempt budget.
+     */
+    public void requeue(Long jobId) {
+        BackgroundJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found with id: " + jobId));
+        if (job.getStatus() != JobStatus.DEAD) {
+            throw new RuntimeException("Only dead-lettered jobs can be requeued, job " + jobId + " is " + job.getStatus());
+        }
+        Registration registration = registrations.get(job.getJobType());
+        if (registration != null) {
+            registration.onRequeue().accept(job.getPayload());
+        }
+        try {
+            jobRepository.requeueDead(jobId, JobStatus.DEAD, JobStatus.QUEUED, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("A " + job.getJobType() + " job for " + job.getPayload() + " is already queued or running");
+        }
+    }
+
+    public Map<String, Object> getOverview() {
+        Map<String, Map<String, Long>> counts = new TreeMap<>();
+        for (Object[] row : jobRepository.countByTypeAndStatus()) {
+            counts.computeIfAbsent(row[0].toString(), k -> new TreeMap<>()).put(row[1].toString(), (Long) row[2]);
+        }
+
+        List<Map<String, Object>> deadLetters = new ArrayList<>();
+        for (BackgroundJob job : jobRepository.findByStatusOrderByUpdatedAtDesc(JobStatus.DEAD, PageRequest.of(0, 50))) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", job.getId());
+            entry.put("jobType", job.getJobType());
+            entry.put("payload", job.getPayload());
+            entry.put("attempts", job.getAttempts());
+            entry.put("lastError", job.getLastError());
+            entry.put("updatedAt", job.getUpdatedAt());
+            deadLetters.add(entry);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("node", nodeId);
+        response.put("runningOnThisNode", running.size());
+        response.put("counts", counts);
+        response.put("deadLetters", deadLetters);
+        return response;
+    }
+
+    // Identifies this node in job leases; other services lease their own work under the same id
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.msbcgroup.mockinterview.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an AI call could not get a slot or rate-limit token before its queue deadline.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LlmCapacityException extends RuntimeException {
+
+    public LlmCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,377 @@
+package com.msbcgroup.mockinterview.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Single entry point for every AI model call. Each use case gets its own concurrency pool
+ * (so a burst of resume uploads can't starve grading), all of them share one token bucket
+ * sized to the provider quota, and callers wait at most a bounded time for both.
+ * {@link #callHedged} adds a per-use-case deadline and, for slow calls, a hedged second request.
+ */
+@Service
+public class LlmGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmGovernor.class);
+
+    @Value("${llm.governor.pool.question-generation:4}")
+    private int questionGenerationPool;
+
+    @Value("${llm.governor.pool.resume-parsing:2}")
+    private int resumeParsingPool;
+
+    @Value("${llm.governor.pool.grading:6}")
+    private int gradingPool;
+
+    // Bulk re-scoring gets its own small pool so a backfill never holds up live grading
+    @Value("${llm.governor.pool.rescoring:2}")
+    private int rescoringPool;
+
+    @Value("${llm.governor.requests-per-minute:60}")
+    private int requestsPerMinute;
+
+    @Value("${llm.governor.burst:10}")
+    private int burst;
+
+    @Value("${llm.governor.max-queue-wait-seconds:60}")
+    private long maxQueueWaitSeconds;
+
+    @Value("${llm.governor.deadline-seconds.question-generation:180}")
+    private long questionGenerationDeadlineSeconds;
+
+    @Value("${llm.governor.deadline-seconds.resume-parsing:60}")
+    private long resumeParsingDeadlineSeconds;
+
+    @Value("${llm.governor.deadline-seconds.grading:90}")
+    private long gradingDeadlineSeconds;
+
+    @Value("${llm.governor.deadline-seconds.rescoring:120}")
+    private long rescoringDeadlineSeconds;
+
+    @Value("${llm.governor.hedge.use-cases:GRADING,RESUME_PARSING}")
+    private Set<LlmUseCase> hedgedUseCases;
+
+    // Latency percentile of recent successful calls after which the hedge is fired
+    @Value("${llm.governor.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    // Used until enough samples exist, and as a floor so hedges never fire on ordinary calls
+    @Value("${llm.governor.hedge.initial-delay-ms:20000}")
+    private long hedgeInitialDelayMs;
+
+    @Value("${llm.governor.hedge.min-delay-ms:2000}")
+    private long hedgeMinDelayMs;
+
+    private final Map<LlmUseCase, Semaphore> pools = new EnumMap<>(LlmUseCase.class);
+    private final Map<LlmUseCase, Duration> deadlines = new EnumMap<>(LlmUseCase.class);
+    private final Map<LlmUseCase, UseCaseMetrics> metrics = new EnumMap<>(LlmUseCase.class);
+    private TokenBucketRateLimiter rateLimiter;
+
+    // Model calls block on HTTP, so each attempt gets its own virtual thread
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void init() {
+        pools.put(LlmUseCase.QUESTION_GENERATION, new Semaphore(questionGenerationPool, true));
+        pools.put(LlmUseCase.RESUME_PARSING, new Semaphore(resumeParsingPool, true));
+        pools.put(LlmUseCase.GRADING, new Semaphore(gradingPool, true));
+        pools.put(LlmUseCase.RESCORING, new Semaphore(rescoringPool, true));
+        deadlines.put(LlmUseCase.QUESTION_GENERATION, Duration.ofSeconds(questionGenerationDeadlineSeconds));
+        deadlines.put(LlmUseCase.RESUME_PARSING, Duration.ofSeconds(resumeParsingDeadlineSeconds));
+        deadlines.put(LlmUseCase.GRADING, Duration.ofSeconds(gradingDeadlineSeconds));
+        deadlines.put(LlmUseCase.RESCORING, Duration.ofSeconds(rescoringDeadlineSeconds));
+        for (LlmUseCase useCase : LlmUseCase.values()) {
+            metrics.put(useCase, new UseCaseMetrics());
+        }
+        rateLimiter = new TokenBucketRateLimiter(requestsPerMinute, burst);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    public Duration deadlineFor(LlmUseCase useCase) {
+        return deadlines.get(useCase);
+    }
+
+    /**
+     * Runs {@code call} once a slot in the use case's pool and a rate-limit token are available.
+     * Throws {@link LlmCapacityException} if neither arrives within the queue deadline.
+     */
+    public <T> T call(LlmUseCase useCase, Supplier<T> call) {
+        return invoke(useCase, call, TimeUnit.SECONDS.toNanos(maxQueueWaitSeconds));
+    }
+
+    /**
+     * Like {@link #call}, but the whole operation (queueing included) must finish within the
+     * use case's deadline. If the first attempt has not produced a valid result by the hedge
+     * delay, a second identical request is sent and whichever valid response arrives first wins.
+     * A hedge is only sent if a pool slot is free right away, so hedging never queues behind real work.
+     */
+    public String callHedged(LlmUseCase useCase, Supplier<String> call, Predicate<String> isValid) {
+        UseCaseMetrics m = metrics.get(useCase);
+        long deadline = System.nanoTime() + deadlines.get(useCase).toNanos();
+        boolean hedgingEnabled = hedgedUseCases.contains(useCase);
+        HedgedCall hedged = new HedgedCall(useCase, call, isValid, hedgingEnabled);
+
+        m.hedgeableCalls.incrementAndGet();
+        hedged.launch(false, TimeUnit.SECONDS.toNanos(maxQueueWaitSeconds));
+        try {
+            if (hedgingEnabled) {
+                long hedgeDelay = Math.min(hedgeDelayNanos(useCase), Math.max(0, deadline - System.nanoTime()));
+                try {
+                    return hedged.result.get(hedgeDelay, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    hedged.launch(true, 0);
+                }
+            }
+            return hedged.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            m.deadlineExceeded.incrementAndGet();
+            hedged.cancel();
+            throw new LlmTimeoutException("AI service did not respond within " + deadlines.get(useCase).toSeconds() + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hedged.cancel();
+            throw new LlmCapacityException("Interrupted while waiting for the AI service.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("AI call failed", e.getCause());
+        }
+    }
+
+    private long hedgeDelayNanos(LlmUseCase useCase) {
+        long percentileMs = metrics.get(useCase).latencies.percentileMs(hedgePercentile);
+        long delayMs = percentileMs > 0 ? Math.max(percentileMs, hedgeMinDelayMs) : hedgeInitialDelayMs;
+        return TimeUnit.MILLISECONDS.toNanos(delayMs);
+    }
+
+    private <T> T invoke(LlmUseCase useCase, Supplier<T> call, long maxWaitNanos) {
+        Semaphore pool = pools.get(useCase);
+        UseCaseMetrics m = metrics.get(useCase);
+        long queuedAt = System.nanoTime();
+        long deadline = queuedAt + maxWaitNanos;
+
+        m.queued.incrementAndGet();
+        boolean acquired = false;
+        try {
+            acquired = maxWaitNanos > 0
+                    ? pool.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)
+                    : pool.tryAcquire();
+            if (acquired && !rateLimiter.acquire(deadline)) {
+                pool.release();
+                acquired = false;
+            }
+        } catch (InterruptedException e) {
+            if (acquired) {
+                pool.release();
+            }
+            Thread.currentThread().interrupt();
+            throw new LlmCapacityException("Interrupted while waiting for the AI service.");
+        } finally {
+            m.queued.decrementAndGet();
+            m.recordWait(System.nanoTime() - queuedAt);
+        }
+
+        if (!acquired) {
+            m.rejected.incrementAndGet();
+            logger.warn("AI call for {} rejected after waiting {} ms", useCase, (System.nanoTime() - queuedAt) / 1_000_000);
+            throw new LlmCapacityException("AI service is busy, please try again shortly.");
+        }
+
+        m.active.incrementAndGet();
+        long startedAt = System.nanoTime();
+        try {
+            T result = call.get();
+            m.completed.incrementAndGet();
+            m.latencies.record(System.nanoTime() - startedAt);
+            return result;
+        } catch (RuntimeException e) {
+            m.failed.incrementAndGet();
+            throw e;
+        } finally {
+            m.active.decrementAndGet();
+            pool.release();
+        }
+    }
+
+    /**
+     * One logical call with up to two attempts racing to complete {@link #result}.
+     */
+    private class HedgedCall {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicBoolean hedgeLaunched = new AtomicBoolean();
+        final AtomicBoolean winnerChosen = new AtomicBoolean();
+        final LlmUseCase useCase;
+        final Supplier<String> call;
+        final Predicate<String> isValid;
+        final boolean hedgingEnabled;
+
+        HedgedCall(LlmUseCase useCase, Supplier<String> call, Predicate<String> isValid, boolean hedgingEnabled) {
+            this.useCase = useCase;
+            this.call = call;
+            this.isValid = isValid;
+            this.hedgingEnabled = hedgingEnabled;
+        }
+
+        void launch(boolean hedge, long maxWaitNanos) {
+            UseCaseMetrics m = metrics.get(useCase);
+            if (result.isDone() || (hedge && !hedgeLaunched.compareAndSet(false, true))) {
+                return;
+            }
+            if (hedge) {
+                if (pools.get(useCase).availablePermits() == 0) {
+                    m.hedgesSkipped.incrementAndGet();
+                    return;
+                }
+                m.hedgesFired.incrementAndGet();
+            }
+
+            running.incrementAndGet();
+            Future<?> attempt = callExecutor.submit(() -> {
+                try {
+                    String response = invoke(useCase, call, maxWaitNanos);
+                    if (isValid.test(response)) {
+                        if (winnerChosen.compareAndSet(false, true)) {
+                            if (hedge) {
+                                m.hedgeWins.incrementAndGet();
+                            }
+                            result.complete(response);
+                            // The other attempt would otherwise hold its pool slot until the model answers
+                            cancel();
+                        }
+                        return;
+                    }
+                    onFailure(hedge, new RuntimeException("AI service returned an unusable response"));
+                } catch (RuntimeException e) {
+                    onFailure(hedge, e);
+                }
+            });
+            attempts.add(attempt);
+            // A winner that finished while this was being submitted has already cancelled the others
+            if (result.isDone()) {
+                attempt.cancel(true);
+            }
+        }
+
+        private void onFailure(boolean hedge, RuntimeException error) {
+            if (running.decrementAndGet() > 0 || result.isDone()) {
+                return;
+            }
+            // The only attempt so far failed fast: spend the hedge as an immediate second try
+            if (!hedge && hedgingEnabled && !hedgeLaunched.get()) {
+                launch(true, 0);
+                if (running.get() > 0) {
+                    return;
+                }
+            }
+            result.completeExceptionally(error);
+        }
+
+        // Interrupts attempts still waiting or in flight, so their slots are released right away
+        void cancel() {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (LlmUseCase useCase : LlmUseCase.values()) {
+            UseCaseMetrics m = metrics.get(useCase);
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("queueDepth", m.queued.get());
+            data.put("active", m.active.get());
+            data.put("availableSlots", pools.get(useCase).availablePermits());
+            data.put("completed", m.completed.get());
+            data.put("failed", m.failed.get());
+            data.put("rejected", m.rejected.get());
+            long waits = m.waits.get();
+            data.put("avgWaitMs", waits > 0 ? m.totalWaitNanos.get() / waits / 1_000_000 : 0);
+            data.put("maxWaitMs", m.maxWaitNanos.get() / 1_000_000);
+            data.put("latencyP50Ms", m.latencies.percentileMs(0.50));
+            data.put("latencyP95Ms", m.latencies.percentileMs(0.95));
+            data.put("latencyP99Ms", m.latencies.percentileMs(0.99));
+            data.put("deadlineSeconds", deadlines.get(useCase).toSeconds());
+            data.put("deadlineExceeded", m.deadlineExceeded.get());
+            long hedgeable = m.hedgeableCalls.get();
+            long fired = m.hedgesFired.get();
+            data.put("hedgesFired", fired);
+            data.put("hedgeWins", m.hedgeWins.get());
+            data.put("hedgesSkipped", m.hedgesSkipped.get());
+            data.put("hedgeRate", hedgeable > 0 ? (double) fired / hedgeable : 0.0);
+            data.put("hedgeWinRate", fired > 0 ? (double) m.hedgeWins.get() / fired : 0.0);
+            snapshot.put(useCase.name(), data);
+        }
+        return snapshot;
+    }
+
+    private static class UseCaseMetrics {
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong waits = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final AtomicLong hedgeableCalls = new AtomicLong();
+        final AtomicLong hedgesFired = new AtomicLong();
+        final AtomicLong hedgeWins = new AtomicLong();
+        final AtomicLong hedgesSkipped = new AtomicLong();
+        final AtomicLong deadlineExceeded = new AtomicLong();
+        final LatencyWindow latencies = new LatencyWindow(200);
+
+        void recordWait(long nanos) {
+            waits.incrementAndGet();
+            totalWaitNanos.addAndGet(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    // Latencies of the most recent successful calls, for the hedge delay percentile
+    private static class LatencyWindow {
+        private static final int MIN_SAMPLES = 20;
+        private final long[] samples;
+        private int next = 0;
+        private int size = 0;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        // 0 until there are enough samples to be meaningful
+        synchronized long percentileMs(double percentile) {
+            if (size < MIN_SAMPLES) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.msbcgroup.mockinterview.model.InterviewSummary;
+import com.msbcgroup.mockinterview.model.Question;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared parser for JSON produced by the AI model. Markdown fences and prose before the
+ * JSON are skipped by locating the first '{' or '[' and starting the streaming parser there
+ * (no regex passes or substring copies); anything after the JSON value is never read.
+ * Results are bound straight from the token stream, without building a JsonNode tree first.
+ */
+@Component
+public class LlmJsonParser {
+
+    private static final TypeReference<List<Question>> QUESTION_LIST = new TypeReference<>() {};
+
+    // Models sometimes copy the trailing comma from the prompt's JSON template
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    /**
+     * Reads questions from either {"questions": [...]} or a bare array. Returns an empty list
+     * when the response holds no question array.
+     */
+    public List<Question> parseQuestions(String response) throws IOException {
+        try (JsonParser parser = openAtJson(response)) {
+            if (parser == null) {
+                return new ArrayList<>();
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                return mapper.readValue(parser, QUESTION_LIST);
+            }
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("questions".equals(field) && value == JsonToken.START_ARRAY) {
+                        return mapper.readValue(parser, QUESTION_LIST);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            return new ArrayList<>();
+        }
+    }
+
+    public Question parseQuestion(String json) throws IOException {
+        return mapper.readValue(json, Question.class);
+    }
+
+    /**
+     * Reads the grading response into an InterviewSummary, using the same defaults
+     * as before for missing or null fields.
+     */
+    public InterviewSummary parseSummary(String response) throws IOException {
+        try (JsonParser parser = openAtJson(response)) {
+            if (parser == null || parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("No JSON object in AI response");
+            }
+            return readSummary(parser).summary();
+        }
+    }
+
+    /**
+     * Reads a micro-batched grading response, {"results": [{"candidate": "C1", "score": ..., ...}, ...]},
+     * into summaries keyed by candidate label. Entries without a label are dropped, so callers
+     * should treat any label missing from the map as ungraded.
+     */
+    public Map<String, InterviewSummary> parseSummaryBatch(String response) throws IOException {
+        try (JsonParser parser = openAtJson(response)) {
+            if (parser == null) {
+                throw new IOException("No JSON in AI response");
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                        token = value;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("No results array in AI response");
+            }
+
+            Map<String, InterviewSummary> summaries = new LinkedHashMap<>();
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                LabelledSummary entry = readSummary(parser);
+                if (entry.candidate() != null) {
+                    summaries.put(entry.candidate(), entry.summary());
+                }
+            }
+            return summaries;
+        }
+    }
+
+    private record LabelledSummary(String candidate, InterviewSummary summary) {}
+
+    // Reads one summary object; the parser must be on its START_OBJECT and is left on its END_OBJECT
+    private LabelledSummary readSummary(JsonParser parser) throws IOException {
+        String candidate = null;
+        int score = 0;
+        String summary = null;
+        String strengths = null;
+        String improvements = null;
+        String recommendation = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "candidate" -> candidate = parser.getValueAsString();
+                case "score" -> score = parser.getValueAsInt(0);
+                case "summary" -> summary = parser.getValueAsString();
+                case "strengths" -> strengths = parser.getValueAsString();
+                case "improvements" -> improvements = parser.getValueAsString();
+                case "recommendation" -> recommendation = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new LabelledSummary(candidate, new InterviewSummary(score,
+                summary != null ? summary : "No summary available",
+                strengths != null ? strengths : "No strengths identified",
+                improvements != null ? improvements : "No improvements identified",
+                recommendation != null ? recommendation : "No recommendation available"));
+    }
+
+    public JsonNode parseTree(String response) throws IOException {
+        try (JsonParser parser = openAtJson(response)) {
+            if (parser == null) {
+                throw new IOException("No JSON in AI response");
+            }
+            return mapper.readTree(parser);
+        }
+    }
+
+    // Validity checks used to accept or reject a (possibly hedged) model response
+
+    public boolean isValidQuestions(String response) {
+        try {
+            return !parseQuestions(response).isEmpty();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public boolean isValidSummary(String response) {
+        try {
+            parseSummary(response);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public boolean isValidSummaryBatch(String response) {
+        try {
+            return !parseSummaryBatch(response).isEmpty();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public boolean isValidJson(String response) {
+        try {
+            parseTree(response);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    // Positions a parser on the first '{' or '[' of the response, or returns null if there is none
+    private JsonParser openAtJson(String response) throws IOException {
+        if (response == null) {
+            return null;
+        }
+        int start = -1;
+        for (int i = 0; i < response.length(); i++) {
+            char c = response.charAt(i);
+            if (c == '{' || c == '[') {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            return null;
+        }
+        StringReader reader = new StringReader(response);
+        reader.skip(start);
+        return mapper.getFactory().createParser(reader);
+    }
+}
@@ -0,0 +1,15 @@
+package com.msbcgroup.mockinterview.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an AI call (hedges included) did not produce a valid result before its deadline.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class LlmTimeoutException extends RuntimeException {
+
+    public LlmTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.msbcgroup.mockinterview.service;
+
+public enum LlmUseCase {
+    QUESTION_GENERATION,
+    RESUME_PARSING,
+    GRADING,
+    RESCORING
+}
@@ -0,0 +1,76 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.Question;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scores MCQs against the answer keys captured at generation time, without the AI model.
+ * Candidates submit the full option text ("B) ..."); keys are usually just the letter.
+ */
+public final class McqScorer {
+
+    private static final Pattern OPTION_LETTER = Pattern.compile("^\\s*\\(?([A-Za-z])(?:[).:]|\\s*$)");
+
+    public record Result(int correct, int total) {}
+
+    private McqScorer() {
+    }
+
+    // MCQs that carry an answer key; anything else still needs the model
+    public static boolean isKeyed(Question question) {
+        return "MCQ".equalsIgnoreCase(question.getType())
+                && question.getAnswer() != null && !question.getAnswer().isBlank();
+    }
+
+    /**
+     * Scores every keyed MCQ in {@code questions}. Answers are looked up by position,
+     * using the "answer0", "answer1", ... keys the exam page submits.
+     */
+    public static Result score(List<Question> questions, Map<String, String> answers) {
+        int correct = 0;
+        int total = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            if (!isKeyed(question)) {
+                continue;
+            }
+            total++;
+            if (isCorrect(question.getAnswer(), answers.get("answer" + i))) {
+                correct++;
+            }
+        }
+        return new Result(correct, total);
+    }
+
+    static boolean isCorrect(String key, String answer) {
+        if (answer == null || answer.isBlank()) {
+            return false;
+        }
+        String keyLetter = optionLetter(key);
+        String answerLetter = optionLetter(answer);
+        if (keyLetter != null && answerLetter != null) {
+            return keyLetter.equals(answerLetter);
+        }
+        // Key given as option text rather than a letter
+        return normalize(stripLetter(key)).equals(normalize(stripLetter(answer)));
+    }
+
+    private static String optionLetter(String value) {
+        Matcher matcher = OPTION_LETTER.matcher(value);
+        return matcher.find() ? matcher.group(1).toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String stripLetter(String value) {
+        Matcher matcher = OPTION_LETTER.matcher(value);
+        return matcher.find() ? value.substring(matcher.end()) : value;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
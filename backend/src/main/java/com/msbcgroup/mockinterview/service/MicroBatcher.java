@@ -0,0 +1,92 @@
+package com.msbcgroup.mockinterview.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Collects items submitted from many threads into batches of up to {@code maxSize}, flushing a
+ * partial batch once its first item has waited {@code maxWaitMs}. Each batch is handed to
+ * {@code batchCall} on a virtual thread; its result list lines up with the batch, and a null
+ * entry (or a short list) completes that item's future with null so the caller can fall back.
+ */
+final class MicroBatcher<T, R> {
+
+    private record Entry<T, R>(T item, CompletableFuture<R> future) {}
+
+    private final int maxSize;
+    private final long maxWaitMs;
+    private final Function<List<T>, List<R>> batchCall;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "micro-batch-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService runner = Executors.newVirtualThreadPerTaskExecutor();
+
+    private List<Entry<T, R>> pending = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+
+    MicroBatcher(int maxSize, long maxWaitMs, Function<List<T>, List<R>> batchCall) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWaitMs = maxWaitMs;
+        this.batchCall = batchCall;
+    }
+
+    CompletableFuture<R> submit(T item) {
+        Entry<T, R> entry = new Entry<>(item, new CompletableFuture<>());
+        List<Entry<T, R>> full = null;
+        synchronized (this) {
+            pending.add(entry);
+            if (pending.size() >= maxSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                flushTask = timer.schedule(this::flushDue, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return entry.future();
+    }
+
+    private void flushDue() {
+        List<Entry<T, R>> batch;
+        synchronized (this) {
+            batch = pending.isEmpty() ? null : drain();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private List<Entry<T, R>> drain() {
+        List<Entry<T, R>> batch = pending;
+        pending = new ArrayList<>();
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<Entry<T, R>> batch) {
+        runner.execute(() -> {
+            try {
+                List<R> results = batchCall.apply(batch.stream().map(Entry::item).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future().complete(results != null && i < results.size() ? results.get(i) : null);
+                }
+            } catch (Throwable t) {
+                batch.forEach(entry -> entry.future().completeExceptionally(t));
+            }
+        });
+    }
+
+    void shutdown() {
+        timer.shutdownNow();
+        runner.shutdownNow();
+    }
+}
@@ -0,0 +1,289 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import com.msbcgroup.mockinterview.repository.MonitoringEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind stage for monitoring events. Request and STOMP threads enqueue into a bounded
+ * lock-free queue and return; one flusher thread stores what has queued as a JDBC batch once
+ * flush-size events are waiting or flush-interval-ms has passed. When the queue is full, what
+ * happens depends on the event type: DROP types are discarded at once, WAIT types wait briefly for
+ * room and are discarded if none frees up, and WRITE_THROUGH types wait the same way and are then
+ * stored on the caller's thread, so they are never lost (INTERVIEW_TERMINATED is always one of
+ * them, as are closed coalesced intervals). A batch that fails to store is retried, which backs the queue up into those policies
+ * rather than losing it. Shutdown stops intake and drains the queue.
+ */
+@Service
+public class MonitoringEventBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringEventBuffer.class);
+
+    public enum OverflowPolicy { DROP, WAIT, WRITE_THROUGH }
+
+    @Autowired
+    private MonitoringEventRepository eventRepository;
+
+    @Value("${monitoring.buffer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitoring.buffer.capacity:10000}")
+    private int capacity;
+
+    @Value("${monitoring.buffer.flush-size:500}")
+    private int flushSize;
+
+    @Value("${monitoring.buffer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    // How long a WAIT or WRITE_THROUGH event waits for room in a full queue
+    @Value("${monitoring.buffer.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${monitoring.buffer.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${monitoring.buffer.drain-timeout-seconds:10}")
+    private long drainTimeoutSeconds;
+
+    @Value("${monitoring.buffer.drop-types:FACE_DETECTED,VOICE_CALIBRATION_COMPLETE}")
+    private Set<EventType> dropTypes;
+
+    @Value("${monitoring.buffer.write-through-types:INTERVIEW_START,INTERVIEW_END,INTERVIEW_TERMINATED}")
+    private Set<EventType> writeThroughTypes;
+
+    private final Map<EventType, OverflowPolicy> policies = new EnumMap<>(EventType.class);
+
+    // ConcurrentLinkedQueue is lock-free but unbounded; producers reserve a slot in size first
+    private final ConcurrentLinkedQueue<MonitoringEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // The batch being stored, kept across a failed flush so it is retried before newer events
+    private final List<MonitoringEvent> batch = new ArrayList<>();
+
+    private volatile boolean accepting = true;
+    private volatile Thread flusher;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong writtenThrough = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicLongArray dropped = new AtomicLongArray(EventType.values().length);
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile int lastFlushSize;
+
+    @PostConstruct
+    public void start() {
+        for (EventType type : EventType.values()) {
+            policies.put(type, OverflowPolicy.WAIT);
+        }
+        dropTypes.forEach(type -> policies.put(type, OverflowPolicy.DROP));
+        writeThroughTypes.forEach(type -> policies.put(type, OverflowPolicy.WRITE_THROUGH));
+        // A terminated interview must reach the reviewer whatever the configuration says
+        policies.put(EventType.INTERVIEW_TERMINATED, OverflowPolicy.WRITE_THROUGH);
+
+        if (enabled) {
+            flusher = Thread.ofPlatform().name("monitoring-flush").start(this::runFlusher);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an event for storage, or stores it directly when it is write-through and the queue
+     * stays full. Returns false when the event was dropped.
+     */
+    public boolean offer(MonitoringEvent event) {
+        return offer(event, false);
+    }
+
+    /**
+     * As {@link #offer(MonitoringEvent)}; a closed coalesced interval stands for many events the
+     * candidate was already told were logged, so it is always write-through.
+     */
+    public boolean offer(MonitoringEvent event, boolean interval) {
+        OverflowPolicy policy = interval ? OverflowPolicy.WRITE_THROUGH : policies.get(event.getEventType());
+        if (accepting && tryEnqueue(event)) {
+            return true;
+        }
+        if (accepting && policy != OverflowPolicy.DROP) {
+            waited.incrementAndGet();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+            while (accepting && System.nanoTime() < deadline) {
+                LockSupport.unpark(flusher);
+                LockSupport.parkNanos(100_000);
+                if (tryEnqueue(event)) {
+                    return true;
+                }
+            }
+        }
+        if (policy == OverflowPolicy.WRITE_THROUGH) {
+            eventRepository.save(event);
+            writtenThrough.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet(event.getEventType().ordinal());
+        return false;
+    }
+
+    private boolean tryEnqueue(MonitoringEvent event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        queue.offer(event);
+        accepted.incrementAndGet();
+        if (current + 1 >= flushSize) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    private void runFlusher() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        long lastFlush = System.nanoTime();
+        while (accepting || size.get() > 0) {
+            long waitNanos = lastFlush + intervalNanos - System.nanoTime();
+            if (accepting && size.get() < flushSize && waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+                continue;
+            }
+            lastFlush = System.nanoTime();
+            if (!flushOnce()) {
+                if (!accepting) {
+                    // Shutting down with the database failing; what is left is reported by drain()
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryBackoffMs));
+            }
+        }
+    }
+
+    /**
+     * Stores up to flush-size queued events as one batch. A failed batch is kept and retried first
+     * on the next call. Only ever called from one thread at a time.
+     */
+    synchronized boolean flushOnce() {
+        MonitoringEvent event;
+        while (batch.size() < flushSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        try {
+            eventRepository.saveAll(batch);
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            logger.warn("Could not store {} buffered monitoring events, will retry", batch.size(), e);
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        flushes.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastFlushNanos = elapsed;
+        lastFlushSize = batch.size();
+        stored.addAndGet(batch.size());
+        // Slots are released only once the events are stored, so a failing database fills the queue
+        size.addAndGet(-batch.size());
+        batch.clear();
+        return true;
+    }
+
+    /**
+     * Stores what is queued right now on the calling thread instead of waiting for the flusher.
+     * Returns false if a batch could not be stored; the flusher retries it.
+     */
+    public boolean flushQueued() {
+        int batches = size.get() / flushSize + 1;
+        for (int i = 0; i < batches; i++) {
+            if (!flushOnce()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void drain() {
+        accepting = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(drainTimeoutSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            // No flusher thread was started, so drain on this one
+            boolean ok = true;
+            while (ok && size.get() > 0) {
+                ok = flushOnce();
+            }
+        }
+        if (size.get() > 0) {
+            logger.error("Shut down with {} monitoring events not stored", size.get());
+        } else {
+            logger.info("Monitoring event buffer drained, {} events stored", stored.get());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("queueDepth", size.get());
+        metrics.put("capacity", capacity);
+        metrics.put("accepted", accepted.get());
+        metrics.put("stored", stored.get());
+        metrics.put("writtenThrough", writtenThrough.get());
+        metrics.put("waitedForRoom", waited.get());
+        Map<String, Long> drops = new LinkedHashMap<>();
+        long totalDropped = 0;
+        for (EventType type : EventType.values()) {
+            long count = dropped.get(type.ordinal());
+            if (count > 0) {
+                drops.put(type.name(), count);
+                totalDropped += count;
+            }
+        }
+        metrics.put("dropped", totalDropped);
+        metrics.put("droppedByType", drops);
+        long flushCount = flushes.get();
+        metrics.put("flushes", flushCount);
+        metrics.put("failedFlushes", failedFlushes.get());
+        metrics.put("lastFlushSize", lastFlushSize);
+        metrics.put("lastFlushMs", lastFlushNanos / 1_000_000.0);
+        metrics.put("avgFlushMs", flushCount > 0 ? totalFlushNanos.get() / flushCount / 1_000_000.0 : 0.0);
+        metrics.put("maxFlushMs", maxFlushNanos.get() / 1_000_000.0);
+        metrics.put("policies", policies);
+        return metrics;
+    }
+}
@@ -0,0 +1,120 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Folds runs of consecutive same-type events in a session into one interval row (first and last
+ * timestamp plus the number of occurrences), so a candidate looking away for half a minute is one
+ * row instead of dozens. Each session has at most one open interval. It closes, and becomes ready
+ * to store, when the session sends an event of another type, when the next event comes more than
+ * max-gap-seconds after the last, when it has spanned max-interval-seconds, or when it goes idle.
+ * Types not in monitoring.coalesce.types are always stored one row per event.
+ */
+@Service
+public class MonitoringEventCoalescer {
+
+    @Value("${monitoring.coalesce.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitoring.coalesce.types:FACE_NOT_DETECTED,MULTIPLE_FACES,FACE_DETECTED,UNKNOWN_VOICE_DETECTED,MULTIPLE_VOICES_DETECTED}")
+    private Set<EventType> coalescedTypes;
+
+    @Value("${monitoring.coalesce.max-gap-seconds:10}")
+    private long maxGapSeconds;
+
+    // Bounds how long an interval stays in memory only, and so what a crash can lose
+    @Value("${monitoring.coalesce.max-interval-seconds:120}")
+    private long maxIntervalSeconds;
+
+    // Open interval per session; only replaced or extended inside compute, so a close can't race an extend
+    private final ConcurrentHashMap<String, MonitoringEvent> open = new ConcurrentHashMap<>();
+
+    /**
+     * Takes an incoming event and returns the rows that are now ready to store, oldest first: an
+     * interval the event closed, and the event itself when its type is not coalesced. Empty when
+     * the event extended or opened an interval.
+     */
+    public List<MonitoringEvent> accept(MonitoringEvent event) {
+        if (!enabled) {
+            return List.of(event);
+        }
+        boolean coalesced = coalescedTypes.contains(event.getEventType());
+        List<MonitoringEvent> ready = new ArrayList<>(2);
+        open.compute(event.getSessionId(), (sessionId, current) -> {
+            if (current != null && coalesced && continues(current, event)) {
+                current.setOccurrences(current.getOccurrences() + 1);
+                current.setEndedAt(event.getTimestamp());
+                return current;
+            }
+            if (current != null) {
+                ready.add(current);
+            }
+            return coalesced ? event : null;
+        });
+        if (!coalesced) {
+            ready.add(event);
+        }
+        return ready;
+    }
+
+    // Whether a row this coalescer returned is an interval, which may stand for many events
+    public boolean isInterval(MonitoringEvent row) {
+        return enabled && coalescedTypes.contains(row.getEventType());
+    }
+
+    private boolean continues(MonitoringEvent interval, MonitoringEvent event) {
+        return interval.getEventType() == event.getEventType()
+                && !event.getTimestamp().isAfter(interval.getEndedAt().plusSeconds(maxGapSeconds))
+                && !event.getTimestamp().isAfter(interval.getTimestamp().plusSeconds(maxIntervalSeconds));
+    }
+
+    /**
+     * Closes intervals whose last event is more than max-gap-seconds old, or that have reached
+     * max-interval-seconds, and returns them.
+     */
+    public List<MonitoringEvent> closeIdle(LocalDateTime now) {
+        List<MonitoringEvent> closed = new ArrayList<>();
+        for (String sessionId : open.keySet()) {
+            open.computeIfPresent(sessionId, (key, interval) -> {
+                if (now.isAfter(interval.getEndedAt().plusSeconds(maxGapSeconds))
+                        || now.isAfter(interval.getTimestamp().plusSeconds(maxIntervalSeconds))) {
+                    closed.add(interval);
+                    return null;
+                }
+                return interval;
+            });
+        }
+        return closed;
+    }
+
+    // Closes the session's open interval, e.g. when it is submitted for grading
+    public List<MonitoringEvent> closeSession(String sessionId) {
+        MonitoringEvent interval = open.remove(sessionId);
+        return interval != null ? List.of(interval) : List.of();
+    }
+
+    public List<MonitoringEvent> closeAll() {
+        List<MonitoringEvent> closed = new ArrayList<>();
+        for (String sessionId : open.keySet()) {
+            closed.addAll(closeSession(sessionId));
+        }
+        return closed;
+    }
+
+    public int getOpenIntervals() {
+        return open.size();
+    }
+
+    // Length of an interval row in whole seconds
+    public static long durationSeconds(MonitoringEvent interval) {
+        return Duration.between(interval.getTimestamp(), interval.getEndedAt()).getSeconds();
+    }
+}
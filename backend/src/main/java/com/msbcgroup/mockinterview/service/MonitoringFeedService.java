@@ -0,0 +1,219 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live monitoring events for HR over Server-Sent Events. Each subscriber picks the sessions and
+ * event types it wants, and only matching events are queued for it. Events are not sent one by
+ * one: within each flush interval, events of the same session and type are folded into one entry
+ * with a count and first/last time, so a burst is a single update. A subscriber's queue holds at
+ * most buffer-size entries; past that, new entries are counted as dropped and reported to it.
+ * Sends run off the ingestion path, one at a time per subscriber, so a slow browser only delays
+ * its own feed. The feed covers events ingested on this node.
+ */
+@Service
+public class MonitoringFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringFeedService.class);
+
+    @Autowired
+    @Qualifier("monitoringFeedExecutor")
+    private TaskExecutor senderExecutor;
+
+    @Value("${monitoring.feed.max-subscribers:50}")
+    private int maxSubscribers;
+
+    // Distinct session/type entries a subscriber can have waiting
+    @Value("${monitoring.feed.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${monitoring.feed.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${monitoring.feed.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    // Events of one session and type that arrived within a flush interval
+    static final class FeedEntry {
+        final String sessionId;
+        final String candidateEmail;
+        final EventType eventType;
+        String description;
+        final LocalDateTime firstAt;
+        LocalDateTime lastAt;
+        int count = 1;
+
+        FeedEntry(MonitoringEvent event) {
+            this.sessionId = event.getSessionId();
+            this.candidateEmail = event.getCandidateEmail();
+            this.eventType = event.getEventType();
+            this.description = event.getDescription();
+            this.firstAt = event.getTimestamp();
+            this.lastAt = event.getTimestamp();
+        }
+
+        Map<String, Object> toMessage() {
+            Map<String, Object> message = new HashMap<>();
+            message.put("sessionId", sessionId);
+            message.put("candidateEmail", candidateEmail);
+            message.put("eventType", eventType);
+            message.put("description", description);
+            message.put("firstAt", firstAt.toString());
+            message.put("lastAt", lastAt.toString());
+            message.put("count", count);
+            return message;
+        }
+    }
+
+    static final class Subscriber {
+        final String id;
+        final SseEmitter emitter;
+        final Set<String> sessionIds;
+        final Set<EventType> eventTypes;
+        final int bufferSize;
+        final AtomicBoolean sending = new AtomicBoolean();
+        private final LinkedHashMap<String, FeedEntry> pending = new LinkedHashMap<>();
+        private long dropped;
+        volatile long lastSentNanos = System.nanoTime();
+
+        Subscriber(String id, SseEmitter emitter, Set<String> sessionIds, Set<EventType> eventTypes, int bufferSize) {
+            this.id = id;
+            this.emitter = emitter;
+            this.sessionIds = sessionIds;
+            this.eventTypes = eventTypes;
+            this.bufferSize = bufferSize;
+        }
+
+        boolean matches(MonitoringEvent event) {
+            return (sessionIds.isEmpty() || sessionIds.contains(event.getSessionId()))
+                    && (eventTypes.isEmpty() || eventTypes.contains(event.getEventType()));
+        }
+
+        // Called on ingestion threads; only ever holds the lock for a map update
+        synchronized void offer(MonitoringEvent event) {
+            String key = event.getSessionId() + "|" + event.getEventType();
+            FeedEntry entry = pending.get(key);
+            if (entry != null) {
+                entry.count++;
+                entry.lastAt = event.getTimestamp();
+                entry.description = event.getDescription();
+            } else if (pending.size() < bufferSize) {
+                pending.put(key, new FeedEntry(event));
+            } else {
+                dropped++;
+            }
+        }
+
+        synchronized boolean hasPending() {
+            return !pending.isEmpty() || dropped > 0;
+        }
+
+        synchronized List<FeedEntry> takePending() {
+            List<FeedEntry> taken = new ArrayList<>(pending.values());
+            pending.clear();
+            return taken;
+        }
+
+        synchronized long takeDropped() {
+            long taken = dropped;
+            dropped = 0;
+            return taken;
+        }
+    }
+
+    /**
+     * Opens a feed of the given sessions and event types; an empty set means all of them.
+     */
+    public SseEmitter subscribe(Set<String> sessionIds, Set<EventType> eventTypes) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many live monitoring feeds are open");
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), emitter,
+                Set.copyOf(sessionIds), eventTypes.isEmpty() ? Set.of() : EnumSet.copyOf(eventTypes), bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscribers.remove(subscriber.id));
+        emitter.onError(e -> subscribers.remove(subscriber.id));
+        subscribers.put(subscriber.id, subscriber);
+
+        try {
+            emitter.send(SseEmitter.event().name("subscribed")
+                    .data(Map.of("sessionIds", subscriber.sessionIds, "eventTypes", subscriber.eventTypes)));
+        } catch (Exception e) {
+            subscribers.remove(subscriber.id);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // Called for every accepted event; never blocks on a subscriber's connection
+    public void publish(MonitoringEvent event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.feed.flush-interval-ms:500}")
+    public void dispatch() {
+        long heartbeatNanos = TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        for (Subscriber subscriber : subscribers.values()) {
+            boolean heartbeatDue = System.nanoTime() - subscriber.lastSentNanos >= heartbeatNanos;
+            if ((subscriber.hasPending() || heartbeatDue) && subscriber.sending.compareAndSet(false, true)) {
+                try {
+                    senderExecutor.execute(() -> send(subscriber));
+                } catch (Exception e) {
+                    subscriber.sending.set(false);
+                    logger.warn("Could not schedule live monitoring feed {}", subscriber.id, e);
+                }
+            }
+        }
+    }
+
+    void send(Subscriber subscriber) {
+        try {
+            List<FeedEntry> entries = subscriber.takePending();
+            long dropped = subscriber.takeDropped();
+            for (FeedEntry entry : entries) {
+                subscriber.emitter.send(SseEmitter.event().name("monitoring").data(entry.toMessage()));
+            }
+            if (dropped > 0) {
+                subscriber.emitter.send(SseEmitter.event().name("overflow").data(Map.of("dropped", dropped)));
+            }
+            if (entries.isEmpty() && dropped == 0) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.lastSentNanos = System.nanoTime();
+        } catch (Exception e) {
+            // The browser went away; EventSource reconnects with a new subscription if it is still open
+            subscribers.remove(subscriber.id);
+            subscriber.emitter.completeWithError(e);
+            logger.debug("Closed live monitoring feed {}: {}", subscriber.id, e.getMessage());
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+}
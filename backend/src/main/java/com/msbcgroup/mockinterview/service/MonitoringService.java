@@ -2,32 +2,256 @@ package com.msbcgroup.mockinterview.service;
 
 import com.msbcgroup.mockinterview.model.MonitoringEvent;
 import com.msbcgroup.mockinterview.repository.MonitoringEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 public class MonitoringService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringService.class);
+
     @Autowired
     private MonitoringEventRepository eventRepository;
 
-    public void logEvent(Map<String, Object> eventData) {
+    @Autowired
+    private EventCountService eventCountService;
+
+    @Autowired
+    private MonitoringEventBuffer eventBuffer;
+
+    @Autowired
+    private MonitoringEventCoalescer coalescer;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MonitoringFeedService feedService;
+
+    @Value("${monitoring.batch.max-events:1000}")
+    private int maxBatchEvents;
+
+    /**
+     * How a violation type showed up in a session: occurrences, the intervals (runs of consecutive
+     * events) they formed, and how long those lasted.
+     */
+    public record IntervalStats(long occurrences, long intervals, long totalSeconds, long longestSeconds) {
+
+        public String describe() {
+            if (intervals == 0) {
+                return occurrences + " time(s)";
+            }
+            return occurrences + " time(s) in " + intervals + " interval(s), " + totalSeconds
+                    + "s in total, longest " + longestSeconds + "s";
+        }
+    }
+
+    @PostConstruct
+    public void alignIdSequence() {
+        try {
+            eventRepository.alignIdSequence(MonitoringEvent.ID_BLOCK_SIZE);
+        } catch (Exception e) {
+            logger.warn("Could not align the monitoring event id sequence", e);
+        }
+    }
+
+    /**
+     * Passes the event through the coalescer and hands whatever is ready to the write-behind
+     * buffer (or stores it, when the buffer is off). Returns false when the buffer was full and the
+     * event's type is one that gets dropped; an interval the event closed is never dropped.
+     */
+    public boolean logEvent(Map<String, Object> eventData) {
+        MonitoringEvent event = toEvent(eventData);
+        if (!store(coalescer.accept(event)).isEmpty()) {
+            return false;
+        }
+        eventCountService.record(event.getSessionId(), event.getEventType());
+        broadcast(event);
+        return true;
+    }
+
+    /**
+     * Logs a batch of events; without the buffer the rows it produces are stored in one
+     * transaction as JDBC batch inserts. Events that fail validation are skipped and reported by
+     * their index in the batch, and events the full buffer dropped are counted.
+     */
+    public Map<String, Object> logEvents(List<Map<String, Object>> batch) {
+        if (batch.size() > maxBatchEvents) {
+            throw new IllegalArgumentException("A batch can hold at most " + maxBatchEvents + " events");
+        }
+
+        List<MonitoringEvent> events = new ArrayList<>(batch.size());
+        List<Map<String, Object>> rejected = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                events.add(toEvent(batch.get(i)));
+            } catch (RuntimeException e) {
+                Map<String, Object> rejection = new HashMap<>();
+                rejection.put("index", i);
+                rejection.put("error", e.getMessage());
+                rejected.add(rejection);
+            }
+        }
+
+        int dropped = 0;
+        if (!events.isEmpty()) {
+            List<MonitoringEvent> ready = new ArrayList<>();
+            for (MonitoringEvent event : events) {
+                ready.addAll(coalescer.accept(event));
+            }
+            List<MonitoringEvent> droppedRows = store(ready);
+            if (!droppedRows.isEmpty()) {
+                int before = events.size();
+                events.removeIf(droppedRows::contains);
+                dropped = before - events.size();
+            }
+            for (MonitoringEvent event : events) {
+                eventCountService.record(event.getSessionId(), event.getEventType());
+                broadcast(event);
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("accepted", events.size());
+        response.put("dropped", dropped);
+        response.put("rejected", rejected);
+        return response;
+    }
+
+    // Stores rows through the buffer, or directly in one transaction; returns the rows the full buffer dropped,
+    // which are never closed intervals, as those are written through
+    private List<MonitoringEvent> store(List<MonitoringEvent> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        if (!eventBuffer.isEnabled()) {
+            eventRepository.saveAll(rows);
+            return List.of();
+        }
+        List<MonitoringEvent> dropped = new ArrayList<>(0);
+        for (MonitoringEvent row : rows) {
+            if (!eventBuffer.offer(row, coalescer.isInterval(row))) {
+                dropped.add(row);
+            }
+        }
+        return dropped;
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.coalesce.sweep-interval-ms:1000}")
+    public void closeIdleIntervals() {
+        try {
+            store(coalescer.closeIdle(LocalDateTime.now()));
+        } catch (Exception e) {
+            logger.warn("Could not store closed monitoring intervals", e);
+        }
+    }
+
+    /**
+     * Stores the session's open interval and everything still buffered, so every event of the
+     * session is in the table, e.g. right before it is graded.
+     */
+    public void flushSession(String sessionId) {
+        store(coalescer.closeSession(sessionId));
+        if (eventBuffer.isEnabled()) {
+            eventBuffer.flushQueued();
+        }
+    }
+
+    // Runs before the buffer drains, which depends on nothing here
+    @PreDestroy
+    public void closeOpenIntervals() {
+        store(coalescer.closeAll());
+    }
+
+    /**
+     * Violation types seen in the session, with occurrences from the running counts and interval
+     * lengths from the stored rows.
+     */
+    public Map<MonitoringEvent.EventType, IntervalStats> getViolationStats(String sessionId) {
+        Map<MonitoringEvent.EventType, long[]> intervals = new EnumMap<>(MonitoringEvent.EventType.class);
+        for (Object[] row : eventRepository.summarizeIntervalsBySessionId(sessionId)) {
+            try {
+                intervals.put(MonitoringEvent.EventType.valueOf((String) row[0]), new long[]{
+                        ((Number) row[1]).longValue(), ((Number) row[2]).longValue(), ((Number) row[3]).longValue()});
+            } catch (IllegalArgumentException | NullPointerException e) {
+                // Rows with a type no longer in the enum
+            }
+        }
+
+        Map<MonitoringEvent.EventType, IntervalStats> stats = new EnumMap<>(MonitoringEvent.EventType.class);
+        eventCountService.getViolationCounts(sessionId).forEach((type, occurrences) -> {
+            long[] row = intervals.getOrDefault(type, new long[3]);
+            stats.put(type, new IntervalStats(occurrences, row[0], row[1], row[2]));
+        });
+        return stats;
+    }
+
+    // The session's stored interval rows, oldest first, for HR review
+    public List<Map<String, Object>> getIntervals(String sessionId) {
+        List<Map<String, Object>> intervals = new ArrayList<>();
+        for (MonitoringEvent row : eventRepository.findAllEventsBySessionId(sessionId)) {
+            Map<String, Object> interval = new HashMap<>();
+            interval.put("eventType", row.getEventType());
+            interval.put("description", row.getDescription());
+            interval.put("startedAt", row.getTimestamp());
+            interval.put("endedAt", row.getEndedAt());
+            interval.put("occurrences", row.getOccurrences());
+            interval.put("durationSeconds", MonitoringEventCoalescer.durationSeconds(row));
+            intervals.add(interval);
+        }
+        return intervals;
+    }
+
+    private MonitoringEvent toEvent(Map<String, Object> eventData) {
+        if (eventData == null) {
+            throw new RuntimeException("Event is empty");
+        }
         MonitoringEvent event = new MonitoringEvent();
-        
+
         event.setSessionId((String) eventData.get("sessionId"));
         event.setCandidateEmail((String) eventData.get("candidateEmail"));
         event.setDescription((String) eventData.getOrDefault("description", ""));
         event.setMetadata((String) eventData.getOrDefault("metadata", ""));
+        if (event.getSessionId() == null || event.getCandidateEmail() == null) {
+            throw new RuntimeException("sessionId and candidateEmail are required");
+        }
 
         String typeStr = (String) eventData.get("eventType");
         try {
             event.setEventType(MonitoringEvent.EventType.valueOf(typeStr));
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | NullPointerException e) {
             throw new RuntimeException("Invalid eventType: " + typeStr);
         }
+        return event;
+    }
 
-        eventRepository.save(event);
+    // Relays the event to HR subscribers: the live feeds, the all-sessions topic and the session's own topic
+    private void broadcast(MonitoringEvent event) {
+        feedService.publish(event);
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("id", event.getId());
+        message.put("sessionId", event.getSessionId());
+        message.put("candidateEmail", event.getCandidateEmail());
+        message.put("eventType", event.getEventType());
+        message.put("description", event.getDescription());
+        message.put("timestamp", event.getTimestamp().toString());
+        try {
+            messagingTemplate.convertAndSend("/topic/monitoring", message);
+            messagingTemplate.convertAndSend("/topic/monitoring/" + event.getSessionId(), message);
+        } catch (Exception e) {
+            // The event is stored; a missed live update is not worth failing the request for
+            logger.warn("Could not relay {} event for session {}", event.getEventType(), event.getSessionId(), e);
+        }
     }
-}
\ No newline at end of file
+}
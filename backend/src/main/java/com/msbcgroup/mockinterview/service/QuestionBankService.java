@@ -0,0 +1,281 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.controller.InterviewController;
+import com.msbcgroup.mockinterview.model.CandidateProfile;
+import com.msbcgroup.mockinterview.model.CodeTestCase;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.model.QuestionBankItem;
+import com.msbcgroup.mockinterview.repository.QuestionBankItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent pool of generated questions keyed by position, experience band and skills.
+ * Sessions are assembled from the pool and the AI service is only called on a miss.
+ */
+@Service
+public class QuestionBankService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionBankService.class);
+
+    @Autowired
+    private QuestionBankItemRepository bankRepository;
+
+    @Autowired
+    private InterviewController interviewController;
+
+    @Autowired
+    @Qualifier("questionGenerationExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${interview.bank.enabled:true}")
+    private boolean enabled;
+
+    @Value("${interview.questions.mcq-count:25}")
+    private int mcqCount;
+
+    @Value("${interview.questions.coding-count:5}")
+    private int codingCount;
+
+    // Refill in the background once fewer than this many full sessions remain in the pool
+    @Value("${interview.bank.refill-threshold-sessions:2}")
+    private int refillThresholdSessions;
+
+    @Value("${interview.bank.max-uses:5}")
+    private int maxUses;
+
+    @Value("${interview.bank.max-age-days:30}")
+    private int maxAgeDays;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Set<BankKey> refillsInFlight = ConcurrentHashMap.newKeySet();
+
+    public record BankKey(String position, String experienceBand, String skills) {
+        public String hash() {
+            String content = String.join("\u0000", position, experienceBand, skills);
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+
+    // A question set and the bank items it came from, whose usage has not been recorded yet
+    public record BankedQuestions(List<Question> questions, List<Long> itemIds) {}
+
+    public List<Question> assembleQuestions(CandidateProfile profile) {
+        return assembleQuestions(profile, null);
+    }
+
+    /**
+     * Assembles a question set for the profile. {@code onQuestion} is only called when the
+     * set has to be generated and the generator streams; bank hits return everything at once.
+     */
+    public List<Question> assembleQuestions(CandidateProfile profile, Consumer<Question> onQuestion) {
+        return assemble(profile, onQuestion, true).questions();
+    }
+
+    /**
+     * Assembles a question set like {@link #assembleQuestions} without counting it as used, for a
+     * set that may never reach a session. Pass the returned item ids to {@link #recordUsage} once
+     * it does.
+     */
+    public BankedQuestions previewQuestions(CandidateProfile profile) {
+        return assemble(profile, null, false);
+    }
+
+    public void recordUsage(List<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            // Items evicted in the meantime are simply not updated
+            bankRepository.recordUsage(itemIds, LocalDateTime.now());
+        }
+    }
+
+    private BankedQuestions assemble(CandidateProfile profile, Consumer<Question> onQuestion, boolean countUsage) {
+        if (!enabled) {
+            return new BankedQuestions(interviewController.generateQuestionsFromProfile(profile, onQuestion), List.of());
+        }
+
+        BankKey key = keyFor(profile);
+        List<QuestionBankItem> available = bankRepository.findByKeyHashAndUsageCountLessThan(key.hash(), maxUses);
+
+        List<QuestionBankItem> mcqs = pick(available, "MCQ", mcqCount);
+        List<QuestionBankItem> coding = pick(available, "Coding", codingCount);
+
+        if (mcqs.size() < mcqCount || coding.size() < codingCount) {
+            logger.info("Question bank miss for {}, generating fresh set", key);
+            List<Question> generated = interviewController.generateQuestionsFromProfile(profile, onQuestion);
+            // The first candidate receives the whole fresh set, so it enters the bank already used once
+            List<QuestionBankItem> stored = store(key, generated, countUsage ? 1 : 0);
+            return new BankedQuestions(generated, countUsage ? List.of() : idsOf(stored));
+        }
+
+        List<QuestionBankItem> selected = new ArrayList<>(mcqs);
+        selected.addAll(coding);
+        if (countUsage) {
+            LocalDateTime now = LocalDateTime.now();
+            for (QuestionBankItem item : selected) {
+                item.setUsageCount(item.getUsageCount() + 1);
+                item.setLastUsedAt(now);
+            }
+            bankRepository.saveAll(selected);
+        }
+
+        if (available.size() - selected.size() < (mcqCount + codingCount) * refillThresholdSessions) {
+            refillAsync(key, profile);
+        }
+
+        logger.info("Question bank hit for {}, assembled {} questions", key, selected.size());
+        return new BankedQuestions(toQuestions(selected), countUsage ? List.of() : idsOf(selected));
+    }
+
+    private static List<Long> idsOf(List<QuestionBankItem> items) {
+        return items.stream().map(QuestionBankItem::getId).filter(Objects::nonNull).toList();
+    }
+
+    public BankKey keyFor(CandidateProfile profile) {
+        String skills = String.join(",", normalizeSkills(profile.getSkills()));
+        // Fits the skillKey column; very long skill lists still key consistently on their prefix
+        if (skills.length() > 512) {
+            skills = skills.substring(0, 512);
+        }
+        return new BankKey(normalizePosition(profile.getPositionApplied()),
+                experienceBand(profile.getExperienceYears()), skills);
+    }
+
+    // Same bands the generation prompt uses to pick difficulty
+    public static String experienceBand(Integer years) {
+        int y = years != null ? years : 0;
+        if (y <= 1) {
+            return "BEGINNER";
+        }
+        return y <= 4 ? "INTERMEDIATE" : "ADVANCED";
+    }
+
+    public static String normalizePosition(String position) {
+        return position == null ? "" : position.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    public static List<String> normalizeSkills(String skills) {
+        if (skills == null || skills.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(skills.split("[,;|/\\n]"))
+                .map(s -> s.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "))
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    // Random order, but least-used items first so the pool wears evenly
+    private List<QuestionBankItem> pick(List<QuestionBankItem> available, String type, int count) {
+        List<QuestionBankItem> ofType = available.stream()
+                .filter(item -> type.equalsIgnoreCase(item.getQuestionType()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        Collections.shuffle(ofType);
+        ofType.sort(Comparator.comparing(QuestionBankItem::getUsageCount));
+        return ofType.subList(0, Math.min(count, ofType.size()));
+    }
+
+    private void refillAsync(BankKey key, CandidateProfile profile) {
+        if (!refillsInFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    store(key, interviewController.generateQuestionsFromProfile(profile), 0);
+                    logger.info("Refilled question bank for {}", key);
+                } catch (Exception e) {
+                    logger.warn("Question bank refill failed for {}", key, e);
+                } finally {
+                    refillsInFlight.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refillsInFlight.remove(key);
+        }
+    }
+
+    private List<QuestionBankItem> store(BankKey key, List<Question> questions, int initialUsage) {
+        LocalDateTime now = LocalDateTime.now();
+        List<QuestionBankItem> items = new ArrayList<>();
+        for (Question question : questions) {
+            QuestionBankItem item = new QuestionBankItem();
+            item.setPositionKey(key.position());
+            item.setExperienceBand(key.experienceBand());
+            item.setSkillKey(key.skills());
+            item.setKeyHash(key.hash());
+            item.setQuestionType(question.getType());
+            item.setQuestionText(question.getQuestion());
+            item.setCorrectAnswer(question.getAnswer());
+            item.setUsageCount(initialUsage);
+            item.setLastUsedAt(initialUsage > 0 ? now : null);
+            try {
+                item.setOptionsJson(question.getOptions() != null ? mapper.writeValueAsString(question.getOptions()) : null);
+                item.setTestCasesJson(question.getTestCases() != null ? mapper.writeValueAsString(question.getTestCases()) : null);
+            } catch (Exception e) {
+                continue;
+            }
+            items.add(item);
+        }
+        return bankRepository.saveAll(items);
+    }
+
+    private List<Question> toQuestions(List<QuestionBankItem> items) {
+        List<Question> questions = new ArrayList<>();
+        int index = 1;
+        for (QuestionBankItem item : items) {
+            List<String> options = null;
+            List<CodeTestCase> testCases = null;
+            try {
+                if (item.getOptionsJson() != null) {
+                    options = mapper.readValue(item.getOptionsJson(), new TypeReference<List<String>>() {});
+                }
+                if (item.getTestCasesJson() != null) {
+                    testCases = mapper.readValue(item.getTestCasesJson(), new TypeReference<List<CodeTestCase>>() {});
+                }
+            } catch (Exception e) {
+                logger.warn("Unreadable options or test cases on question bank item {}", item.getId());
+            }
+            Question question = new Question("Q" + index++, item.getQuestionType(), item.getQuestionText(), options);
+            question.setAnswer(item.getCorrectAnswer());
+            question.setTestCases(testCases);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    @Scheduled(fixedDelayString = "${interview.bank.eviction-interval-ms:3600000}")
+    public void evictStaleItems() {
+        int backfilled = bankRepository.backfillKeyHashes();
+        if (backfilled > 0) {
+            logger.info("Added key hashes to {} question bank items", backfilled);
+        }
+        int removed = bankRepository.deleteStaleOrOverused(LocalDateTime.now().minusDays(maxAgeDays), maxUses);
+        if (removed > 0) {
+            logger.info("Evicted {} stale or overused question bank items", removed);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.CandidateProfile;
+import com.msbcgroup.mockinterview.model.Question;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * FANOUT generation mode: splits one question set into independent sub-prompts (MCQ chunks
+ * grouped by skill plus one coding chunk) that run concurrently, so total latency is roughly
+ * that of the slowest chunk instead of one long response. Failed chunks are retried on their own.
+ * Chunks that come back short, or lose questions to duplicates across chunks, are topped up by one
+ * more round of chunks for the missing count; a set still short after that is logged.
+ */
+@Service
+public class QuestionFanoutGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionFanoutGenerator.class);
+
+    @Autowired
+    private LlmGovernor llmGovernor;
+
+    @Autowired
+    private LlmJsonParser llmJsonParser;
+
+    @Value("${interview.questions.mcq-count:25}")
+    private int mcqCount;
+
+    @Value("${interview.questions.coding-count:5}")
+    private int codingCount;
+
+    // With the coding chunk, one session's chunks just fill the question-generation pool (3 + 1 = 4),
+    // so they run at once when the pool is idle and leave no free slot for hedges
+    @Value("${interview.generation.fanout.max-mcq-chunks:3}")
+    private int maxMcqChunks;
+
+    @Value("${interview.generation.fanout.chunk-attempts:2}")
+    private int chunkAttempts;
+
+    private final ChatClient chatClient;
+
+    // Each chunk blocks on the governor and then on HTTP, so give it a virtual thread
+    private final ExecutorService chunkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public QuestionFanoutGenerator(ChatClient.Builder chatClient) {
+        this.chatClient = chatClient.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        chunkExecutor.shutdownNow();
+    }
+
+    record Chunk(String type, List<String> skills, int count) {}
+
+    public List<Question> generate(CandidateProfile profile) {
+        List<String> skills = QuestionBankService.normalizeSkills(profile.getSkills());
+        List<Chunk> chunks = new ArrayList<>(planChunks(skills, mcqCount, codingCount, maxMcqChunks));
+        long start = System.nanoTime();
+
+        List<List<Question>> results = new ArrayList<>(runChunks(profile, chunks));
+        List<Question> questions = merge(results);
+
+        List<Chunk> topUps = topUpChunks(questions, skills, mcqCount, codingCount);
+        if (!topUps.isEmpty()) {
+            logger.info("Fan-out set is short ({} questions), topping up with {}", questions.size(), topUps);
+            try {
+                results.addAll(runChunks(profile, topUps));
+                chunks.addAll(topUps);
+                questions = merge(inTypeOrder(chunks, results));
+            } catch (RuntimeException e) {
+                logger.warn("Top-up of a short fan-out set failed, keeping {} questions", questions.size(), e);
+            }
+        }
+
+        long mcqs = questions.stream().filter(q -> "MCQ".equals(q.getType())).count();
+        long coding = questions.size() - mcqs;
+        if (mcqs < mcqCount || coding < codingCount) {
+            logger.warn("Fan-out set for {} is short: {}/{} MCQs, {}/{} coding questions", profile.getCandidateEmail(),
+                    mcqs, mcqCount, coding, codingCount);
+        }
+        logger.info("Fan-out generated {} questions from {} chunks in {} ms", questions.size(), chunks.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return questions;
+    }
+
+    private List<List<Question>> runChunks(CandidateProfile profile, List<Chunk> chunks) {
+        List<CompletableFuture<List<Question>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> generateChunk(profile, chunk), chunkExecutor))
+                .toList();
+
+        List<List<Question>> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                futures.forEach(f -> f.cancel(true));
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw cause instanceof RuntimeException runtime ? runtime
+                        : new RuntimeException("Error generating interview questions from AI service.", cause);
+            }
+        }
+        return results;
+    }
+
+    private List<Question> generateChunk(CandidateProfile profile, Chunk chunk) {
+        String prompt = buildChunkPrompt(profile, chunk);
+        RuntimeException lastFailure = null;
+
+        for (int attempt = 1; attempt <= chunkAttempts; attempt++) {
+            try {
+                String response = llmGovernor.callHedged(LlmUseCase.QUESTION_GENERATION, () -> chatClient.prompt()
+                        .user(prompt)
+                        .call()
+                        .content(), llmJsonParser::isValidQuestions);
+                List<Question> questions = llmJsonParser.parseQuestions(response);
+                for (Question question : questions) {
+                    question.setType(chunk.type());
+                    if ("MCQ".equals(chunk.type())) {
+                        question.setTestCases(null);
+                    } else {
+                        question.setAnswer(null);
+                    }
+                }
+                return questions.size() > chunk.count() ? questions.subList(0, chunk.count()) : questions;
+            } catch (LlmCapacityException | LlmTimeoutException e) {
+                // Another attempt would queue behind the same shortage
+                throw e;
+            } catch (Exception e) {
+                lastFailure = e instanceof RuntimeException runtime ? runtime : new RuntimeException(e);
+                logger.warn("{} chunk {} failed (attempt {}/{})", chunk.type(), chunk.skills(), attempt, chunkAttempts, e);
+            }
+        }
+        throw new RuntimeException("Question chunk " + chunk.type() + " " + chunk.skills() + " failed", lastFailure);
+    }
+
+    /**
+     * Splits the MCQ count across up to {@code maxMcqChunks} chunks, each covering a share of the
+     * skills, followed by one coding chunk. Without skills there is a single general MCQ chunk.
+     */
+    static List<Chunk> planChunks(List<String> skills, int mcqCount, int codingCount, int maxMcqChunks) {
+        List<Chunk> chunks = new ArrayList<>();
+        int chunkCount = Math.max(1, Math.min(Math.min(maxMcqChunks, skills.size()), mcqCount));
+
+        for (int i = 0; i < chunkCount; i++) {
+            List<String> chunkSkills = new ArrayList<>();
+            for (int s = i; s < skills.size(); s += chunkCount) {
+                chunkSkills.add(skills.get(s));
+            }
+            // Spread the remainder over the first chunks so the total stays exact
+            int count = mcqCount / chunkCount + (i < mcqCount % chunkCount ? 1 : 0);
+            chunks.add(new Chunk("MCQ", chunkSkills, count));
+        }
+        if (codingCount > 0) {
+            chunks.add(new Chunk("Coding", skills, codingCount));
+        }
+        return chunks;
+    }
+
+    /**
+     * One chunk per question type the merged set has fewer of than asked for, covering all skills,
+     * sized to the shortfall. Empty when the set is complete.
+     */
+    static List<Chunk> topUpChunks(List<Question> merged, List<String> skills, int mcqCount, int codingCount) {
+        long mcqs = merged.stream().filter(q -> "MCQ".equals(q.getType())).count();
+        long coding = merged.stream().filter(q -> "Coding".equals(q.getType())).count();
+        List<Chunk> chunks = new ArrayList<>();
+        if (mcqs < mcqCount) {
+            chunks.add(new Chunk("MCQ", skills, (int) (mcqCount - mcqs)));
+        }
+        if (coding < codingCount) {
+            chunks.add(new Chunk("Coding", skills, (int) (codingCount - coding)));
+        }
+        return chunks;
+    }
+
+    // Chunk results with every MCQ chunk ahead of every coding chunk, keeping order within a type
+    private static List<List<Question>> inTypeOrder(List<Chunk> chunks, List<List<Question>> results) {
+        List<List<Question>> ordered = new ArrayList<>();
+        for (String type : List.of("MCQ", "Coding")) {
+            for (int i = 0; i < chunks.size(); i++) {
+                if (type.equals(chunks.get(i).type())) {
+                    ordered.add(results.get(i));
+                }
+            }
+        }
+        return ordered;
+    }
+
+    // Concatenates chunk results in plan order, drops repeats across chunks and renumbers Q1..Qn
+    static List<Question> merge(List<List<Question>> chunkResults) {
+        Set<String> seen = new HashSet<>();
+        List<Question> merged = new ArrayList<>();
+        for (List<Question> chunk : chunkResults) {
+            for (Question question : chunk) {
+                if (question.getQuestion() == null || !seen.add(dedupeKey(question.getQuestion()))) {
+                    continue;
+                }
+                question.setId("Q" + (merged.size() + 1));
+                merged.add(question);
+            }
+        }
+        return merged;
+    }
+
+    private static String dedupeKey(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    private String buildChunkPrompt(CandidateProfile profile, Chunk chunk) {
+        String focus = chunk.skills().isEmpty()
+                ? "the core skills expected for the position"
+                : String.join(", ", chunk.skills());
+        String typeInstructions = "MCQ".equals(chunk.type())
+                ? "Multiple-Choice (MCQ/OMR style) questions with 4 options each, with the letter of the correct option in \"answer\"."
+                : "Coding/Practical problems (coding challenges, logic-based coding exercises solvable within 5–10 minutes). "
+                + "Each program reads standard input and prints to standard output; include 3 \"testCases\" with \"input\" and \"expectedOutput\".";
+        String example = "MCQ".equals(chunk.type())
+                ? "{\"id\": \"Q1\", \"type\": \"MCQ\", \"question\": \"...\", \"options\": [\"A) ...\", \"B) ...\", \"C) ...\", \"D) ...\"], \"answer\": \"B\"}"
+                : "{\"id\": \"Q1\", \"type\": \"Coding\", \"question\": \"...\", \"testCases\": [{\"input\": \"...\", \"expectedOutput\": \"...\"}]}";
+
+        return """
+                    You are an interview question generator.
+                    Generate exactly %d %s
+                    Focus only on: %s
+
+                    Candidate Profile:
+                    positionApplied: %s
+                    Experience: %d years
+                    Description: %s
+
+                    Adjust difficulty based on experience:
+                     - If experience ≤ 1 year → Use **Beginner Level** (basic syntax, OOP fundamentals, simple algorithms, basic SQL).
+                     - If 2 ≤ experience ≤ 4 years → Use **Intermediate Level** (real-world problem-solving, APIs, debugging, data structures, SQL joins).
+                     - If experience ≥ 5 years → Use **Advanced Level** (system design, performance, scalability, multithreading, design patterns).
+
+                    Ensure questions are concise, clear, realistic and unique. Do NOT include any explanations, and no answers for Coding problems.
+                    Variation seed: %s
+
+                    Output strictly in JSON format only, no explanations.
+                JSON format:
+                {
+                  "questions": [
+                    %s
+                  ]
+                }
+                """.formatted(chunk.count(), typeInstructions, focus, profile.getPositionApplied(),
+                profile.getExperienceYears(), profile.getDescription(),
+                UUID.randomUUID().toString().substring(0, 8), example);
+    }
+}
@@ -0,0 +1,185 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.*;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import com.msbcgroup.mockinterview.repository.*;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces interview questions for sessions in the GENERATING state. Work is queued as a
+ * QUESTION_GENERATION job so it survives restarts and is spread across backend nodes; the job
+ * runs on the dedicated generation pool so HR requests never wait on the AI service.
+ */
+@Service
+public class QuestionGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionGenerationService.class);
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private CandidateProfileRepository candidateProfileRepository;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    @Qualifier("questionGenerationExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${interview.generation.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${interview.generation.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    // How long an inline attempt may take before its guard job runs the generation instead
+    @Value("${interview.generation.inline-lease-seconds:300}")
+    private long inlineLeaseSeconds;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Sessions being generated on this node, so a batch run and a queued job never double up
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void registerJobHandler() {
+        jobQueueService.register(JobType.QUESTION_GENERATION, this::runJob, executor, maxAttempts, retryBackoffSeconds,
+                this::markFailed, this::markGenerating);
+    }
+
+    /**
+     * Queues generation for a session. Returns false if a job for it is already queued or running.
+     */
+    public boolean submit(String sessionId) {
+        return jobQueueService.enqueue(JobType.QUESTION_GENERATION, sessionId);
+    }
+
+    /**
+     * Runs one generation attempt on the caller's thread, for callers that bound their own
+     * concurrency. A job delayed by inline-lease-seconds is queued first and dropped once the
+     * attempt succeeds, so a node dying mid-call still leaves the session to the queue; a failed
+     * attempt brings that job forward to the retry backoff. Returns false if the session is already
+     * being generated on this node or already has a queued or running job.
+     */
+    public boolean generateNow(String sessionId) {
+        if (!inFlight.add(sessionId)) {
+            return false;
+        }
+        try {
+            if (!jobQueueService.enqueue(JobType.QUESTION_GENERATION, sessionId, inlineLeaseSeconds)) {
+                return false;
+            }
+            try {
+                generate(sessionId);
+                jobQueueService.cancel(JobType.QUESTION_GENERATION, sessionId);
+            } catch (Exception e) {
+                logger.warn("Question generation failed for session {}, queued for retry", sessionId, e);
+                jobQueueService.reschedule(JobType.QUESTION_GENERATION, sessionId, retryBackoffSeconds, e.getMessage());
+            }
+        } finally {
+            inFlight.remove(sessionId);
+        }
+        return true;
+    }
+
+    private void runJob(String sessionId) throws Exception {
+        if (!inFlight.add(sessionId)) {
+            throw new RuntimeException("Session " + sessionId + " is already being generated on this node");
+        }
+        try {
+            generate(sessionId);
+        } finally {
+            inFlight.remove(sessionId);
+        }
+    }
+
+    // Throws when the attempt failed; the session stays GENERATING until the queue gives up on it
+    void generate(String sessionId) throws Exception {
+        InterviewSession session = sessionRepository.findBySessionId(sessionId).orElse(null);
+        if (session == null || session.getGenerationStatus() != GenerationStatus.GENERATING) {
+            return;
+        }
+
+        int attempt = session.getGenerationAttempts() + 1;
+        sessionRepository.updateGenerationAttempts(sessionId, attempt);
+
+        try {
+            CandidateProfile profile = candidateProfileRepository.findByCandidateEmail(session.getCandidateEmail())
+                    .orElseThrow(() -> new RuntimeException("Candidate profile not found for email: " + session.getCandidateEmail()));
+
+            // Questions a previous streaming attempt already persisted stay put, since the candidate
+            // may have seen them; the retry's first N questions are skipped to keep the set size.
+            List<Question> persisted = readQuestions(session);
+            int alreadyPersisted = persisted.size();
+            AtomicInteger streamed = new AtomicInteger();
+
+            List<Question> questions = questionBankService.assembleQuestions(profile, question -> {
+                if (streamed.incrementAndGet() <= alreadyPersisted) {
+                    return;
+                }
+                question.setId("Q" + (persisted.size() + 1));
+                persisted.add(question);
+                try {
+                    sessionRepository.updateGeneratingQuestions(sessionId, mapper.writeValueAsString(persisted),
+                            GenerationStatus.GENERATING);
+                } catch (Exception e) {
+                    logger.warn("Could not persist streamed question for session {}", sessionId, e);
+                }
+            });
+            if (streamed.get() > 0) {
+                questions = persisted;
+            } else if (alreadyPersisted > 0) {
+                // Non-streamed result after a partial attempt: top up the persisted questions
+                for (Question question : questions.subList(Math.min(alreadyPersisted, questions.size()), questions.size())) {
+                    question.setId("Q" + (persisted.size() + 1));
+                    persisted.add(question);
+                }
+                questions = persisted;
+            }
+            if (questions.isEmpty()) {
+                throw new RuntimeException("AI service returned no questions");
+            }
+
+            sessionRepository.markGenerated(sessionId, mapper.writeValueAsString(questions),
+                    GenerationStatus.GENERATING, GenerationStatus.READY);
+            logger.info("Generated {} questions for session {} (attempt {})", questions.size(), sessionId, attempt);
+        } catch (Exception e) {
+            sessionRepository.updateGenerationError(sessionId, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void markFailed(String sessionId, String error) {
+        sessionRepository.updateGenerationStatus(sessionId, GenerationStatus.GENERATING, GenerationStatus.FAILED, error);
+    }
+
+    // A requeued dead job needs its session back in GENERATING, or the handler would skip it
+    private void markGenerating(String sessionId) {
+        sessionRepository.updateGenerationStatus(sessionId, GenerationStatus.FAILED, GenerationStatus.GENERATING, null);
+    }
+
+    private List<Question> readQuestions(InterviewSession session) throws Exception {
+        if (session.getQuestionsJson() == null || session.getQuestionsJson().isBlank()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(mapper.readValue(session.getQuestionsJson(), new TypeReference<List<Question>>() {}));
+    }
+}
@@ -0,0 +1,205 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.CandidateProfile;
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.model.StagedQuestionSet;
+import com.msbcgroup.mockinterview.repository.StagedQuestionSetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional speculative generation: as soon as a candidate profile is saved (or its resume
+ * changes what the prompt would see) a question set is generated in the background and staged,
+ * so scheduling only has to bind it to the new session. Unused sets expire. Questions drawn from
+ * the question bank only count as used once their set is claimed.
+ */
+@Service
+public class QuestionPregenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionPregenerationService.class);
+
+    @Autowired
+    private StagedQuestionSetRepository stagedRepository;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Autowired
+    @Qualifier("questionGenerationExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${interview.pregeneration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${interview.pregeneration.ttl-hours:72}")
+    private long ttlHours;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // email:fingerprint pairs with a staging run queued or in progress on this node
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts background generation for the profile unless a set for the same profile content is
+     * already staged or being staged. Never fails the caller; staging is best effort.
+     */
+    public void stage(CandidateProfile profile) {
+        if (!enabled || profile == null || profile.getCandidateEmail() == null) {
+            return;
+        }
+        String email = profile.getCandidateEmail();
+        String fingerprint = fingerprint(profile);
+
+        Optional<StagedQuestionSet> existing = stagedRepository.findById(email);
+        if (existing.isPresent() && existing.get().getProfileFingerprint().equals(fingerprint)
+                && existing.get().getStatus() != GenerationStatus.FAILED) {
+            return;
+        }
+        String runKey = email + ":" + fingerprint;
+        if (!inFlight.add(runKey)) {
+            return;
+        }
+
+        StagedQuestionSet staged = existing.orElseGet(StagedQuestionSet::new);
+        staged.setCandidateEmail(email);
+        staged.setProfileFingerprint(fingerprint);
+        staged.setStatus(GenerationStatus.GENERATING);
+        staged.setQuestionsJson(null);
+        staged.setBankItemIdsJson(null);
+        staged.setError(null);
+        staged.setCreatedAt(LocalDateTime.now());
+        staged.setExpiresAt(LocalDateTime.now().plusHours(ttlHours));
+        stagedRepository.save(staged);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(profile, fingerprint);
+                } finally {
+                    inFlight.remove(runKey);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Scheduling will simply generate on demand
+            inFlight.remove(runKey);
+            stagedRepository.deleteById(email);
+            logger.info("Generation queue full, skipped pre-generation for {}", email);
+        }
+    }
+
+    // Restages only when the resume update changed something the generation prompt uses
+    public void restageIfChanged(String previousFingerprint, CandidateProfile profile) {
+        if (!fingerprint(profile).equals(previousFingerprint)) {
+            stage(profile);
+        }
+    }
+
+    /**
+     * Takes the staged set for the profile if one is ready and was generated from the profile's
+     * current content. The set is removed, so it is bound to at most one session.
+     */
+    public Optional<List<Question>> claim(CandidateProfile profile) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String email = profile.getCandidateEmail();
+        String fingerprint = fingerprint(profile);
+
+        Optional<StagedQuestionSet> staged = stagedRepository.findById(email);
+        if (staged.isEmpty() || staged.get().getStatus() != GenerationStatus.READY
+                || !staged.get().getProfileFingerprint().equals(fingerprint)
+                || staged.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        if (stagedRepository.deleteForClaim(email, fingerprint, GenerationStatus.READY) != 1) {
+            return Optional.empty();
+        }
+
+        try {
+            List<Question> questions = mapper.readValue(staged.get().getQuestionsJson(), new TypeReference<List<Question>>() {});
+            if (staged.get().getBankItemIdsJson() != null) {
+                questionBankService.recordUsage(mapper.readValue(staged.get().getBankItemIdsJson(), new TypeReference<List<Long>>() {}));
+            }
+            logger.info("Bound pre-generated question set to new session for {}", email);
+            return Optional.of(questions);
+        } catch (Exception e) {
+            logger.warn("Unreadable staged question set for {}", email, e);
+            return Optional.empty();
+        }
+    }
+
+    private void generate(CandidateProfile profile, String fingerprint) {
+        String email = profile.getCandidateEmail();
+        GenerationStatus status;
+        String questionsJson = null;
+        String bankItemIdsJson = null;
+        String error = null;
+        try {
+            QuestionBankService.BankedQuestions banked = questionBankService.previewQuestions(profile);
+            if (banked.questions().isEmpty()) {
+                throw new RuntimeException("AI service returned no questions");
+            }
+            questionsJson = mapper.writeValueAsString(banked.questions());
+            bankItemIdsJson = mapper.writeValueAsString(banked.itemIds());
+            status = GenerationStatus.READY;
+        } catch (Exception e) {
+            status = GenerationStatus.FAILED;
+            error = e.getMessage();
+            logger.warn("Pre-generation failed for {}", email, e);
+        }
+
+        // The profile may have been restaged, claimed or deleted meanwhile; only fill in our own row
+        Optional<StagedQuestionSet> current = stagedRepository.findById(email);
+        if (current.isEmpty() || !current.get().getProfileFingerprint().equals(fingerprint)) {
+            return;
+        }
+        StagedQuestionSet staged = current.get();
+        staged.setStatus(status);
+        staged.setQuestionsJson(questionsJson);
+        staged.setBankItemIdsJson(bankItemIdsJson);
+        staged.setError(error);
+        stagedRepository.save(staged);
+    }
+
+    public static String fingerprint(CandidateProfile profile) {
+        String content = String.join("\u0000",
+                QuestionBankService.normalizePosition(profile.getPositionApplied()),
+                String.valueOf(profile.getExperienceYears()),
+                String.join(",", QuestionBankService.normalizeSkills(profile.getSkills())),
+                profile.getDescription() == null ? "" : profile.getDescription().trim());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${interview.pregeneration.eviction-interval-ms:3600000}")
+    public void evictExpired() {
+        int removed = stagedRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            logger.info("Expired {} unused pre-generated question sets", removed);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.model.InterviewSummary;
+import com.msbcgroup.mockinterview.model.RescoreRun;
+import com.msbcgroup.mockinterview.model.SubmissionScore;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import com.msbcgroup.mockinterview.repository.RescoreRunRepository;
+import com.msbcgroup.mockinterview.repository.SubmissionScoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-grades stored submissions under a new rubric version. A run streams every attempt submitted
+ * before it started in keyset order, grades each page on a worker pool sized by the run's
+ * parallelism, and writes one {@link SubmissionScore} per attempt and version, leaving the live
+ * result and earlier versions alone. Model calls go through the governor's RESCORING pool and
+ * the shared rate limit. The cursor is persisted after every page, so an interrupted run resumes
+ * where it stopped, and attempts that already have a score for the version are skipped. A run
+ * executes on the node holding its lease, renewed with every checkpoint and heartbeat; other
+ * nodes only take it over once the lease lapses.
+ */
+@Service
+public class RescoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RescoringService.class);
+
+    // Keyset start: earlier than any submission, and sorts before any session id
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private RescoreRunRepository runRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private SubmissionScoreRepository scoreRepository;
+
+    @Autowired
+    private GradingService gradingService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    @Qualifier("rescoringExecutor")
+    private ThreadPoolTaskExecutor runExecutor;
+
+    @Value("${interview.rescoring.default-parallelism:2}")
+    private int defaultParallelism;
+
+    @Value("${interview.rescoring.max-parallelism:8}")
+    private int maxParallelism;
+
+    @Value("${interview.rescoring.page-size:50}")
+    private int pageSize;
+
+    // Attempts per submission when the governor has no capacity; other failures are not retried
+    @Value("${interview.rescoring.capacity-attempts:5}")
+    private int capacityAttempts;
+
+    @Value("${interview.rescoring.capacity-backoff-ms:5000}")
+    private long capacityBackoffMs;
+
+    @Value("${interview.rescoring.lease-seconds:120}")
+    private long leaseSeconds;
+
+    // Runs this node holds the lease on, queued or executing, so their leases can be renewed
+    private final Set<String> leased = ConcurrentHashMap.newKeySet();
+
+    // Counters of runs executing on this node, for throughput between page checkpoints
+    private final Map<String, RunProgress> active = new ConcurrentHashMap<>();
+
+    static final class RunProgress {
+        final AtomicLong processed;
+        final AtomicLong failed;
+        final AtomicLong graded = new AtomicLong();
+        final long startProcessed;
+        final long startNanos = System.nanoTime();
+
+        RunProgress(long processed, long failed) {
+            this.processed = new AtomicLong(processed);
+            this.failed = new AtomicLong(failed);
+            this.startProcessed = processed;
+        }
+
+        // Submissions per minute since this node picked the run up
+        double perMinute() {
+            double minutes = (System.nanoTime() - startNanos) / 60_000_000_000.0;
+            return minutes > 0 ? (processed.get() - startProcessed) / minutes : 0;
+        }
+    }
+
+    public RescoreRun startRun(String rubricVersion, Integer parallelism, String requestedBy) {
+        String version = rubricVersion != null && !rubricVersion.isBlank() ? rubricVersion.trim() : gradingService.getRubricVersion();
+        if (version.length() > 50) {
+            throw new RuntimeException("Rubric version must be at most 50 characters");
+        }
+
+        RescoreRun run = new RescoreRun();
+        run.setRunId(UUID.randomUUID().toString());
+        run.setRubricVersion(version);
+        run.setRequestedBy(requestedBy);
+        run.setParallelism(Math.max(1, Math.min(parallelism != null ? parallelism : defaultParallelism, maxParallelism)));
+        run.setTotalSubmissions(sessionRepository.countBySubmittedAtLessThanEqual(run.getCreatedAt()));
+        run.setLeaseOwner(jobQueueService.getNodeId());
+        run.setLeaseExpiresAt(LocalDateTime.now().plusSeconds(leaseSeconds));
+        runRepository.save(run);
+
+        dispatch(run.getRunId());
+        return run;
+    }
+
+    // Also runs periodically, to pick up runs whose node died while the others kept running
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${interview.rescoring.resume-interval-ms:60000}",
+            fixedDelayString = "${interview.rescoring.resume-interval-ms:60000}")
+    public void resumeInterruptedRuns() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RescoreRun run : runRepository.findByStatus(RescoreRun.RunStatus.RUNNING)) {
+            boolean held = run.getLeaseOwner() != null && run.getLeaseExpiresAt() != null
+                    && run.getLeaseExpiresAt().isAfter(now);
+            if (!held && dispatch(run.getRunId())) {
+                logger.info("Resuming re-scoring run {} at {} of {}", run.getRunId(), run.getProcessed(), run.getTotalSubmissions());
+            }
+        }
+    }
+
+    // Claims the run's lease and hands it to the executor; false if this or another node already runs it
+    private boolean dispatch(String runId) {
+        if (!leased.add(runId)) {
+            return false;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (runRepository.claim(runId, jobQueueService.getNodeId(), RescoreRun.RunStatus.RUNNING,
+                    now.plusSeconds(leaseSeconds), now) == 0) {
+                leased.remove(runId);
+                return false;
+            }
+            runExecutor.execute(() -> {
+                try {
+                    executeRun(runId);
+                } finally {
+                    leased.remove(runId);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            leased.remove(runId);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${interview.rescoring.heartbeat-interval-ms:30000}")
+    public void renewLeases() {
+        if (leased.isEmpty()) {
+            return;
+        }
+        runRepository.renewLeases(new ArrayList<>(leased), jobQueueService.getNodeId(),
+                RescoreRun.RunStatus.RUNNING, LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    public void cancelRun(String runId) {
+        RescoreRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new RuntimeException("Re-scoring run not found with id: " + runId));
+        if (run.getStatus() != RescoreRun.RunStatus.RUNNING) {
+            throw new RuntimeException("Re-scoring run " + runId + " is already " + run.getStatus());
+        }
+        if (runRepository.cancel(runId, RescoreRun.RunStatus.RUNNING, RescoreRun.RunStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Re-scoring run " + runId + " is no longer running");
+        }
+    }
+
+    void executeRun(String runId) {
+        RescoreRun run = runRepository.findById(runId).orElse(null);
+        if (run == null || run.getStatus() != RescoreRun.RunStatus.RUNNING) {
+            return;
+        }
+
+        RunProgress progress = new RunProgress(run.getProcessed(), run.getFailed());
+        active.put(runId, progress);
+        ExecutorService workers = Executors.newFixedThreadPool(run.getParallelism());
+        try {
+            LocalDateTime afterSubmittedAt = run.getCursorSubmittedAt() != null ? run.getCursorSubmittedAt() : CURSOR_START;
+            String afterSessionId = run.getCursorSessionId() != null ? run.getCursorSessionId() : "";
+
+            while (true) {
+                List<InterviewSession> page = sessionRepository.findSubmittedAfter(afterSubmittedAt, afterSessionId,
+                        run.getCreatedAt(), PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                List<Future<?>> pending = new ArrayList<>(page.size());
+                for (InterviewSession session : page) {
+                    pending.add(workers.submit(() -> rescore(run, session, progress)));
+                }
+                for (Future<?> future : pending) {
+                    future.get();
+                }
+
+                InterviewSession last = page.get(page.size() - 1);
+                afterSubmittedAt = last.getSubmittedAt();
+                afterSessionId = last.getSessionId();
+
+                // Checkpoint, unless HR cancelled the run or another node took it over while this page was graded
+                if (runRepository.checkpoint(runId, jobQueueService.getNodeId(), RescoreRun.RunStatus.RUNNING,
+                        afterSubmittedAt, afterSessionId, progress.processed.get(), progress.failed.get(),
+                        LocalDateTime.now().plusSeconds(leaseSeconds)) == 0) {
+                    logger.info("Re-scoring run {} stopped after {} submissions", runId, progress.processed.get());
+                    return;
+                }
+            }
+
+            if (runRepository.complete(runId, jobQueueService.getNodeId(), RescoreRun.RunStatus.RUNNING,
+                    RescoreRun.RunStatus.COMPLETED, LocalDateTime.now()) == 0) {
+                logger.info("Re-scoring run {} stopped after {} submissions", runId, progress.processed.get());
+                return;
+            }
+            logger.info("Re-scoring run {} ({}) finished: {} processed, {} failed, {}/min",
+                    runId, run.getRubricVersion(), progress.processed.get(), progress.failed.get(),
+                    Math.round(progress.perMinute()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // rescore() handles its own failures, so this is unexpected; the run resumes from its cursor on restart
+            logger.error("Re-scoring run {} stopped", runId, e.getCause());
+        } finally {
+            workers.shutdownNow();
+            active.remove(runId);
+        }
+    }
+
+    private void rescore(RescoreRun run, InterviewSession session, RunProgress progress) {
+        String sessionId = session.getSessionId();
+        try {
+            if (scoreRepository.existsBySessionIdAndRubricVersion(sessionId, run.getRubricVersion())) {
+                return;
+            }
+            if (session.getQuestionsJson() == null || session.getAnswersJson() == null) {
+                throw new RuntimeException("No stored questions or answers");
+            }
+
+            InterviewSummary summary = evaluateWithCapacityRetry(session);
+            try {
+                scoreRepository.save(new SubmissionScore(session, run.getRubricVersion(), summary, run.getRunId()));
+                progress.graded.incrementAndGet();
+            } catch (DataIntegrityViolationException e) {
+                // Live grading or another run wrote this version first
+                logger.debug("Session {} already has a {} score", sessionId, run.getRubricVersion());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            progress.failed.incrementAndGet();
+            logger.warn("Re-scoring session {} under {} failed", sessionId, run.getRubricVersion(), e);
+        } finally {
+            progress.processed.incrementAndGet();
+        }
+    }
+
+    // Capacity shortages mean the run is outpacing the rate limit, so wait for it rather than fail the submission
+    private InterviewSummary evaluateWithCapacityRetry(InterviewSession session) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return gradingService.evaluate(session, LlmUseCase.RESCORING);
+            } catch (LlmCapacityException e) {
+                if (attempt >= capacityAttempts) {
+                    throw e;
+                }
+                Thread.sleep(capacityBackoffMs * attempt);
+            }
+        }
+    }
+
+    public Map<String, Object> getRunProgress(String runId) {
+        RescoreRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new RuntimeException("Re-scoring run not found with id: " + runId));
+
+        RunProgress progress = active.get(runId);
+        long processed = progress != null ? progress.processed.get() : run.getProcessed();
+        long failed = progress != null ? progress.failed.get() : run.getFailed();
+        long total = run.getTotalSubmissions() != null ? run.getTotalSubmissions() : 0;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("runId", runId);
+        response.put("rubricVersion", run.getRubricVersion());
+        response.put("status", run.getStatus());
+        response.put("parallelism", run.getParallelism());
+        response.put("total", total);
+        response.put("processed", processed);
+        response.put("failed", failed);
+        response.put("percentComplete", total > 0 ? Math.min(100, processed * 100 / total) : 100);
+        response.put("createdAt", run.getCreatedAt());
+        response.put("completedAt", run.getCompletedAt());
+
+        if (progress != null) {
+            double perMinute = progress.perMinute();
+            response.put("gradedOnThisNode", progress.graded.get());
+            response.put("submissionsPerMinute", Math.round(perMinute * 10) / 10.0);
+            if (perMinute > 0 && total > processed) {
+                response.put("estimatedCompletion", LocalDateTime.now()
+                        .plus(Duration.ofSeconds(Math.round((total - processed) / perMinute * 60))));
+            }
+        } else if (run.getCompletedAt() != null) {
+            long seconds = Duration.between(run.getCreatedAt(), run.getCompletedAt()).getSeconds();
+            response.put("submissionsPerMinute", seconds > 0 ? Math.round(processed * 600.0 / seconds) / 10.0 : processed);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,157 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.msbcgroup.mockinterview.model.ResumeParseCacheEntry;
+import com.msbcgroup.mockinterview.repository.ResumeParseCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-level cache (in-memory LRU in front of the resume_parse_cache table) for parsed resumes,
+ * keyed by a hash of the normalized resume text and the prompt version. Memory hits don't write to
+ * the table; the keys they touched are collected and their lastAccessedAt, which the table's LRU
+ * eviction orders by, is updated in one statement every touch-flush-interval-ms and before eviction.
+ */
+@Service
+public class ResumeParseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeParseCache.class);
+
+    @Autowired
+    private ResumeParseCacheRepository cacheRepository;
+
+    @Autowired
+    private LlmJsonParser llmJsonParser;
+
+    @Value("${resume.cache.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${resume.cache.memory-max-entries:500}")
+    private int memoryMaxEntries;
+
+    @Value("${resume.cache.db-max-entries:10000}")
+    private int dbMaxEntries;
+
+    private record CachedResume(JsonNode parsed, LocalDateTime createdAt) {}
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final Map<String, CachedResume> memory = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResume> eldest) {
+            return size() > memoryMaxEntries;
+        }
+    };
+
+    // Keys served from memory since the last flush of access times to the table
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    public Optional<JsonNode> get(String resumeText, String promptVersion) {
+        String key = keyFor(resumeText, promptVersion);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+
+        synchronized (memory) {
+            CachedResume cached = memory.get(key);
+            if (cached != null) {
+                if (cached.createdAt().isAfter(cutoff)) {
+                    touched.add(key);
+                    return Optional.of(cached.parsed().deepCopy());
+                }
+                memory.remove(key);
+            }
+        }
+
+        Optional<ResumeParseCacheEntry> stored = cacheRepository.findById(key);
+        if (stored.isEmpty() || stored.get().getCreatedAt().isBefore(cutoff)) {
+            return Optional.empty();
+        }
+
+        try {
+            ResumeParseCacheEntry entry = stored.get();
+            JsonNode parsed = llmJsonParser.parseTree(entry.getParsedJson());
+            entry.setLastAccessedAt(LocalDateTime.now());
+            cacheRepository.save(entry);
+            synchronized (memory) {
+                memory.put(key, new CachedResume(parsed, entry.getCreatedAt()));
+            }
+            return Optional.of(parsed.deepCopy());
+        } catch (Exception e) {
+            logger.warn("Discarding unreadable resume cache entry {}", key, e);
+            cacheRepository.deleteById(key);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String resumeText, String promptVersion, JsonNode parsed) {
+        String key = keyFor(resumeText, promptVersion);
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (memory) {
+            memory.put(key, new CachedResume(parsed.deepCopy(), now));
+        }
+        cacheRepository.save(new ResumeParseCacheEntry(key, parsed.toString()));
+    }
+
+    // Whitespace differences between extractions of the same file must not change the key
+    static String keyFor(String resumeText, String promptVersion) {
+        String normalized = resumeText.trim().replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(promptVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${resume.cache.touch-flush-interval-ms:60000}")
+    public void flushTouches() {
+        if (touched.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(touched);
+        touched.removeAll(keys);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            for (int from = 0; from < keys.size(); from += 1000) {
+                cacheRepository.touchAll(keys.subList(from, Math.min(from + 1000, keys.size())), now);
+            }
+        } catch (Exception e) {
+            // Only the LRU order is off until the entries are hit again
+            logger.warn("Could not update access times of {} resume cache entries", keys.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${resume.cache.eviction-interval-ms:3600000}")
+    public void evict() {
+        flushTouches();
+        int expired = cacheRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+
+        long excess = cacheRepository.count() - dbMaxEntries;
+        if (excess > 0) {
+            List<String> keys = cacheRepository.findLeastRecentlyUsedKeys(PageRequest.of(0, (int) Math.min(excess, 1000)));
+            cacheRepository.deleteAllById(keys);
+        }
+
+        if (expired > 0 || excess > 0) {
+            logger.info("Resume cache eviction removed {} expired and {} excess entries", expired, Math.max(excess, 0));
+        }
+    }
+}
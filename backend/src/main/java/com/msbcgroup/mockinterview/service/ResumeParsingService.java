@@ -2,18 +2,34 @@ package com.msbcgroup.mockinterview.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class ResumeParsingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ResumeParsingService.class);
+
+    // Bump whenever the prompt below changes so cached results from the old prompt are not reused
+    private static final String PROMPT_VERSION = "resume-v1";
+
     private final ChatClient chatClient;
+    private final LlmGovernor llmGovernor;
+    private final LlmJsonParser llmJsonParser;
+    private final ResumeParseCache resumeParseCache;
     private final ObjectMapper objectMapper;
 
-    public ResumeParsingService(ChatClient chatClient) {
+    public ResumeParsingService(ChatClient chatClient, LlmGovernor llmGovernor, LlmJsonParser llmJsonParser,
+                                ResumeParseCache resumeParseCache) {
         this.chatClient = chatClient;
-        this.objectMapper = new ObjectMapper();
+        this.llmGovernor = llmGovernor;
+        this.llmJsonParser = llmJsonParser;
+        this.resumeParseCache = resumeParseCache;
+        this.objectMapper = llmJsonParser.getMapper();
     }
 
     public JsonNode parseResume(String resumeText) {
@@ -24,6 +40,13 @@ public class ResumeParsingService {
         if (resumeText == null || resumeText.trim().isEmpty()) {
             throw new RuntimeException("Resume text is empty or null");
         }
+
+        Optional<JsonNode> cached = resumeParseCache.get(resumeText, PROMPT_VERSION);
+        if (cached.isPresent()) {
+            logger.debug("Resume parse cache hit");
+            return cached.get();
+        }
+
         String prompt = """
             Parse this resume and return a JSON object with ALL these fields filled:
             
@@ -49,24 +72,15 @@ public class ResumeParsingService {
             """ + resumeText;
 
         try {
-            String response = chatClient.prompt()
+            String response = llmGovernor.callHedged(LlmUseCase.RESUME_PARSING, () -> chatClient.prompt()
                     .user(prompt)
                     .call()
-                    .content();
+                    .content(), llmJsonParser::isValidJson);
 
             System.out.println("Raw AI Response: " + response);
             
-            // Clean response
-            response = response.trim();
-            if (response.contains("```json")) {
-                response = response.replaceAll(".*```json\\s*", "").replaceAll("```.*", "").trim();
-            } else if (response.contains("```")) {
-                response = response.replaceAll("```", "").trim();
-            }
-            
-            System.out.println("Cleaned AI Response: " + response);
-            
-            JsonNode result = objectMapper.readTree(response);
+            // Skips fences and any prose around the JSON while parsing
+            JsonNode result = llmJsonParser.parseTree(response);
             System.out.println("Parsed JSON: " + result.toString());
             
             // Ensure description field exists and is not null
@@ -98,9 +112,13 @@ public class ResumeParsingService {
                 result = objectMapper.readTree(updatedJson);
                 System.out.println("Updated JSON with description: " + result.toString());
             }
-            
+
+            resumeParseCache.put(resumeText, PROMPT_VERSION, result);
             return result;
 
+        } catch (LlmCapacityException | LlmTimeoutException e) {
+            // Let HR retry instead of silently returning an empty profile
+            throw e;
         } catch (Exception e) {
             System.err.println("Error parsing resume: " + e.getMessage());
             e.printStackTrace();
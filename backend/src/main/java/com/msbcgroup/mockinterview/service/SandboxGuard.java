@@ -0,0 +1,248 @@
+package com.msbcgroup.mockinterview.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Runtime side of the code sandbox. Candidate bytecode is rewritten (see SandboxInstrumenter) to
+ * call {@link #check()} on every method entry and loop back-edge, to size-check arrays and sized
+ * JDK allocations (String.repeat, Arrays.copyOf, collection and buffer capacities, BitSet and
+ * BigInteger bits) before they are made, to run {@link #check()} on every element of streams the
+ * JDK hands out, and to use the streams below instead of System.in/out/err. Limits are tracked per runner thread,
+ * since a running thread can no longer be stopped from outside. The memory limit is a budget on
+ * the bytes a run allocates, not a heap cap: the heap is shared with the application, and an
+ * allocation made inside other JDK code is only counted at the next check.
+ */
+public final class SandboxGuard {
+
+    public enum Limit { TIME, MEMORY, OUTPUT, CANCELLED }
+
+    // Thrown into candidate code when a limit is hit; rethrown on every later check if swallowed
+    public static final class Violation extends Error {
+        private final Limit limit;
+
+        Violation(Limit limit) {
+            super(limit.name(), null, false, false);
+            this.limit = limit;
+        }
+
+        public Limit getLimit() {
+            return limit;
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Reading thread CPU time costs a syscall, so only every 256th check does it
+    private static final int CHECK_INTERVAL_MASK = 0xFF;
+
+    // Conservative element size used to reject huge arrays before they are allocated
+    private static final long ARRAY_ELEMENT_BYTES = 8;
+
+    private static final ThreadLocal<Budget> CURRENT = new ThreadLocal<>();
+
+    static final class Budget {
+        private final long cpuDeadline;
+        private final long allocationLimit;
+        private final AtomicBoolean cancelled;
+        private final InputStream in;
+        private final BoundedBuffer outBuffer;
+        private final BoundedBuffer errBuffer;
+        private final PrintStream out;
+        private final PrintStream err;
+        private final long cpuStart;
+        private int counter;
+        private Limit violation;
+
+        Budget(String stdin, long cpuLimitNanos, long memoryLimitBytes, int outputLimitBytes, AtomicBoolean cancelled) {
+            this.cpuStart = THREADS.getCurrentThreadCpuTime();
+            this.cpuDeadline = cpuStart + cpuLimitNanos;
+            this.allocationLimit = THREADS.getCurrentThreadAllocatedBytes() + memoryLimitBytes;
+            this.cancelled = cancelled;
+            this.in = new ByteArrayInputStream((stdin != null ? stdin : "").getBytes(StandardCharsets.UTF_8));
+            this.outBuffer = new BoundedBuffer(outputLimitBytes, this);
+            this.errBuffer = new BoundedBuffer(outputLimitBytes, this);
+            this.out = new PrintStream(outBuffer, true, StandardCharsets.UTF_8);
+            this.err = new PrintStream(errBuffer, true, StandardCharsets.UTF_8);
+        }
+
+        String stdout() {
+            out.flush();
+            return outBuffer.toString(StandardCharsets.UTF_8);
+        }
+
+        String stderr() {
+            err.flush();
+            return errBuffer.toString(StandardCharsets.UTF_8);
+        }
+
+        Limit violation() {
+            return violation;
+        }
+
+        long cpuTimeNanos() {
+            return THREADS.getCurrentThreadCpuTime() - cpuStart;
+        }
+
+        private Violation fail(Limit limit) {
+            if (violation == null) {
+                violation = limit;
+            }
+            return new Violation(violation);
+        }
+    }
+
+    private static final class BoundedBuffer extends ByteArrayOutputStream {
+        private final int limit;
+        private final Budget budget;
+
+        BoundedBuffer(int limit, Budget budget) {
+            this.limit = limit;
+            this.budget = budget;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            ensureRoom(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            ensureRoom(len);
+            super.write(b, off, len);
+        }
+
+        private void ensureRoom(int len) {
+            if (count + len > limit) {
+                throw budget.fail(Limit.OUTPUT);
+            }
+        }
+    }
+
+    private SandboxGuard() {
+    }
+
+    static Budget enter(String stdin, long cpuLimitNanos, long memoryLimitBytes, int outputLimitBytes, AtomicBoolean cancelled) {
+        Budget budget = new Budget(stdin, cpuLimitNanos, memoryLimitBytes, outputLimitBytes, cancelled);
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+
+    public static void check() {
+        Budget budget = CURRENT.get();
+        if (budget == null) {
+            return;
+        }
+        if (budget.violation != null) {
+            throw new Violation(budget.violation);
+        }
+        if ((++budget.counter & CHECK_INTERVAL_MASK) != 0) {
+            return;
+        }
+        if (budget.cancelled.get()) {
+            throw budget.fail(Limit.CANCELLED);
+        }
+        if (THREADS.getCurrentThreadCpuTime() > budget.cpuDeadline) {
+            throw budget.fail(Limit.TIME);
+        }
+        if (THREADS.getCurrentThreadAllocatedBytes() > budget.allocationLimit) {
+            throw budget.fail(Limit.MEMORY);
+        }
+    }
+
+    public static void checkArray(int length) {
+        checkAllocation((long) length);
+    }
+
+    public static void checkArray2(int outer, int inner) {
+        checkAllocation((long) outer * inner);
+    }
+
+    // A bit count, as for BitSet and BigInteger, in 8-byte words
+    public static void checkBits(int bits) {
+        checkAllocation(bits / 64L + 1);
+    }
+
+    private static void checkAllocation(long elements) {
+        Budget budget = CURRENT.get();
+        if (budget == null || elements <= 0) {
+            return;
+        }
+        long remaining = budget.allocationLimit - THREADS.getCurrentThreadAllocatedBytes();
+        if (elements > remaining / ARRAY_ELEMENT_BYTES) {
+            throw budget.fail(Limit.MEMORY);
+        }
+    }
+
+    public static String repeat(String value, int count) {
+        checkAllocation((long) value.length() * count);
+        return value.repeat(count);
+    }
+
+    public static BigInteger pow(BigInteger value, int exponent) {
+        checkAllocation((long) value.bitLength() * exponent / 64 + 1);
+        return value.pow(exponent);
+    }
+
+    // The filter stage also drops SIZED, so toArray, sorted and collect grow their buffers a chunk
+    // at a time while these checks run, instead of allocating the whole stream's size up front
+    public static <T> Stream<T> stream(Stream<T> stream) {
+        return stream.filter(element -> {
+            check();
+            return true;
+        });
+    }
+
+    public static IntStream intStream(IntStream stream) {
+        return stream.filter(element -> {
+            check();
+            return true;
+        });
+    }
+
+    public static LongStream longStream(LongStream stream) {
+        return stream.filter(element -> {
+            check();
+            return true;
+        });
+    }
+
+    public static DoubleStream doubleStream(DoubleStream stream) {
+        return stream.filter(element -> {
+            check();
+            return true;
+        });
+    }
+
+    public static InputStream in() {
+        Budget budget = CURRENT.get();
+        return budget != null ? budget.in : InputStream.nullInputStream();
+    }
+
+    public static PrintStream out() {
+        Budget budget = CURRENT.get();
+        return budget != null ? budget.out : new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    public static PrintStream err() {
+        Budget budget = CURRENT.get();
+        return budget != null ? budget.err : new PrintStream(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,414 @@
+package com.msbcgroup.mockinterview.service;
+
+import org.springframework.asm.*;
+
+import java.util.*;
+
+/**
+ * Verifies and rewrites compiled candidate classes before they are loaded. Only an allow-listed
+ * subset of the JDK may be referenced (collections, strings, math, time, in-memory I/O); files,
+ * network, threads, reflection, NIO buffers and process control are rejected, as are finalize()
+ * overrides, which would run on the JVM's finalizer thread outside any budget. Accepted classes get
+ * {@link SandboxGuard} calls for CPU, allocation and output limits, including a size check before
+ * JDK calls that allocate whatever size they are given, and a check on every element of every
+ * stream, since a stream can fill a buffer inside the JDK without running any candidate code.
+ */
+final class SandboxInstrumenter {
+
+    static final class RejectedException extends Exception {
+        RejectedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final String GUARD = Type.getInternalName(SandboxGuard.class);
+
+    // Of java.nio only charsets; buffers allocate whatever capacity they are given, on or off heap
+    private static final List<String> ALLOWED_PREFIXES = List.of(
+            "java/lang/", "java/util/", "java/math/", "java/text/", "java/time/", "java/io/", "java/nio/charset/");
+
+    private static final List<String> DENIED_PREFIXES = List.of(
+            "java/lang/reflect/", "java/lang/invoke/", "java/lang/ref/", "java/lang/instrument/",
+            "java/lang/management/", "java/lang/foreign/", "java/lang/module/",
+            "java/lang/Thread", "java/lang/ClassLoader",
+            "java/lang/Module", "java/lang/StackWalker", "java/lang/SecurityManager", "java/lang/ScopedValue",
+            "java/util/concurrent/", "java/util/Timer", "java/util/ServiceLoader", "java/util/prefs/",
+            "java/util/logging/", "java/util/jar/", "java/util/zip/", "java/util/spi/",
+            "java/io/File", "java/io/RandomAccessFile", "java/io/Object", "java/io/Console",
+            "java/nio/file/", "java/nio/channels/");
+
+    private static final Set<String> DENIED_CLASSES = Set.of(
+            "java/lang/Runtime", "java/lang/Process", "java/lang/ProcessBuilder", "java/lang/ProcessBuilder$Redirect",
+            "java/lang/ProcessHandle", "java/lang/ProcessHandle$Info");
+
+    // Thread-safe collections and atomics don't start threads and are common in solutions
+    private static final List<String> CONCURRENT_ALLOWED = List.of(
+            "java/util/concurrent/atomic/", "java/util/concurrent/ConcurrentHashMap",
+            "java/util/concurrent/ConcurrentLinkedQueue", "java/util/concurrent/ConcurrentLinkedDeque",
+            "java/util/concurrent/ConcurrentSkipList", "java/util/concurrent/CopyOnWrite",
+            "java/util/concurrent/ThreadLocalRandom");
+
+    private static final Set<String> SYSTEM_ALLOWED = Set.of(
+            "arraycopy", "currentTimeMillis", "nanoTime", "lineSeparator", "identityHashCode");
+
+    private static final Set<String> CLASS_ALLOWED = Set.of(
+            "getName", "getSimpleName", "isInstance", "cast", "desiredAssertionStatus",
+            "getComponentType", "isArray", "hashCode", "equals", "toString");
+
+    // Constructors of these classes that take a String first open a file by that name
+    private static final Set<String> FILE_NAME_CONSTRUCTORS = Set.of(
+            "java/io/PrintWriter", "java/io/PrintStream", "java/util/Formatter");
+
+    // JDK methods and constructors that allocate in proportion to an int argument: the first int of
+    // a constructor, the last of a method. The guard method sizes it in elements or in bits.
+    record SizedAllocation(Set<String> methods, String check) {}
+
+    private static final SizedAllocation ELEMENTS = new SizedAllocation(
+            Set.of("<init>", "copyOf", "copyOfRange", "ensureCapacity", "setLength", "repeat", "nCopies"), "checkArray");
+
+    private static final SizedAllocation BITS = new SizedAllocation(
+            Set.of("<init>", "set", "flip", "shiftLeft", "setBit", "flipBit"), "checkBits");
+
+    private static final Map<String, SizedAllocation> SIZED_ALLOCATIONS = Map.ofEntries(
+            Map.entry("java/util/Arrays", ELEMENTS), Map.entry("java/util/ArrayList", ELEMENTS),
+            Map.entry("java/util/ArrayDeque", ELEMENTS), Map.entry("java/util/Vector", ELEMENTS),
+            Map.entry("java/util/HashMap", ELEMENTS), Map.entry("java/util/HashSet", ELEMENTS),
+            Map.entry("java/util/LinkedHashMap", ELEMENTS), Map.entry("java/util/LinkedHashSet", ELEMENTS),
+            Map.entry("java/util/Hashtable", ELEMENTS), Map.entry("java/util/IdentityHashMap", ELEMENTS),
+            Map.entry("java/util/WeakHashMap", ELEMENTS), Map.entry("java/util/PriorityQueue", ELEMENTS),
+            Map.entry("java/util/concurrent/ConcurrentHashMap", ELEMENTS), Map.entry("java/util/Collections", ELEMENTS),
+            Map.entry("java/lang/StringBuilder", ELEMENTS), Map.entry("java/lang/StringBuffer", ELEMENTS),
+            Map.entry("java/io/ByteArrayOutputStream", ELEMENTS), Map.entry("java/io/CharArrayWriter", ELEMENTS),
+            Map.entry("java/io/StringWriter", ELEMENTS), Map.entry("java/io/BufferedReader", ELEMENTS),
+            Map.entry("java/io/BufferedWriter", ELEMENTS), Map.entry("java/io/BufferedInputStream", ELEMENTS),
+            Map.entry("java/io/BufferedOutputStream", ELEMENTS), Map.entry("java/io/PushbackInputStream", ELEMENTS),
+            Map.entry("java/io/PushbackReader", ELEMENTS),
+            Map.entry("java/util/BitSet", BITS), Map.entry("java/math/BigInteger", BITS));
+
+    // Stream types whose JDK-built instances get a checking stage; see SandboxGuard.stream
+    private static final Map<String, String> STREAM_GUARDS = Map.of(
+            "java/util/stream/Stream", "stream", "java/util/stream/IntStream", "intStream",
+            "java/util/stream/LongStream", "longStream", "java/util/stream/DoubleStream", "doubleStream");
+
+    private static final Set<String> ALLOWED_BOOTSTRAPS = Set.of(
+            "java/lang/invoke/LambdaMetafactory", "java/lang/invoke/StringConcatFactory",
+            "java/lang/runtime/ObjectMethods", "java/lang/runtime/SwitchBootstraps");
+
+    private SandboxInstrumenter() {
+    }
+
+    static Map<String, byte[]> instrument(Map<String, byte[]> classes) throws RejectedException {
+        Set<String> local = new HashSet<>();
+        for (String name : classes.keySet()) {
+            local.add(name.replace('.', '/'));
+        }
+
+        Map<String, byte[]> instrumented = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            ClassReader reader = new ClassReader(entry.getValue());
+            ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+            GuardingClassVisitor visitor = new GuardingClassVisitor(writer, local);
+            reader.accept(visitor, 0);
+            if (visitor.rejection != null) {
+                throw new RejectedException(visitor.rejection);
+            }
+            instrumented.put(entry.getKey(), writer.toByteArray());
+        }
+        return instrumented;
+    }
+
+    static boolean isAllowedType(String internalName, Set<String> local) {
+        String name = internalName;
+        while (name.startsWith("[")) {
+            name = name.substring(1);
+        }
+        if (name.length() == 1) {
+            return true; // primitive array element
+        }
+        if (name.startsWith("L") && name.endsWith(";")) {
+            name = name.substring(1, name.length() - 1);
+        }
+        if (local.contains(name)) {
+            return true;
+        }
+        if (DENIED_CLASSES.contains(name)) {
+            return false;
+        }
+        for (String allowed : CONCURRENT_ALLOWED) {
+            if (name.startsWith(allowed)) {
+                return true;
+            }
+        }
+        for (String denied : DENIED_PREFIXES) {
+            if (name.startsWith(denied)) {
+                return false;
+            }
+        }
+        for (String allowed : ALLOWED_PREFIXES) {
+            if (name.startsWith(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isAllowedMember(String owner, String name, String descriptor, Set<String> local) {
+        if (!isAllowedType(owner, local)) {
+            return false;
+        }
+        switch (owner) {
+            case "java/lang/System":
+                return SYSTEM_ALLOWED.contains(name);
+            case "java/lang/Class":
+                return CLASS_ALLOWED.contains(name);
+            case "java/lang/Object":
+                return !name.equals("wait");
+            default:
+                break;
+        }
+        if (FILE_NAME_CONSTRUCTORS.contains(owner) && name.equals("<init>")
+                && descriptor.startsWith("(Ljava/lang/String;")) {
+            return false;
+        }
+        // Parallel streams and parallel array ops run candidate code on the common pool, outside the budget
+        return !(owner.startsWith("java/util/") && name.startsWith("parallel"));
+    }
+
+    /**
+     * Number of arguments that follow the size argument of a sized allocation, or -1 if the call
+     * isn't one. Only up to two one-slot arguments can follow, which covers every listed call.
+     */
+    static int sizeArgumentDepth(String owner, String name, String descriptor) {
+        SizedAllocation sized = SIZED_ALLOCATIONS.get(owner);
+        if (sized == null || !sized.methods().contains(name)) {
+            return -1;
+        }
+        Type[] arguments = Type.getArgumentTypes(descriptor);
+        int size = -1;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i].equals(Type.INT_TYPE)) {
+                size = i;
+                if (name.equals("<init>")) {
+                    break;
+                }
+            }
+        }
+        if (size < 0 || arguments.length - size - 1 > 2) {
+            return -1;
+        }
+        for (int i = size + 1; i < arguments.length; i++) {
+            if (arguments[i].getSize() != 1) {
+                return -1;
+            }
+        }
+        return arguments.length - size - 1;
+    }
+
+    private static final class GuardingClassVisitor extends ClassVisitor {
+        private final Set<String> local;
+        private String className;
+        String rejection;
+
+        GuardingClassVisitor(ClassVisitor next, Set<String> local) {
+            super(SpringAsmInfo.ASM_VERSION, next);
+            this.local = local;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name;
+            if (superName != null && !isAllowedType(superName, local)) {
+                reject("extends " + superName);
+            }
+            if (interfaces != null) {
+                for (String type : interfaces) {
+                    if (!isAllowedType(type, local)) {
+                        reject("implements " + type);
+                    }
+                }
+            }
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            if (name.equals("finalize") && descriptor.equals("()V")) {
+                reject("finalize()");
+            }
+            MethodVisitor next = super.visitMethod(access, name, descriptor, signature, exceptions);
+            return new GuardingMethodVisitor(next, this);
+        }
+
+        void reject(String what) {
+            if (rejection == null) {
+                rejection = "Use of " + what.replace('/', '.') + " is not allowed (in " + className.replace('/', '.') + ")";
+            }
+        }
+    }
+
+    private static final class GuardingMethodVisitor extends MethodVisitor {
+        private final GuardingClassVisitor owner;
+        private final Set<Label> seenLabels = new HashSet<>();
+
+        GuardingMethodVisitor(MethodVisitor next, GuardingClassVisitor owner) {
+            super(SpringAsmInfo.ASM_VERSION, next);
+            this.owner = owner;
+        }
+
+        private void guard() {
+            super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "check", "()V", false);
+        }
+
+        private void requireType(String type) {
+            if (!isAllowedType(type, owner.local)) {
+                owner.reject(type);
+            }
+        }
+
+        @Override
+        public void visitCode() {
+            super.visitCode();
+            guard();
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            seenLabels.add(label);
+            super.visitLabel(label);
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            // A jump to an already-visited label is a loop back-edge
+            if (seenLabels.contains(label)) {
+                guard();
+            }
+            super.visitJumpInsn(opcode, label);
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String fieldOwner, String name, String descriptor) {
+            if (opcode == Opcodes.GETSTATIC && fieldOwner.equals("java/lang/System")) {
+                switch (name) {
+                    case "in" -> super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "in", "()Ljava/io/InputStream;", false);
+                    case "out" -> super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "out", "()Ljava/io/PrintStream;", false);
+                    case "err" -> super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "err", "()Ljava/io/PrintStream;", false);
+                    default -> owner.reject("System." + name);
+                }
+                return;
+            }
+            requireType(fieldOwner);
+            super.visitFieldInsn(opcode, fieldOwner, name, descriptor);
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String methodOwner, String name, String descriptor, boolean isInterface) {
+            if (!isAllowedMember(methodOwner, name, descriptor, owner.local)) {
+                owner.reject(methodOwner + "." + name);
+            }
+            // printStackTrace() writes to the real System.err; send it to the captured stream instead
+            if (opcode == Opcodes.INVOKEVIRTUAL && name.equals("printStackTrace") && descriptor.equals("()V")) {
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "err", "()Ljava/io/PrintStream;", false);
+                super.visitMethodInsn(opcode, methodOwner, name, "(Ljava/io/PrintStream;)V", isInterface);
+                return;
+            }
+            // The copy String.repeat makes is the receiver's length times the count
+            if (opcode == Opcodes.INVOKEVIRTUAL && methodOwner.equals("java/lang/String") && name.equals("repeat")) {
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "repeat", "(Ljava/lang/String;I)Ljava/lang/String;", false);
+                return;
+            }
+            // pow's result is the receiver's bit length times the exponent
+            if (opcode == Opcodes.INVOKEVIRTUAL && methodOwner.equals("java/math/BigInteger") && name.equals("pow")) {
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "pow", "(Ljava/math/BigInteger;I)Ljava/math/BigInteger;", false);
+                return;
+            }
+            int depth = sizeArgumentDepth(methodOwner, name, descriptor);
+            if (depth >= 0) {
+                copySizeArgument(depth);
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, SIZED_ALLOCATIONS.get(methodOwner).check(), "(I)V", false);
+            }
+            super.visitMethodInsn(opcode, methodOwner, name, descriptor, isInterface);
+
+            String stream = Type.getReturnType(descriptor).getSort() == Type.OBJECT && !owner.local.contains(methodOwner)
+                    ? STREAM_GUARDS.get(Type.getReturnType(descriptor).getInternalName()) : null;
+            if (stream != null) {
+                String type = Type.getReturnType(descriptor).getDescriptor();
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, stream, "(" + type + ")" + type, false);
+            }
+        }
+
+        // Pushes a copy of the int argument that has depth one-slot arguments above it
+        private void copySizeArgument(int depth) {
+            switch (depth) {
+                case 0 -> super.visitInsn(Opcodes.DUP);
+                case 1 -> {
+                    super.visitInsn(Opcodes.DUP2);
+                    super.visitInsn(Opcodes.POP);
+                }
+                default -> {
+                    super.visitInsn(Opcodes.DUP2_X1);
+                    super.visitInsn(Opcodes.POP2);
+                    super.visitInsn(Opcodes.DUP_X2);
+                }
+            }
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            requireType(type);
+            if (opcode == Opcodes.ANEWARRAY) {
+                super.visitInsn(Opcodes.DUP);
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "checkArray", "(I)V", false);
+            }
+            super.visitTypeInsn(opcode, type);
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            if (opcode == Opcodes.NEWARRAY) {
+                super.visitInsn(Opcodes.DUP);
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "checkArray", "(I)V", false);
+            }
+            super.visitIntInsn(opcode, operand);
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            requireType(descriptor);
+            if (numDimensions == 2) {
+                super.visitInsn(Opcodes.DUP2);
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD, "checkArray2", "(II)V", false);
+                super.visitMultiANewArrayInsn(descriptor, numDimensions);
+            } else {
+                // Deeper arrays are only caught by the allocation check that follows
+                super.visitMultiANewArrayInsn(descriptor, numDimensions);
+                guard();
+            }
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            if (value instanceof Type type && (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY)) {
+                requireType(type.getInternalName());
+            } else if (value instanceof Type || value instanceof Handle || value instanceof ConstantDynamic) {
+                owner.reject("constant " + value);
+            }
+            super.visitLdcInsn(value);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrap, Object... arguments) {
+            if (!ALLOWED_BOOTSTRAPS.contains(bootstrap.getOwner())) {
+                owner.reject(bootstrap.getOwner());
+            }
+            for (Object argument : arguments) {
+                // Method references and lambdas: the target must itself be allowed
+                if (argument instanceof Handle handle
+                        && !isAllowedMember(handle.getOwner(), handle.getName(), handle.getDesc(), owner.local)) {
+                    owner.reject(handle.getOwner() + "." + handle.getName());
+                }
+            }
+            super.visitInvokeDynamicInsn(name, descriptor, bootstrap, arguments);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.GradingStatus;
+import com.msbcgroup.mockinterview.model.InterviewMeeting;
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.repository.InterviewMeetingRepository;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Commits a candidate's submission exactly once per session. Concurrent submits for a session on
+ * this node wait for the first one (single-flight), and across nodes the session is claimed with a
+ * conditional update, so only one request ever queues grading. The claim, the meeting updates and
+ * the grading job commit together, so a session is never submitted without a job. Every other
+ * request, whether a double click or a client retry, gets the original outcome back without
+ * touching the answers or the model, and re-queues grading if the session is somehow still waiting
+ * without a job. An idempotency key, when sent, must match the one the session was submitted with.
+ * A session whose questions are still being generated can't be submitted.
+ */
+@Service
+public class SubmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionService.class);
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private InterviewMeetingRepository meetingRepository;
+
+    @Autowired
+    private AnswerAutosaveService answerAutosaveService;
+
+    @Autowired
+    private EventCountService eventCountService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private GradingService gradingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Submits in progress on this node, by session id
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the submission outcome; "duplicate" is true when the session had already been submitted.
+     * Throws IllegalStateException when it was submitted under a different idempotency key, or when
+     * its questions are still being generated.
+     */
+    public Map<String, Object> submit(String sessionId, Map<String, String> answers, String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyKey.length() > 100) {
+            throw new IllegalArgumentException("Idempotency key must be at most 100 characters");
+        }
+        while (true) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(sessionId, mine);
+            if (running == null) {
+                try {
+                    return submitOnce(sessionId, answers, idempotencyKey);
+                } finally {
+                    inFlight.remove(sessionId, mine);
+                    mine.complete(null);
+                }
+            }
+            // Once the first request is done the session is either submitted (replayed below) or, if it
+            // failed, free for this request to try
+            running.join();
+        }
+    }
+
+    private Map<String, Object> submitOnce(String sessionId, Map<String, String> answers, String idempotencyKey) {
+        InterviewSession session = sessionRepository.findBySessionId(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
+        if (session.getSubmittedAt() != null) {
+            return replay(session, idempotencyKey);
+        }
+        if (session.getGenerationStatus() == GenerationStatus.GENERATING) {
+            throw new IllegalStateException("Interview questions are still being generated.");
+        }
+
+        // Commit the autosaved answers (plus anything sent with the submit); the AI review runs as a queued grading job
+        String answersJson;
+        try {
+            answersJson = mapper.writeValueAsString(answerAutosaveService.commit(session, answers));
+        } catch (Exception e) {
+            throw new RuntimeException("Could not read saved answers for session: " + sessionId, e);
+        }
+        // Grading may run on another node as soon as its job commits, so make this node's events and
+        // counts for the session visible first
+        monitoringService.flushSession(sessionId);
+        eventCountService.flushSession(sessionId);
+
+        LocalDateTime now = LocalDateTime.now();
+        Boolean claimed = transactionTemplate.execute(status -> {
+            if (sessionRepository.markSubmitted(sessionId, answersJson, now, GradingStatus.PENDING, idempotencyKey) == 0) {
+                return false;
+            }
+            List<InterviewMeeting> activeMeetings = meetingRepository.findAllByCandidateEmailAndStatus(
+                    session.getCandidateEmail(), InterviewMeeting.MeetingStatus.SCHEDULED);
+            activeMeetings.forEach(meeting -> {
+                meeting.setStatus(InterviewMeeting.MeetingStatus.COMPLETED);
+                meeting.setLoginToken(null);
+                meeting.setTokenExpiry(null);
+            });
+            meetingRepository.saveAll(activeMeetings);
+            gradingService.enqueue(sessionId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(claimed)) {
+            // Another node claimed it first, or generation was restarted for the session meanwhile
+            InterviewSession current = sessionRepository.findBySessionId(sessionId).orElse(session);
+            if (current.getSubmittedAt() == null) {
+                throw new IllegalStateException("Interview questions are still being generated.");
+            }
+            return replay(current, idempotencyKey);
+        }
+        gradingService.dispatch();
+
+        return outcome(sessionId, now, GradingStatus.PENDING, false);
+    }
+
+    private Map<String, Object> replay(InterviewSession session, String idempotencyKey) {
+        String originalKey = session.getSubmissionKey();
+        if (idempotencyKey != null && originalKey != null && !idempotencyKey.equals(originalKey)) {
+            throw new IllegalStateException("This interview session has already been submitted.");
+        }
+        logger.info("Duplicate submission for session {} answered with the original outcome", session.getSessionId());
+        // Deduplicated against the session's queued or running job, so this only adds one when it is missing
+        if (session.getGradingStatus() == GradingStatus.PENDING && gradingService.submit(session.getSessionId())) {
+            logger.warn("Submitted session {} had no grading job; queued one", session.getSessionId());
+        }
+        return outcome(session.getSessionId(), session.getSubmittedAt(), session.getGradingStatus(), true);
+    }
+
+    private static Map<String, Object> outcome(String sessionId, LocalDateTime submittedAt, GradingStatus gradingStatus,
+                                               boolean duplicate) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Interview submitted successfully");
+        response.put("sessionId", sessionId);
+        response.put("submittedAt", submittedAt);
+        response.put("gradingStatus", gradingStatus);
+        response.put("duplicate", duplicate);
+        return response;
+    }
+}
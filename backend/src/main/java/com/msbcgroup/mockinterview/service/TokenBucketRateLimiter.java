@@ -0,0 +1,49 @@
+package com.msbcgroup.mockinterview.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket shared by all AI calls so the provider quota is respected across use cases.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucketRateLimiter(int requestsPerMinute, int burst) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, waiting for a refill if needed. Returns false if no token
+     * would be available before {@code deadlineNanos} (a System.nanoTime() value).
+     */
+    public boolean acquire(long deadlineNanos) throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (System.nanoTime() + waitNanos > deadlineNanos) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
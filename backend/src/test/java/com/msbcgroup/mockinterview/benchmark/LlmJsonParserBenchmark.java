@@ -0,0 +1,95 @@
+package com.msbcgroup.mockinterview.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.model.InterviewSummary;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.service.LlmJsonParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the shared LlmJsonParser with the per-call ObjectMapper + regex + tree parsing it replaced.
+ * Run main() (or the class from the IDE) and compare gc.alloc.rate.norm, bytes allocated per parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LlmJsonParserBenchmark {
+
+    private LlmJsonParser parser;
+    private String questionsResponse;
+    private String summaryResponse;
+
+    @Setup
+    public void setup() {
+        parser = new LlmJsonParser();
+
+        StringBuilder json = new StringBuilder("```json\n{\n  \"questions\": [\n");
+        for (int i = 1; i <= 25; i++) {
+            json.append("    {\"id\": \"Q").append(i).append("\", \"type\": \"MCQ\", ")
+                    .append("\"question\": \"Which statement about Java collection number ").append(i).append(" is true?\", ")
+                    .append("\"options\": [\"A) It is synchronized\", \"B) It allows nulls\", \"C) It is sorted\", \"D) None of the above\"]},\n");
+        }
+        for (int i = 26; i <= 30; i++) {
+            json.append("    {\"id\": \"Q").append(i).append("\", \"type\": \"Coding\", ")
+                    .append("\"question\": \"Write a method that reverses a linked list in place and explain its complexity.\"}")
+                    .append(i < 30 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n```");
+        questionsResponse = json.toString();
+
+        summaryResponse = "```json\n{\n  \"score\": 18,\n  \"summary\": \"Solid fundamentals with minor gaps in concurrency; 2 tab switches observed.\",\n"
+                + "  \"strengths\": \"OOP design | Collections | SQL joins\",\n"
+                + "  \"improvements\": \"Concurrency | System design | Testing\"\n}\n```";
+    }
+
+    @Benchmark
+    public List<Question> questionsLegacy() throws Exception {
+        String response = questionsResponse;
+        if (response.startsWith("```")) {
+            response = response.replaceAll("```json", "").replaceAll("```", "").trim();
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode root = mapper.readTree(response);
+        return mapper.convertValue(root.get("questions"), new TypeReference<List<Question>>() {});
+    }
+
+    @Benchmark
+    public List<Question> questionsShared() throws Exception {
+        return parser.parseQuestions(questionsResponse);
+    }
+
+    @Benchmark
+    public InterviewSummary summaryLegacy() throws Exception {
+        String response = summaryResponse.replaceAll("```json", "").replaceAll("```", "").trim();
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode root = mapper.readTree(response);
+        return new InterviewSummary(root.get("score").asInt(), root.get("summary").asText(),
+                root.get("strengths").asText(), root.get("improvements").asText(), "");
+    }
+
+    @Benchmark
+    public InterviewSummary summaryShared() throws Exception {
+        return parser.parseSummary(summaryResponse);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LlmJsonParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.msbcgroup.mockinterview.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput of bulk event ingestion against a running backend: 1k, 10k and 100k events stored
+ * first through log-event, one POST per event, then through log-events in arrays of batchSize.
+ * Both use the same number of concurrent senders. The batched path only pays off once inserts
+ * are real JDBC batches, so compare the two at each size. Events the write-behind buffer shed are
+ * counted from the responses (503 for log-event, "dropped" for log-events) and reported, since a
+ * full buffer makes a run look faster than the rows it stored.
+ *
+ * Run main() with: [baseUrl] [batchSize] [senders], e.g. http://localhost:8081 500 8.
+ */
+public class MonitoringBatchIngestBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    private static final Pattern DROPPED = Pattern.compile("\"dropped\"\\s*:\\s*(\\d+)");
+
+    private static final String EVENT_JSON = "{\"sessionId\":\"%s\",\"candidateEmail\":\"loadtest@example.com\","
+            + "\"eventType\":\"TAB_SWITCH\",\"description\":\"Tab switched\",\"metadata\":\"{}\"}";
+
+    record Result(long elapsedNanos, long dropped) {}
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int senders = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        System.out.printf("Batches of %d, %d senders, against %s%n", batchSize, senders, baseUrl);
+        for (int size : SIZES) {
+            String sessionId = "loadtest-batch-" + runId + "-" + size;
+            report("single", size, post(client, URI.create(baseUrl + "/api/monitoring/log-event"), size, 1, senders, sessionId));
+            report("batched", size, post(client, URI.create(baseUrl + "/api/monitoring/log-events"), size, batchSize, senders, sessionId));
+        }
+    }
+
+    // Sends total events in requests of perRequest (1 means the single-event body)
+    static Result post(HttpClient client, URI uri, int total, int perRequest, int senders, String sessionId) throws Exception {
+        String event = EVENT_JSON.formatted(sessionId);
+        int requests = (total + perRequest - 1) / perRequest;
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong dropped = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(senders);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int s = 0; s < senders; s++) {
+            futures.add(pool.submit(() -> {
+                int request;
+                while ((request = next.getAndIncrement()) < requests) {
+                    int count = Math.min(perRequest, total - request * perRequest);
+                    String body = perRequest == 1 ? event : "[" + String.join(",", Collections.nCopies(count, event)) + "]";
+                    HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                                    .build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (perRequest == 1 && response.statusCode() == 503) {
+                        dropped.incrementAndGet();
+                        continue;
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+                    }
+                    Matcher matcher = DROPPED.matcher(response.body());
+                    if (perRequest > 1 && matcher.find()) {
+                        dropped.addAndGet(Long.parseLong(matcher.group(1)));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return new Result(elapsed, dropped.get());
+    }
+
+    private static void report(String path, int events, Result result) {
+        double seconds = result.elapsedNanos() / 1e9;
+        System.out.printf("%-8s %7d events  %8.2f s  %9.0f events/s  %6d dropped%n",
+                path, events, seconds, events / seconds, result.dropped());
+    }
+}
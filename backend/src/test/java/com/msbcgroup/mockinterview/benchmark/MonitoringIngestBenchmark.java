@@ -0,0 +1,164 @@
+package com.msbcgroup.mockinterview.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Load test for proctoring event ingestion against a running backend: N simulated candidates each
+ * send M events, first as one HTTP POST per event (the REST path), then as STOMP SEND frames over
+ * one WebSocket per candidate. A STOMP connection is done when the DISCONNECT receipt arrives;
+ * frames are handled in order, so by then every event it sent has been stored.
+ *
+ * Run main() with: [baseUrl] [candidates] [eventsPerCandidate], e.g. http://localhost:8081 50 200.
+ * Compare events/s and per-event latency of the two paths.
+ */
+public class MonitoringIngestBenchmark {
+
+    private static final String EVENT_JSON = "{\"sessionId\":\"%s\",\"candidateEmail\":\"loadtest@example.com\","
+            + "\"eventType\":\"FACE_NOT_DETECTED\",\"description\":\"No face detected\",\"metadata\":\"{\\\"faceCount\\\":0}\"}";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int candidates = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int eventsPerCandidate = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+
+        System.out.printf("%d candidates x %d events against %s%n", candidates, eventsPerCandidate, baseUrl);
+        report("REST", rest(baseUrl, candidates, eventsPerCandidate, runId), candidates * eventsPerCandidate);
+        report("STOMP", stomp(baseUrl, candidates, eventsPerCandidate, runId), candidates * eventsPerCandidate);
+    }
+
+    record Result(long elapsedNanos, List<Long> latenciesNanos) {}
+
+    static Result rest(String baseUrl, int candidates, int events, String runId) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create(baseUrl + "/api/monitoring/log-event");
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService pool = Executors.newFixedThreadPool(candidates);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < candidates; c++) {
+            String sessionId = "loadtest-rest-" + runId + "-" + c;
+            futures.add(pool.submit(() -> {
+                String body = EVENT_JSON.formatted(sessionId);
+                for (int i = 0; i < events; i++) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    latencies.add(System.nanoTime() - sent);
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return new Result(elapsed, latencies);
+    }
+
+    static Result stomp(String baseUrl, int candidates, int events, String runId) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create(baseUrl.replaceFirst("^http", "ws") + "/ws/websocket");
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService pool = Executors.newFixedThreadPool(candidates);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < candidates; c++) {
+            String sessionId = "loadtest-stomp-" + runId + "-" + c;
+            futures.add(pool.submit(() -> {
+                FrameListener listener = new FrameListener();
+                WebSocket socket = client.newWebSocketBuilder().buildAsync(uri, listener).get(10, TimeUnit.SECONDS);
+                socket.sendText("CONNECT\naccept-version:1.2\nhost:localhost\nheart-beat:0,0\n\n\0", true).join();
+                listener.await("CONNECTED");
+
+                String frame = "SEND\ndestination:/app/monitoring-event\ncontent-type:application/json\n\n"
+                        + EVENT_JSON.formatted(sessionId) + "\0";
+                long connectionStart = System.nanoTime();
+                for (int i = 0; i < events; i++) {
+                    socket.sendText(frame, true).join();
+                }
+                socket.sendText("DISCONNECT\nreceipt:done\n\n\0", true).join();
+                listener.await("RECEIPT");
+                // Amortized: the connection's time to a stored receipt, spread over its events
+                long perEvent = (System.nanoTime() - connectionStart) / events;
+                for (int i = 0; i < events; i++) {
+                    latencies.add(perEvent);
+                }
+                socket.abort();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return new Result(elapsed, latencies);
+    }
+
+    // Collects server frames (NUL-terminated, possibly split across messages) and lets a caller wait for a command
+    static final class FrameListener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+        private final BlockingQueue<String> commands = new LinkedBlockingQueue<>();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            int end;
+            while ((end = buffer.indexOf("\0")) >= 0) {
+                String frame = buffer.substring(0, end).stripLeading();
+                buffer.delete(0, end + 1);
+                if (!frame.isEmpty()) {
+                    commands.add(frame.substring(0, frame.indexOf('\n') > 0 ? frame.indexOf('\n') : frame.length()));
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        void await(String command) throws InterruptedException {
+            while (true) {
+                String next = commands.poll(60, TimeUnit.SECONDS);
+                if (next == null) {
+                    throw new IllegalStateException("Timed out waiting for " + command);
+                }
+                if (next.equals("ERROR")) {
+                    throw new IllegalStateException("STOMP error while waiting for " + command);
+                }
+                if (next.equals(command)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void report(String path, Result result, int totalEvents) {
+        List<Long> sorted = new ArrayList<>(result.latenciesNanos());
+        Collections.sort(sorted);
+        double seconds = result.elapsedNanos() / 1e9;
+        System.out.printf("%-5s %8.0f events/s  per event p50 %7.3f ms  p99 %7.3f ms%n",
+                path, totalEvents / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1)) / 1e6;
+    }
+}
@@ -0,0 +1,68 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.model.SessionAnswer;
+import com.msbcgroup.mockinterview.repository.SessionAnswerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnswerAutosaveServiceTest {
+
+    private static SessionAnswer saved(String questionId, String answer) {
+        SessionAnswer row = new SessionAnswer();
+        row.setSessionId("s1");
+        row.setQuestionId(questionId);
+        row.setAnswer(answer);
+        return row;
+    }
+
+    @Test
+    void commitMapsSavedAnswersToQuestionPositionsAndLetsSubmittedValuesWin() throws Exception {
+        SessionAnswerRepository repository = mock(SessionAnswerRepository.class);
+        when(repository.findBySessionId("s1")).thenReturn(List.of(saved("Q2", "B"), saved("Q3", "old code")));
+        AnswerAutosaveService service = new AnswerAutosaveService();
+        ReflectionTestUtils.setField(service, "answerRepository", repository);
+
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("s1");
+        session.setQuestionsJson("[{\"id\":\"Q1\",\"type\":\"MCQ\",\"question\":\"a\"},"
+                + "{\"id\":\"Q2\",\"type\":\"MCQ\",\"question\":\"b\"},"
+                + "{\"id\":\"Q3\",\"type\":\"Coding\",\"question\":\"c\"}]");
+
+        Map<String, String> committed = service.commit(session, Map.of("answer2", "new code"));
+
+        assertEquals(Map.of("answer1", "B", "answer2", "new code"), committed);
+    }
+
+    @Test
+    void staleRevisionsAreNotCountedAsSaved() {
+        SessionAnswerRepository repository = mock(SessionAnswerRepository.class);
+        // Q1 has a newer stored revision, Q2 an older one, Q3 is saved for the first time
+        when(repository.updateIfNewer(eq("s1"), eq("Q2"), any(), anyLong(), any())).thenReturn(1);
+        when(repository.insertIfAbsent(eq("s1"), eq("Q3"), any(), anyLong(), any())).thenReturn(1);
+        AnswerAutosaveService service = new AnswerAutosaveService();
+        ReflectionTestUtils.setField(service, "answerRepository", repository);
+        ReflectionTestUtils.setField(service, "answerGradingService", mock(AnswerGradingService.class));
+        ReflectionTestUtils.setField(service, "maxDeltas", 50);
+        ReflectionTestUtils.setField(service, "maxAnswerKb", 64);
+
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("s1");
+
+        int saved = service.saveDeltas(session, List.of(
+                new AnswerAutosaveService.AnswerDelta("Q1", "old", 3, false),
+                new AnswerAutosaveService.AnswerDelta("Q2", "newer", 7, false),
+                new AnswerAutosaveService.AnswerDelta("Q3", "first", 1, false)));
+
+        assertEquals(2, saved);
+        // The stale Q1 was retried once in case a concurrent first save raced its insert
+        verify(repository, times(2)).updateIfNewer(eq("s1"), eq("Q1"), any(), anyLong(), any());
+    }
+}
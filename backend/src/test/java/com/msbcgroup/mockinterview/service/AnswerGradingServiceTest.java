@@ -0,0 +1,109 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.*;
+import com.msbcgroup.mockinterview.repository.SessionAnswerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AnswerGradingServiceTest {
+
+    private static SessionAnswer graded(String questionId, String answer, int points, String feedback) {
+        SessionAnswer row = new SessionAnswer();
+        row.setQuestionId(questionId);
+        row.setAnswer(answer);
+        row.setRevision(5L);
+        row.setGradedRevision(5L);
+        row.setPoints(points);
+        row.setFeedback(feedback);
+        return row;
+    }
+
+    private static AnswerGradingService service(SessionAnswerRepository repository, LlmGovernor governor) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        AnswerGradingService service = new AnswerGradingService(mock(ChatClient.Builder.class));
+        ReflectionTestUtils.setField(service, "answerRepository", repository);
+        ReflectionTestUtils.setField(service, "llmGovernor", governor);
+        ReflectionTestUtils.setField(service, "llmJsonParser", new LlmJsonParser());
+        ReflectionTestUtils.setField(service, "codeExecutionService", mock(CodeExecutionService.class));
+        ReflectionTestUtils.setField(service, "executor", executor);
+        return service;
+    }
+
+    @Test
+    void rollUpReusesCurrentGradesAndScoresOnlyUnkeyedQuestions() throws Exception {
+        SessionAnswerRepository repository = mock(SessionAnswerRepository.class);
+        when(repository.findBySessionId("s1")).thenReturn(List.of(
+                graded("Q2", "code one", 1, "Correct use of a hash map"),
+                graded("Q3", "code two", 0, "Misses the empty input case")));
+        LlmGovernor governor = mock(LlmGovernor.class);
+        when(governor.callHedged(eq(LlmUseCase.GRADING), any(), any())).thenReturn("{\"recommendation\": \"Move forward\"}");
+        AnswerGradingService service = service(repository, governor);
+
+        Question keyed = new Question("Q1", "MCQ", "Pick one", List.of("A) x", "B) y"));
+        keyed.setAnswer("B");
+        List<Question> questions = List.of(keyed,
+                new Question("Q2", "Coding", "Two sum", null),
+                new Question("Q3", "Coding", "Reverse a list", null));
+        Map<String, String> answers = Map.of("answer0", "B", "answer1", "code one", "answer2", "code two");
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("s1");
+
+        InterviewSummary summary = service.rollUp(session, questions, answers, McqScorer.score(questions, answers), Map.of());
+
+        assertEquals(1, summary.getScore());
+        assertTrue(summary.getSummary().startsWith("Scored 2 of 3"), summary.getSummary());
+        assertEquals("Correct use of a hash map", summary.getStrengths());
+        assertEquals("Misses the empty input case", summary.getImprovements());
+        assertEquals("Move forward", summary.getRecommendation());
+        // Only the recommendation; both reviewed answers reused their grades
+        verify(governor, times(1)).callHedged(eq(LlmUseCase.GRADING), any(), any());
+    }
+
+    @Test
+    void rollUpGradesOutstandingAnswersInParallel() throws Exception {
+        SessionAnswerRepository repository = mock(SessionAnswerRepository.class);
+        when(repository.findBySessionId("s1")).thenReturn(List.of());
+        // Each grading call waits until the other has started, so they only finish if run together
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicInteger calls = new AtomicInteger();
+        LlmGovernor governor = mock(LlmGovernor.class);
+        when(governor.callHedged(eq(LlmUseCase.GRADING), any(), any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() > 2) {
+                throw new RuntimeException("model unavailable");
+            }
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "grading ran one answer at a time");
+            return "{\"score\": 1, \"feedback\": \"Correct approach\"}";
+        });
+        AnswerGradingService service = service(repository, governor);
+
+        List<Question> questions = List.of(
+                new Question("Q1", "Coding", "Two sum", null),
+                new Question("Q2", "Coding", "Reverse a list", null));
+        Map<String, String> answers = Map.of("answer0", "code one", "answer1", "code two");
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("s1");
+
+        InterviewSummary summary = service.rollUp(session, questions, answers, McqScorer.score(questions, answers), Map.of());
+
+        assertEquals(2, summary.getScore());
+        // The recommendation call failed, which leaves the grade intact
+        assertEquals("No recommendation available", summary.getRecommendation());
+    }
+}
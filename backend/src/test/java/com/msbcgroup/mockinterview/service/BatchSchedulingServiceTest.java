@@ -0,0 +1,114 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.BatchItemStatus;
+import com.msbcgroup.mockinterview.model.ScheduleBatch;
+import com.msbcgroup.mockinterview.model.ScheduleBatchItem;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import com.msbcgroup.mockinterview.repository.ScheduleBatchItemRepository;
+import com.msbcgroup.mockinterview.repository.ScheduleBatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchSchedulingServiceTest {
+
+    private ScheduleBatchRepository batchRepository;
+    private ScheduleBatchItemRepository itemRepository;
+    private QuestionGenerationService questionGenerationService;
+    private ThreadPoolTaskExecutor batchExecutor;
+    private ThreadPoolTaskExecutor itemExecutor;
+    private BatchSchedulingService service;
+
+    @BeforeEach
+    void setUp() {
+        batchRepository = mock(ScheduleBatchRepository.class);
+        itemRepository = mock(ScheduleBatchItemRepository.class);
+        questionGenerationService = mock(QuestionGenerationService.class);
+        batchExecutor = mock(ThreadPoolTaskExecutor.class);
+        JobQueueService jobQueueService = mock(JobQueueService.class);
+        when(jobQueueService.getNodeId()).thenReturn("node-1");
+
+        // More threads than any batch may use, so only the batch's own limit holds work back
+        itemExecutor = new ThreadPoolTaskExecutor();
+        itemExecutor.setCorePoolSize(8);
+        itemExecutor.setMaxPoolSize(8);
+        itemExecutor.initialize();
+
+        service = new BatchSchedulingService();
+        ReflectionTestUtils.setField(service, "batchRepository", batchRepository);
+        ReflectionTestUtils.setField(service, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(service, "sessionRepository", mock(InterviewSessionRepository.class));
+        ReflectionTestUtils.setField(service, "questionGenerationService", questionGenerationService);
+        ReflectionTestUtils.setField(service, "batchExecutor", batchExecutor);
+        ReflectionTestUtils.setField(service, "itemExecutor", itemExecutor);
+        ReflectionTestUtils.setField(service, "jobQueueService", jobQueueService);
+        ReflectionTestUtils.setField(service, "defaultParallelism", 4);
+        ReflectionTestUtils.setField(service, "maxParallelism", 16);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 120L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemExecutor.shutdown();
+    }
+
+    @Test
+    void batchNeverRunsMoreCandidatesAtOnceThanItsParallelism() {
+        ScheduleBatch batch = new ScheduleBatch();
+        batch.setBatchId("batch-1");
+        batch.setParallelism(2);
+        when(batchRepository.findById("batch-1")).thenReturn(Optional.of(batch));
+
+        List<ScheduleBatchItem> pending = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ScheduleBatchItem item = new ScheduleBatchItem("batch-1", "c" + i + "@example.com");
+            item.setId((long) i);
+            item.setSessionId("session-" + i);
+            pending.add(item);
+        }
+        when(itemRepository.findByBatchIdAndStatus("batch-1", BatchItemStatus.PENDING)).thenReturn(pending);
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(questionGenerationService.generateNow(anyString())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            active.decrementAndGet();
+            return true;
+        });
+        when(batchRepository.complete(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            // The batch only completes once every candidate handed over has finished
+            assertEquals(0, active.get());
+            return 1;
+        });
+
+        service.runBatch("batch-1");
+
+        verify(questionGenerationService, times(6)).generateNow(anyString());
+        assertEquals(2, peak.get());
+        verify(batchRepository).complete(eq("batch-1"), eq("node-1"), eq(ScheduleBatch.BatchStatus.RUNNING),
+                eq(ScheduleBatch.BatchStatus.COMPLETED), any());
+    }
+
+    @Test
+    void requestedParallelismIsClampedToTheConfiguredMaximum() {
+        ScheduleBatch tooWide = service.createBatch(List.of("a@example.com"), 64, "hr@example.com");
+        ScheduleBatch unset = service.createBatch(List.of("a@example.com"), null, "hr@example.com");
+        ScheduleBatch zero = service.createBatch(List.of("a@example.com"), 0, "hr@example.com");
+
+        assertEquals(16, tooWide.getParallelism());
+        assertEquals(4, unset.getParallelism());
+        assertEquals(1, zero.getParallelism());
+    }
+}
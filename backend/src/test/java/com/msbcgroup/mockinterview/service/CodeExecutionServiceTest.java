@@ -0,0 +1,119 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.CodeTestCase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodeExecutionServiceTest {
+
+    private static final CodeExecutionService service = new CodeExecutionService();
+    private static final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @BeforeAll
+    static void setUp() {
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        ReflectionTestUtils.setField(service, "executor", executor);
+        ReflectionTestUtils.setField(service, "cpuTimeMs", 1000L);
+        ReflectionTestUtils.setField(service, "memoryMb", 32L);
+        ReflectionTestUtils.setField(service, "outputKb", 16);
+        ReflectionTestUtils.setField(service, "maxSourceKb", 64);
+        ReflectionTestUtils.setField(service, "wallOverheadMs", 10000L);
+        service.init();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsTestCasesAgainstStdinAndStdout() {
+        String source = """
+                import java.util.*;
+                public class Solution {
+                    public static void main(String[] args) {
+                        Scanner in = new Scanner(System.in);
+                        int n = in.nextInt();
+                        List<Integer> values = new ArrayList<>();
+                        for (int i = 0; i < n; i++) values.add(in.nextInt());
+                        System.out.println(values.stream().mapToInt(Integer::intValue).sum());
+                    }
+                }
+                """;
+
+        CodeExecutionService.TestReport report = service.runTests(source, List.of(
+                new CodeTestCase("3\n1 2 3\n", "6\n"),
+                new CodeTestCase("2\n5 5", "10"),
+                new CodeTestCase("1\n7", "8")));
+
+        assertEquals(2, report.passed());
+        assertEquals(3, report.total());
+    }
+
+    @Test
+    void stopsInfiniteLoopsAtTheCpuLimit() {
+        String source = "public class Main { public static void main(String[] a) { long x = 0; while (true) { try { x++; } catch (Throwable t) { } } } }";
+
+        assertEquals(CodeExecutionService.Status.TIME_LIMIT_EXCEEDED, service.run(source, "").status());
+    }
+
+    @Test
+    void rejectsHugeArraysBeforeAllocating() {
+        String source = "public class Main { public static void main(String[] a) { long[] big = new long[200_000_000]; System.out.println(big.length); } }";
+
+        assertEquals(CodeExecutionService.Status.MEMORY_LIMIT_EXCEEDED, service.run(source, "").status());
+    }
+
+    @Test
+    void checksSizedJdkAllocationsAndFinalizers() {
+        String repeat = "public class Main { public static void main(String[] a) { System.out.println(\"a\".repeat(400_000_000).length()); } }";
+        String copy = "import java.util.*; public class Main { public static void main(String[] a) { System.out.println(Arrays.copyOf(new long[1], 40_000_000).length); } }";
+        String finalizer = "public class Main { protected void finalize() { while (true) { } } public static void main(String[] a) { new Main(); } }";
+
+        assertEquals(CodeExecutionService.Status.MEMORY_LIMIT_EXCEEDED, service.run(repeat, "").status());
+        assertEquals(CodeExecutionService.Status.MEMORY_LIMIT_EXCEEDED, service.run(copy, "").status());
+        assertEquals(CodeExecutionService.Status.FORBIDDEN_API, service.run(finalizer, "").status());
+
+        String buffer = "public class Main { public static void main(String[] a) { System.out.println(java.nio.ByteBuffer.allocate(Integer.MAX_VALUE - 8).capacity()); } }";
+        String bits = "public class Main { public static void main(String[] a) { System.out.println(new java.util.BitSet(Integer.MAX_VALUE).size()); } }";
+        String stream = "public class Main { public static void main(String[] a) { System.out.println(java.util.stream.IntStream.range(0, 400_000_000).toArray().length); } }";
+        String smallStream = "import java.util.stream.*; public class Main { public static void main(String[] a) { System.out.println(IntStream.range(0, 100).boxed().collect(Collectors.toList()).size()); } }";
+
+        assertEquals(CodeExecutionService.Status.FORBIDDEN_API, service.run(buffer, "").status());
+        assertEquals(CodeExecutionService.Status.MEMORY_LIMIT_EXCEEDED, service.run(bits, "").status());
+        assertEquals(CodeExecutionService.Status.MEMORY_LIMIT_EXCEEDED, service.run(stream, "").status());
+        assertEquals("100", service.run(smallStream, "").stdout().trim());
+    }
+
+    @Test
+    void rejectsFileAndProcessAccess() {
+        String files = "import java.io.*; public class Main { public static void main(String[] a) throws Exception { new FileReader(\"/etc/passwd\").read(); } }";
+        String process = "public class Main { public static void main(String[] a) throws Exception { Runtime.getRuntime().exec(\"ls\"); } }";
+        String exit = "public class Main { public static void main(String[] a) { System.exit(1); } }";
+
+        assertEquals(CodeExecutionService.Status.FORBIDDEN_API, service.run(files, "").status());
+        assertEquals(CodeExecutionService.Status.FORBIDDEN_API, service.run(process, "").status());
+        assertEquals(CodeExecutionService.Status.FORBIDDEN_API, service.run(exit, "").status());
+    }
+
+    @Test
+    void reportsCompileAndRuntimeErrors() {
+        CodeExecutionService.ExecutionResult compile = service.run("public class Main { void x( }", "");
+        CodeExecutionService.ExecutionResult runtime = service.run(
+                "public class Main { public static void main(String[] a) { int[] x = new int[1]; x[2] = 1; } }", "");
+
+        assertEquals(CodeExecutionService.Status.COMPILE_ERROR, compile.status());
+        assertEquals(CodeExecutionService.Status.RUNTIME_ERROR, runtime.status());
+        assertTrue(runtime.error().contains("ArrayIndexOutOfBoundsException"));
+    }
+}
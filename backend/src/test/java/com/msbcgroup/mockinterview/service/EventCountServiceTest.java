@@ -0,0 +1,47 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import com.msbcgroup.mockinterview.model.SessionEventCount;
+import com.msbcgroup.mockinterview.repository.SessionEventCountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EventCountServiceTest {
+
+    private static SessionEventCount stored(EventType type, long count) {
+        SessionEventCount row = new SessionEventCount();
+        row.setSessionId("s1");
+        row.setEventType(type);
+        row.setEventCount(count);
+        return row;
+    }
+
+    @Test
+    void countsCombineStoredAndUnflushedIncrementsAndFlushAddsOnlyTheDeltas() {
+        SessionEventCountRepository repository = mock(SessionEventCountRepository.class);
+        when(repository.findBySessionId("s1")).thenReturn(List.of(stored(EventType.TAB_SWITCH, 4), stored(EventType.FACE_DETECTED, 9)));
+        EventCountService service = new EventCountService();
+        ReflectionTestUtils.setField(service, "countRepository", repository);
+
+        service.record("s1", EventType.TAB_SWITCH);
+        service.record("s1", EventType.MULTIPLE_FACES);
+        service.record("s1", EventType.MULTIPLE_FACES);
+
+        assertEquals(Map.of(EventType.TAB_SWITCH, 5L, EventType.MULTIPLE_FACES, 2L), service.getViolationCounts("s1"));
+
+        service.flushSession("s1");
+
+        verify(repository).addCount(eq("s1"), eq("TAB_SWITCH"), eq(1L), any());
+        verify(repository).addCount(eq("s1"), eq("MULTIPLE_FACES"), eq(2L), any());
+        verifyNoMoreInteractions(ignoreStubs(repository));
+        assertEquals(Map.of(EventType.TAB_SWITCH, 4L), service.getViolationCounts("s1"));
+    }
+}
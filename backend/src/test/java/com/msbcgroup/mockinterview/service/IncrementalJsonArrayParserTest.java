@@ -0,0 +1,33 @@
+package com.msbcgroup.mockinterview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalJsonArrayParserTest {
+
+    @Test
+    void emitsEachObjectAsSoonAsItCloses() {
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser();
+
+        assertEquals(List.of(), parser.feed("```json\n{\"questions\": [{\"id\": \"Q1\", \"options\": [\"A) {\", \"B"));
+        assertEquals(List.of("{\"id\": \"Q1\", \"options\": [\"A) {\", \"B) }\"]}"), parser.feed(") }\"]}, {\"id\""));
+        assertEquals(List.of("{\"id\": \"Q2\"}"), parser.feed(": \"Q2\"}]}\n```"));
+    }
+
+    @Test
+    void handlesBareArraysAndEscapedQuotes() {
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser();
+        String json = "Here you go: [{\"question\": \"What does \\\"}\\\" do?\"}, {\"question\": \"x\"}]";
+
+        List<String> objects = new ArrayList<>();
+        for (char c : json.toCharArray()) {
+            objects.addAll(parser.feed(String.valueOf(c)));
+        }
+
+        assertEquals(List.of("{\"question\": \"What does \\\"}\\\" do?\"}", "{\"question\": \"x\"}"), objects);
+    }
+}
@@ -0,0 +1,75 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.BackgroundJob;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobStatus;
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import com.msbcgroup.mockinterview.repository.BackgroundJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JobQueueServiceTest {
+
+    private BackgroundJobRepository repository;
+    private JobQueueService queue;
+    private final List<String> deadLettered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BackgroundJobRepository.class);
+        when(repository.finish(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+        queue = new JobQueueService();
+        ReflectionTestUtils.setField(queue, "jobRepository", repository);
+    }
+
+    private JobQueueService.Registration failingRegistration() {
+        return new JobQueueService.Registration(payload -> {
+            throw new RuntimeException("model unavailable");
+        }, null, 3, 30, (payload, error) -> deadLettered.add(payload), payload -> {});
+    }
+
+    private BackgroundJob claimedJob(int attempts) {
+        BackgroundJob job = new BackgroundJob();
+        job.setId(7L);
+        job.setJobType(JobType.GRADING);
+        job.setPayload("session-1");
+        job.setStatus(JobStatus.RUNNING);
+        job.setAttempts(attempts);
+        job.setMaxAttempts(3);
+        return job;
+    }
+
+    @Test
+    void successfulJobIsMarkedDone() {
+        queue.run(claimedJob(1), new JobQueueService.Registration(payload -> {}, null, 3, 30, (p, e) -> {}, p -> {}));
+
+        verify(repository).finish(eq(7L), any(), eq(JobStatus.RUNNING), eq(JobStatus.DONE), isNull(), isNull(), isNull(), any());
+    }
+
+    @Test
+    void failedAttemptIsRequeuedWithExponentialBackoff() {
+        LocalDateTime before = LocalDateTime.now();
+        queue.run(claimedJob(2), failingRegistration());
+
+        verify(repository).finish(eq(7L), any(), eq(JobStatus.RUNNING), eq(JobStatus.QUEUED), eq(Boolean.TRUE),
+                argThat(runAt -> !runAt.isBefore(before.plusSeconds(60))), eq("model unavailable"), any());
+        assertTrue(deadLettered.isEmpty());
+    }
+
+    @Test
+    void finalFailedAttemptIsDeadLettered() {
+        queue.run(claimedJob(3), failingRegistration());
+
+        verify(repository).finish(eq(7L), any(), eq(JobStatus.RUNNING), eq(JobStatus.DEAD), isNull(), isNull(), eq("model unavailable"), any());
+        assertEquals(List.of("session-1"), deadLettered);
+    }
+}
@@ -0,0 +1,60 @@
+package com.msbcgroup.mockinterview.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LlmGovernorTest {
+
+    @Test
+    void releasesTheLosingAttemptsSlotWhenThePrimaryWins() throws Exception {
+        LlmGovernor governor = new LlmGovernor();
+        ReflectionTestUtils.setField(governor, "questionGenerationPool", 1);
+        ReflectionTestUtils.setField(governor, "resumeParsingPool", 1);
+        ReflectionTestUtils.setField(governor, "gradingPool", 2);
+        ReflectionTestUtils.setField(governor, "rescoringPool", 1);
+        ReflectionTestUtils.setField(governor, "requestsPerMinute", 600);
+        ReflectionTestUtils.setField(governor, "burst", 10);
+        ReflectionTestUtils.setField(governor, "maxQueueWaitSeconds", 5L);
+        ReflectionTestUtils.setField(governor, "questionGenerationDeadlineSeconds", 10L);
+        ReflectionTestUtils.setField(governor, "resumeParsingDeadlineSeconds", 10L);
+        ReflectionTestUtils.setField(governor, "gradingDeadlineSeconds", 10L);
+        ReflectionTestUtils.setField(governor, "rescoringDeadlineSeconds", 10L);
+        ReflectionTestUtils.setField(governor, "hedgedUseCases", Set.of(LlmUseCase.GRADING));
+        ReflectionTestUtils.setField(governor, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(governor, "hedgeInitialDelayMs", 50L);
+        ReflectionTestUtils.setField(governor, "hedgeMinDelayMs", 10L);
+        governor.init();
+
+        // The primary answers after the hedge has gone out; the hedge would take far longer
+        AtomicInteger calls = new AtomicInteger();
+        String result = governor.callHedged(LlmUseCase.GRADING, () -> {
+            long sleepMs = calls.incrementAndGet() == 1 ? 300 : 30_000;
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                throw new RuntimeException("interrupted");
+            }
+            return sleepMs == 300 ? "primary" : "hedge";
+        }, response -> true);
+
+        assertEquals("primary", result);
+        assertEquals(2, calls.get());
+        long deadline = System.currentTimeMillis() + 2000;
+        while (availableGradingSlots(governor) < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, availableGradingSlots(governor));
+        governor.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int availableGradingSlots(LlmGovernor governor) {
+        return (int) ((Map<String, Object>) governor.getMetrics().get("GRADING")).get("availableSlots");
+    }
+}
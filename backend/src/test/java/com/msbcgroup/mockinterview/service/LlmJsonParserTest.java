@@ -0,0 +1,50 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.InterviewSummary;
+import com.msbcgroup.mockinterview.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmJsonParserTest {
+
+    private final LlmJsonParser parser = new LlmJsonParser();
+
+    @Test
+    void parsesFencedQuestionsWithSurroundingProse() throws Exception {
+        String response = "Sure! Here are your questions:\n```json\n{\"questions\": [{\"id\": \"Q1\", \"type\": \"MCQ\", "
+                + "\"question\": \"Pick one\", \"options\": [\"A) x\", \"B) y\"], \"difficulty\": \"easy\"}]}\n```\nGood luck!";
+
+        List<Question> questions = parser.parseQuestions(response);
+
+        assertEquals(1, questions.size());
+        assertEquals("Pick one", questions.get(0).getQuestion());
+        assertEquals(List.of("A) x", "B) y"), questions.get(0).getOptions());
+    }
+
+    @Test
+    void parsesSummaryWithTrailingCommaAndMissingFields() throws Exception {
+        InterviewSummary summary = parser.parseSummary("```json\n{\"score\": \"17\", \"summary\": \"Good\", \"strengths\": null,}\n```");
+
+        assertEquals(17, summary.getScore());
+        assertEquals("Good", summary.getSummary());
+        assertEquals("No strengths identified", summary.getStrengths());
+        assertTrue(parser.parseQuestions("no json here").isEmpty());
+    }
+
+    @Test
+    void parsesBatchedSummariesByCandidateLabel() throws Exception {
+        Map<String, InterviewSummary> summaries = parser.parseSummaryBatch("```json\n{\"results\": ["
+                + "{\"candidate\": \"C2\", \"score\": 3, \"summary\": \"Solid\"},"
+                + "{\"score\": 1, \"summary\": \"Unlabelled\"},"
+                + "{\"candidate\": \"C1\", \"score\": \"2\", \"summary\": \"Fair\",},]}\n```");
+
+        assertEquals(2, summaries.size());
+        assertEquals(3, summaries.get("C2").getScore());
+        assertEquals("Fair", summaries.get("C1").getSummary());
+    }
+}
@@ -0,0 +1,36 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McqScorerTest {
+
+    @Test
+    void matchesSubmittedOptionTextAgainstLetterKey() {
+        assertTrue(McqScorer.isCorrect("B", "B) A HashMap allows one null key"));
+        assertTrue(McqScorer.isCorrect("b)", "B) A HashMap allows one null key"));
+        assertFalse(McqScorer.isCorrect("C", "B) A HashMap allows one null key"));
+        assertFalse(McqScorer.isCorrect("B", ""));
+        assertTrue(McqScorer.isCorrect("A HashMap allows one null key", "B)  a hashmap allows one null key"));
+    }
+
+    @Test
+    void scoresOnlyKeyedMcqsByPosition() {
+        Question keyed = new Question("Q1", "MCQ", "Pick", List.of("A) x", "B) y"));
+        keyed.setAnswer("A");
+        Question unkeyed = new Question("Q2", "MCQ", "Pick again", List.of("A) x", "B) y"));
+        Question coding = new Question("Q3", "Coding", "Reverse a string", null);
+
+        McqScorer.Result result = McqScorer.score(List.of(keyed, unkeyed, coding),
+                Map.of("answer0", "A) x", "answer1", "B) y", "answer2", "return new StringBuilder(s).reverse();"));
+
+        assertEquals(new McqScorer.Result(1, 1), result);
+    }
+}
@@ -0,0 +1,45 @@
+package com.msbcgroup.mockinterview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MicroBatcherTest {
+
+    @Test
+    void flushesFullBatchAsOneCallAndSplitsResults() throws Exception {
+        List<List<Integer>> calls = new CopyOnWriteArrayList<>();
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(3, 60_000, items -> {
+            calls.add(items);
+            return items.stream().map(i -> "r" + i).toList();
+        });
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        CompletableFuture<String> third = batcher.submit(3);
+
+        assertEquals("r1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("r2", second.get(5, TimeUnit.SECONDS));
+        assertEquals("r3", third.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1, 2, 3)), calls);
+        batcher.shutdown();
+    }
+
+    @Test
+    void flushesPartialBatchAfterWaitAndCompletesMissingResultsWithNull() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(10, 50, items -> List.of("only-first"));
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertEquals("only-first", first.get(5, TimeUnit.SECONDS));
+        assertNull(second.get(5, TimeUnit.SECONDS));
+        batcher.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import com.msbcgroup.mockinterview.repository.MonitoringEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MonitoringEventBufferTest {
+
+    private static MonitoringEvent event(EventType type) {
+        MonitoringEvent event = new MonitoringEvent();
+        event.setSessionId("s1");
+        event.setCandidateEmail("c@example.com");
+        event.setEventType(type);
+        return event;
+    }
+
+    @Test
+    void fullBufferAppliesEachTypesPolicyAndRetriesFailedFlushes() {
+        MonitoringEventRepository repository = mock(MonitoringEventRepository.class);
+        MonitoringEventBuffer buffer = new MonitoringEventBuffer();
+        ReflectionTestUtils.setField(buffer, "eventRepository", repository);
+        ReflectionTestUtils.setField(buffer, "capacity", 2);
+        ReflectionTestUtils.setField(buffer, "flushSize", 10);
+        ReflectionTestUtils.setField(buffer, "offerTimeoutMs", 1L);
+        ReflectionTestUtils.setField(buffer, "dropTypes", EnumSet.of(EventType.FACE_DETECTED));
+        // Configured without it, INTERVIEW_TERMINATED is still never dropped
+        ReflectionTestUtils.setField(buffer, "writeThroughTypes", EnumSet.noneOf(EventType.class));
+        // Not enabled, so no flusher thread: flushes are driven by the test
+        buffer.start();
+
+        assertTrue(buffer.offer(event(EventType.TAB_SWITCH)));
+        assertTrue(buffer.offer(event(EventType.MULTIPLE_FACES)));
+        assertFalse(buffer.offer(event(EventType.FACE_DETECTED)));
+        assertFalse(buffer.offer(event(EventType.WINDOW_BLUR)));
+        assertTrue(buffer.offer(event(EventType.INTERVIEW_TERMINATED)));
+        verify(repository).save(argThat(e -> e.getEventType() == EventType.INTERVIEW_TERMINATED));
+        // A closed interval is written through whatever its type's policy
+        assertTrue(buffer.offer(event(EventType.FACE_DETECTED), true));
+        verify(repository).save(argThat(e -> e.getEventType() == EventType.FACE_DETECTED));
+
+        // The batch list is reused, so record its size at each call
+        List<Integer> batchSizes = new ArrayList<>();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            if (batchSizes.size() == 1) {
+                throw new RuntimeException("database down");
+            }
+            return List.of();
+        });
+        assertFalse(buffer.flushOnce());
+        assertEquals(2, buffer.getMetrics().get("queueDepth"));
+        assertTrue(buffer.flushOnce());
+        assertEquals(List.of(2, 2), batchSizes);
+
+        Map<String, Object> metrics = buffer.getMetrics();
+        assertEquals(0, metrics.get("queueDepth"));
+        assertEquals(2L, metrics.get("stored"));
+        assertEquals(2L, metrics.get("writtenThrough"));
+        assertEquals(2L, metrics.get("dropped"));
+        assertEquals(1L, metrics.get("failedFlushes"));
+
+        // After shutdown starts, droppable events are refused and write-through ones still stored
+        buffer.drain();
+        assertFalse(buffer.offer(event(EventType.TAB_SWITCH)));
+        verify(repository, never()).save(argThat(e -> e.getEventType() == EventType.TAB_SWITCH));
+        verifyNoMoreInteractions(ignoreStubs(repository));
+    }
+}
@@ -0,0 +1,64 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitoringEventCoalescerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    private static MonitoringEvent event(EventType type, int second) {
+        MonitoringEvent event = new MonitoringEvent();
+        event.setSessionId("s1");
+        event.setCandidateEmail("c@example.com");
+        event.setEventType(type);
+        event.setTimestamp(T0.plusSeconds(second));
+        event.setEndedAt(T0.plusSeconds(second));
+        return event;
+    }
+
+    @Test
+    void foldsConsecutiveSameTypeEventsAndClosesOnTypeChangeGapOrIdle() {
+        MonitoringEventCoalescer coalescer = new MonitoringEventCoalescer();
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "coalescedTypes", EnumSet.of(EventType.FACE_NOT_DETECTED));
+        ReflectionTestUtils.setField(coalescer, "maxGapSeconds", 10L);
+        ReflectionTestUtils.setField(coalescer, "maxIntervalSeconds", 120L);
+
+        // Thirty seconds looking away, one event a second
+        for (int second = 0; second < 30; second++) {
+            assertTrue(coalescer.accept(event(EventType.FACE_NOT_DETECTED, second)).isEmpty());
+        }
+
+        // A tab switch closes the run and is stored as it is
+        MonitoringEvent tabSwitch = event(EventType.TAB_SWITCH, 31);
+        List<MonitoringEvent> ready = coalescer.accept(tabSwitch);
+        assertEquals(2, ready.size());
+        MonitoringEvent interval = ready.get(0);
+        assertEquals(30, interval.getOccurrences());
+        assertEquals(T0, interval.getTimestamp());
+        assertEquals(T0.plusSeconds(29), interval.getEndedAt());
+        assertEquals(29, MonitoringEventCoalescer.durationSeconds(interval));
+        assertEquals(tabSwitch, ready.get(1));
+
+        // Events further apart than the gap are separate intervals
+        coalescer.accept(event(EventType.FACE_NOT_DETECTED, 40));
+        List<MonitoringEvent> afterGap = coalescer.accept(event(EventType.FACE_NOT_DETECTED, 60));
+        assertEquals(1, afterGap.size());
+        assertEquals(1, afterGap.get(0).getOccurrences());
+
+        assertTrue(coalescer.closeIdle(T0.plusSeconds(65)).isEmpty());
+        List<MonitoringEvent> idle = coalescer.closeIdle(T0.plusSeconds(71));
+        assertEquals(1, idle.size());
+        assertEquals(0, coalescer.getOpenIntervals());
+    }
+}
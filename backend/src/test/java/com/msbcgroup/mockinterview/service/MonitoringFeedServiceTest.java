@@ -0,0 +1,52 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.model.MonitoringEvent.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitoringFeedServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    private static MonitoringEvent event(String sessionId, EventType type, int second) {
+        MonitoringEvent event = new MonitoringEvent();
+        event.setSessionId(sessionId);
+        event.setCandidateEmail(sessionId + "@example.com");
+        event.setEventType(type);
+        event.setTimestamp(T0.plusSeconds(second));
+        return event;
+    }
+
+    @Test
+    void subscriberGetsMatchingEventsFoldedPerSessionAndTypeWithinABoundedBuffer() {
+        MonitoringFeedService.Subscriber subscriber = new MonitoringFeedService.Subscriber("sub-1", new SseEmitter(),
+                Set.of("s1", "s2"), Set.of(EventType.FACE_NOT_DETECTED, EventType.TAB_SWITCH), 2);
+
+        assertFalse(subscriber.matches(event("s3", EventType.TAB_SWITCH, 0)));
+        assertFalse(subscriber.matches(event("s1", EventType.FACE_DETECTED, 0)));
+
+        // A burst from one session is one entry
+        for (int second = 0; second < 20; second++) {
+            subscriber.offer(event("s1", EventType.FACE_NOT_DETECTED, second));
+        }
+        subscriber.offer(event("s2", EventType.TAB_SWITCH, 5));
+        // The buffer holds two entries, so a third session/type is dropped and counted
+        subscriber.offer(event("s2", EventType.FACE_NOT_DETECTED, 6));
+
+        List<MonitoringFeedService.FeedEntry> entries = subscriber.takePending();
+        assertEquals(2, entries.size());
+        MonitoringFeedService.FeedEntry burst = entries.get(0);
+        assertEquals(20, burst.count);
+        assertEquals(T0, burst.firstAt);
+        assertEquals(T0.plusSeconds(19), burst.lastAt);
+        assertEquals(1, subscriber.takeDropped());
+        assertFalse(subscriber.hasPending());
+    }
+}
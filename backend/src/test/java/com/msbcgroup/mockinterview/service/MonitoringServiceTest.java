@@ -0,0 +1,78 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.MonitoringEvent;
+import com.msbcgroup.mockinterview.repository.MonitoringEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MonitoringServiceTest {
+
+    private static Map<String, Object> event(String type) {
+        return Map.of("sessionId", "s1", "candidateEmail", "c@example.com", "eventType", type);
+    }
+
+    @Test
+    void storesValidEventsOfABatchTogetherAndReportsTheRestByIndex() {
+        MonitoringEventRepository eventRepository = mock(MonitoringEventRepository.class);
+        EventCountService eventCountService = mock(EventCountService.class);
+        MonitoringService service = new MonitoringService();
+        ReflectionTestUtils.setField(service, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(service, "eventCountService", eventCountService);
+        ReflectionTestUtils.setField(service, "eventBuffer", mock(MonitoringEventBuffer.class));
+        // Coalescing off: every event is its own row
+        ReflectionTestUtils.setField(service, "coalescer", new MonitoringEventCoalescer());
+        ReflectionTestUtils.setField(service, "messagingTemplate", mock(SimpMessagingTemplate.class));
+        ReflectionTestUtils.setField(service, "feedService", mock(MonitoringFeedService.class));
+        ReflectionTestUtils.setField(service, "maxBatchEvents", 3);
+
+        Map<String, Object> result = service.logEvents(List.of(event("TAB_SWITCH"), event("NOT_A_TYPE"), event("MULTIPLE_FACES")));
+
+        verify(eventRepository).saveAll(argThat((List<MonitoringEvent> events) -> events.size() == 2));
+        verify(eventCountService).record("s1", MonitoringEvent.EventType.TAB_SWITCH);
+        verify(eventCountService).record("s1", MonitoringEvent.EventType.MULTIPLE_FACES);
+        assertEquals(2, result.get("accepted"));
+        assertEquals(1, ((List<?>) result.get("rejected")).size());
+
+        assertThrows(IllegalArgumentException.class, () -> service.logEvents(List.of(
+                event("TAB_SWITCH"), event("TAB_SWITCH"), event("TAB_SWITCH"), event("TAB_SWITCH"))));
+    }
+
+    @Test
+    void closedIntervalsAreWrittenThroughWhenTheBufferIsFull() {
+        MonitoringEventBuffer eventBuffer = mock(MonitoringEventBuffer.class);
+        when(eventBuffer.isEnabled()).thenReturn(true);
+        // Full: only write-through rows get stored
+        when(eventBuffer.offer(any(), anyBoolean())).thenAnswer(invocation -> invocation.getArgument(1));
+        MonitoringEventCoalescer coalescer = new MonitoringEventCoalescer();
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "coalescedTypes",
+                EnumSet.of(MonitoringEvent.EventType.FACE_NOT_DETECTED, MonitoringEvent.EventType.MULTIPLE_FACES));
+        ReflectionTestUtils.setField(coalescer, "maxGapSeconds", 10L);
+        ReflectionTestUtils.setField(coalescer, "maxIntervalSeconds", 120L);
+
+        MonitoringService service = new MonitoringService();
+        ReflectionTestUtils.setField(service, "eventCountService", mock(EventCountService.class));
+        ReflectionTestUtils.setField(service, "eventBuffer", eventBuffer);
+        ReflectionTestUtils.setField(service, "coalescer", coalescer);
+        ReflectionTestUtils.setField(service, "messagingTemplate", mock(SimpMessagingTemplate.class));
+        ReflectionTestUtils.setField(service, "feedService", mock(MonitoringFeedService.class));
+
+        assertTrue(service.logEvent(event("FACE_NOT_DETECTED")));
+        // Opens a new interval and closes the first, which must not be lost to the full buffer
+        assertTrue(service.logEvent(event("MULTIPLE_FACES")));
+        verify(eventBuffer).offer(argThat(e -> e.getEventType() == MonitoringEvent.EventType.FACE_NOT_DETECTED), eq(true));
+        // A plain event is still shed, and reported, while the interval it closed is stored
+        assertFalse(service.logEvent(event("TAB_SWITCH")));
+        verify(eventBuffer).offer(argThat(e -> e.getEventType() == MonitoringEvent.EventType.MULTIPLE_FACES), eq(true));
+        verify(eventBuffer).offer(argThat(e -> e.getEventType() == MonitoringEvent.EventType.TAB_SWITCH), eq(false));
+    }
+}
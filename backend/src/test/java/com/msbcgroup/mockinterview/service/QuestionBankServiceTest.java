@@ -0,0 +1,159 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.controller.InterviewController;
+import com.msbcgroup.mockinterview.model.CandidateProfile;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.model.QuestionBankItem;
+import com.msbcgroup.mockinterview.repository.QuestionBankItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuestionBankServiceTest {
+
+    private QuestionBankItemRepository bankRepository;
+    private InterviewController interviewController;
+    private ThreadPoolTaskExecutor executor;
+    private QuestionBankService service;
+    private CandidateProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        bankRepository = mock(QuestionBankItemRepository.class);
+        when(bankRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<QuestionBankItem> items = invocation.getArgument(0);
+            long id = 100;
+            for (QuestionBankItem item : items) {
+                if (item.getId() == null) {
+                    item.setId(id++);
+                }
+            }
+            return items;
+        });
+        interviewController = mock(InterviewController.class);
+        executor = mock(ThreadPoolTaskExecutor.class);
+
+        service = new QuestionBankService();
+        ReflectionTestUtils.setField(service, "bankRepository", bankRepository);
+        ReflectionTestUtils.setField(service, "interviewController", interviewController);
+        ReflectionTestUtils.setField(service, "executor", executor);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "mcqCount", 2);
+        ReflectionTestUtils.setField(service, "codingCount", 1);
+        ReflectionTestUtils.setField(service, "refillThresholdSessions", 2);
+        ReflectionTestUtils.setField(service, "maxUses", 5);
+
+        profile = new CandidateProfile();
+        profile.setPositionApplied("Java Developer");
+        profile.setExperienceYears(3);
+        profile.setSkills("Java, SQL");
+    }
+
+    private static QuestionBankItem item(long id, String type, int usageCount) {
+        QuestionBankItem item = new QuestionBankItem();
+        item.setId(id);
+        item.setQuestionType(type);
+        item.setQuestionText(type + " question " + id);
+        item.setUsageCount(usageCount);
+        return item;
+    }
+
+    private void pool(QuestionBankItem... items) {
+        String hash = service.keyFor(profile).hash();
+        when(bankRepository.findByKeyHashAndUsageCountLessThan(hash, 5)).thenReturn(new ArrayList<>(List.of(items)));
+    }
+
+    @Test
+    void keyIgnoresFormattingAndBandsExperience() {
+        CandidateProfile same = new CandidateProfile();
+        same.setPositionApplied("  JAVA   developer");
+        same.setExperienceYears(4);
+        same.setSkills("sql; java ,Java");
+
+        assertEquals(service.keyFor(profile), service.keyFor(same));
+        assertEquals(new QuestionBankService.BankKey("java developer", "INTERMEDIATE", "java,sql"), service.keyFor(profile));
+        assertEquals("BEGINNER", QuestionBankService.experienceBand(null));
+        assertEquals("ADVANCED", QuestionBankService.experienceBand(5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void hitAssemblesLeastUsedItemsAndCountsTheirUse() {
+        pool(item(1, "MCQ", 3), item(2, "MCQ", 0), item(3, "MCQ", 1), item(4, "Coding", 2),
+                item(5, "MCQ", 0), item(6, "MCQ", 0), item(7, "MCQ", 0), item(8, "Coding", 0), item(9, "Coding", 0));
+
+        List<Question> questions = service.assembleQuestions(profile);
+
+        assertEquals(3, questions.size());
+        assertEquals(List.of("Q1", "Q2", "Q3"), questions.stream().map(Question::getId).toList());
+        assertEquals(List.of("MCQ", "MCQ", "Coding"), questions.stream().map(Question::getType).toList());
+        ArgumentCaptor<List<QuestionBankItem>> saved = ArgumentCaptor.forClass(List.class);
+        verify(bankRepository).saveAll(saved.capture());
+        assertTrue(saved.getValue().stream().allMatch(item -> item.getUsageCount() == 1 && item.getLastUsedAt() != null));
+        verifyNoInteractions(interviewController);
+        // Six items left is exactly two more sessions, so no refill yet
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void lowPoolIsRefilledInTheBackground() {
+        pool(item(1, "MCQ", 0), item(2, "MCQ", 0), item(3, "Coding", 0), item(4, "MCQ", 0));
+
+        assertEquals(3, service.assembleQuestions(profile).size());
+
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void missGeneratesAndBanksTheSetAsUsedOnce() {
+        pool(item(1, "MCQ", 0), item(2, "Coding", 0));
+        List<Question> generated = List.of(new Question("Q1", "MCQ", "Pick one", List.of("A) x")),
+                new Question("Q2", "MCQ", "Pick another", List.of("A) y")),
+                new Question("Q3", "Coding", "Write it", null));
+        when(interviewController.generateQuestionsFromProfile(eq(profile), any())).thenReturn(generated);
+
+        assertSame(generated, service.assembleQuestions(profile));
+
+        ArgumentCaptor<List<QuestionBankItem>> saved = ArgumentCaptor.forClass(List.class);
+        verify(bankRepository).saveAll(saved.capture());
+        assertEquals(3, saved.getValue().size());
+        assertTrue(saved.getValue().stream().allMatch(item -> item.getUsageCount() == 1
+                && service.keyFor(profile).hash().equals(item.getKeyHash())));
+    }
+
+    @Test
+    void previewLeavesUsageToTheCaller() {
+        pool(item(1, "MCQ", 0), item(2, "MCQ", 0), item(3, "Coding", 0),
+                item(4, "MCQ", 0), item(5, "MCQ", 0), item(6, "MCQ", 0), item(7, "MCQ", 0), item(8, "Coding", 0), item(9, "Coding", 0));
+
+        QuestionBankService.BankedQuestions preview = service.previewQuestions(profile);
+
+        assertEquals(3, preview.questions().size());
+        assertEquals(3, preview.itemIds().size());
+        verify(bankRepository, never()).saveAll(anyList());
+
+        service.recordUsage(preview.itemIds());
+        verify(bankRepository).recordUsage(eq(preview.itemIds()), any());
+    }
+
+    @Test
+    void disabledBankAlwaysGenerates() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+        when(interviewController.generateQuestionsFromProfile(eq(profile), any()))
+                .thenReturn(List.of(new Question("Q1", "MCQ", "Pick one", List.of("A) x"))));
+
+        assertEquals(1, service.assembleQuestions(profile).size());
+
+        verifyNoInteractions(bankRepository);
+    }
+}
@@ -0,0 +1,46 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuestionFanoutGeneratorTest {
+
+    @Test
+    void splitsMcqCountAcrossSkillChunksAndAddsOneCodingChunk() {
+        List<QuestionFanoutGenerator.Chunk> chunks = QuestionFanoutGenerator.planChunks(
+                List.of("java", "spring", "sql", "docker", "react"), 25, 5, 3);
+
+        assertEquals(4, chunks.size());
+        assertEquals(List.of("java", "docker"), chunks.get(0).skills());
+        assertEquals(List.of(9, 8, 8), chunks.subList(0, 3).stream().map(QuestionFanoutGenerator.Chunk::count).toList());
+        assertEquals("Coding", chunks.get(3).type());
+        assertEquals(5, chunks.get(3).count());
+    }
+
+    @Test
+    void usesSingleGeneralMcqChunkWithoutSkills() {
+        List<QuestionFanoutGenerator.Chunk> chunks = QuestionFanoutGenerator.planChunks(List.of(), 25, 5, 3);
+
+        assertEquals(2, chunks.size());
+        assertEquals(25, chunks.get(0).count());
+        assertEquals(List.of(), chunks.get(0).skills());
+    }
+
+    @Test
+    void mergeDropsRepeatsAcrossChunksAndRenumbers() {
+        List<Question> merged = QuestionFanoutGenerator.merge(List.of(
+                List.of(new Question("Q1", "MCQ", "What is a JVM?", null), new Question("Q2", "MCQ", "What is GC?", null)),
+                List.of(new Question("Q1", "MCQ", "what is a  JVM", null)),
+                List.of(new Question("Q1", "Coding", "Reverse a string", null))));
+
+        assertEquals(List.of("Q1", "Q2", "Q3"), merged.stream().map(Question::getId).toList());
+        assertEquals("Reverse a string", merged.get(2).getQuestion());
+
+        List<QuestionFanoutGenerator.Chunk> topUps = QuestionFanoutGenerator.topUpChunks(merged, List.of("java"), 3, 1);
+        assertEquals(List.of(new QuestionFanoutGenerator.Chunk("MCQ", List.of("java"), 1)), topUps);
+    }
+}
@@ -0,0 +1,123 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.BackgroundJob.JobType;
+import com.msbcgroup.mockinterview.model.CandidateProfile;
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.repository.CandidateProfileRepository;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuestionGenerationServiceTest {
+
+    private InterviewSessionRepository sessionRepository;
+    private QuestionBankService questionBankService;
+    private JobQueueService jobQueueService;
+    private QuestionGenerationService service;
+    private final CandidateProfile profile = new CandidateProfile();
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = mock(InterviewSessionRepository.class);
+        questionBankService = mock(QuestionBankService.class);
+        jobQueueService = mock(JobQueueService.class);
+        CandidateProfileRepository profileRepository = mock(CandidateProfileRepository.class);
+        when(profileRepository.findByCandidateEmail("c@example.com")).thenReturn(Optional.of(profile));
+
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("session-1");
+        session.setCandidateEmail("c@example.com");
+        session.setGenerationStatus(GenerationStatus.GENERATING);
+        session.setGenerationAttempts(1);
+        when(sessionRepository.findBySessionId("session-1")).thenReturn(Optional.of(session));
+
+        service = new QuestionGenerationService();
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "candidateProfileRepository", profileRepository);
+        ReflectionTestUtils.setField(service, "questionBankService", questionBankService);
+        ReflectionTestUtils.setField(service, "jobQueueService", jobQueueService);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "retryBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(service, "inlineLeaseSeconds", 300L);
+    }
+
+    @Test
+    void failedAttemptIsCountedAndRethrownForTheQueueToRetry() {
+        when(questionBankService.assembleQuestions(eq(profile), any())).thenThrow(new RuntimeException("model unavailable"));
+
+        assertThrows(RuntimeException.class, () -> service.generate("session-1"));
+
+        verify(sessionRepository).updateGenerationAttempts("session-1", 2);
+        verify(sessionRepository).updateGenerationError("session-1", "model unavailable");
+        verify(sessionRepository, never()).markGenerated(any(), any(), any(), any());
+        // The session stays GENERATING until the queue runs out of attempts
+        verify(sessionRepository, never()).updateGenerationStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void emptyResultCountsAsAFailedAttempt() {
+        when(questionBankService.assembleQuestions(eq(profile), any())).thenReturn(List.of());
+
+        assertThrows(RuntimeException.class, () -> service.generate("session-1"));
+
+        verify(sessionRepository).updateGenerationError("session-1", "AI service returned no questions");
+        verify(sessionRepository, never()).markGenerated(any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exhaustedRetriesMarkTheSessionFailedAndARequeueRevivesIt() {
+        ArgumentCaptor<BiConsumer<String, String>> onDeadLetter = ArgumentCaptor.forClass(BiConsumer.class);
+        ArgumentCaptor<Consumer<String>> onRequeue = ArgumentCaptor.forClass(Consumer.class);
+
+        service.registerJobHandler();
+        verify(jobQueueService).register(eq(JobType.QUESTION_GENERATION), any(), any(), eq(3), eq(30L),
+                onDeadLetter.capture(), onRequeue.capture());
+
+        onDeadLetter.getValue().accept("session-1", "model unavailable");
+        verify(sessionRepository).updateGenerationStatus("session-1", GenerationStatus.GENERATING,
+                GenerationStatus.FAILED, "model unavailable");
+
+        onRequeue.getValue().accept("session-1");
+        verify(sessionRepository).updateGenerationStatus("session-1", GenerationStatus.FAILED,
+                GenerationStatus.GENERATING, null);
+    }
+
+    @Test
+    void inlineFailureBringsTheGuardJobForwardToTheRetryBackoff() {
+        when(jobQueueService.enqueue(JobType.QUESTION_GENERATION, "session-1", 300L)).thenReturn(true);
+        when(questionBankService.assembleQuestions(eq(profile), any())).thenThrow(new RuntimeException("model unavailable"));
+
+        assertTrue(service.generateNow("session-1"));
+
+        verify(jobQueueService).reschedule(JobType.QUESTION_GENERATION, "session-1", 30L, "model unavailable");
+        verify(jobQueueService, never()).cancel(any(), any());
+    }
+
+    @Test
+    void inlineSuccessMarksTheSessionReadyAndDropsTheGuardJob() {
+        when(jobQueueService.enqueue(JobType.QUESTION_GENERATION, "session-1", 300L)).thenReturn(true);
+        when(questionBankService.assembleQuestions(eq(profile), any()))
+                .thenReturn(List.of(new Question("Q1", "MCQ", "Pick one", List.of("A) x"))));
+
+        assertTrue(service.generateNow("session-1"));
+
+        verify(sessionRepository).markGenerated(eq("session-1"), contains("Pick one"),
+                eq(GenerationStatus.GENERATING), eq(GenerationStatus.READY));
+        verify(jobQueueService).cancel(JobType.QUESTION_GENERATION, "session-1");
+        verify(jobQueueService, never()).reschedule(any(), any(), anyLong(), any());
+    }
+}
@@ -0,0 +1,135 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.CandidateProfile;
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.Question;
+import com.msbcgroup.mockinterview.model.StagedQuestionSet;
+import com.msbcgroup.mockinterview.repository.StagedQuestionSetRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuestionPregenerationServiceTest {
+
+    private static CandidateProfile profile(String position, String skills) {
+        CandidateProfile profile = new CandidateProfile();
+        profile.setCandidateEmail("c@example.com");
+        profile.setPositionApplied(position);
+        profile.setExperienceYears(3);
+        profile.setSkills(skills);
+        profile.setDescription("Backend developer");
+        return profile;
+    }
+
+    private static StagedQuestionSet ready(CandidateProfile profile, LocalDateTime expiresAt) {
+        StagedQuestionSet staged = new StagedQuestionSet();
+        staged.setCandidateEmail(profile.getCandidateEmail());
+        staged.setProfileFingerprint(QuestionPregenerationService.fingerprint(profile));
+        staged.setStatus(GenerationStatus.READY);
+        staged.setQuestionsJson("[{\"id\":\"Q1\",\"type\":\"MCQ\",\"question\":\"Pick one\"}]");
+        staged.setBankItemIdsJson("[11,12]");
+        staged.setExpiresAt(expiresAt);
+        return staged;
+    }
+
+    private static QuestionPregenerationService service(StagedQuestionSetRepository repository, QuestionBankService bank) {
+        QuestionPregenerationService service = new QuestionPregenerationService();
+        ReflectionTestUtils.setField(service, "stagedRepository", repository);
+        ReflectionTestUtils.setField(service, "questionBankService", bank);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "ttlHours", 72L);
+        return service;
+    }
+
+    @Test
+    void fingerprintFollowsWhatThePromptSeesOnly() {
+        String fingerprint = QuestionPregenerationService.fingerprint(profile("Java Developer", "Java, SQL"));
+
+        assertEquals(fingerprint, QuestionPregenerationService.fingerprint(profile("  java   developer ", "sql,JAVA")));
+        assertNotEquals(fingerprint, QuestionPregenerationService.fingerprint(profile("Java Developer", "Java, SQL, Kafka")));
+
+        CandidateProfile moreExperienced = profile("Java Developer", "Java, SQL");
+        moreExperienced.setExperienceYears(6);
+        assertNotEquals(fingerprint, QuestionPregenerationService.fingerprint(moreExperienced));
+
+        // Fields the prompt doesn't use don't restage
+        CandidateProfile renamed = profile("Java Developer", "Java, SQL");
+        renamed.setCandidateName("Someone Else");
+        assertEquals(fingerprint, QuestionPregenerationService.fingerprint(renamed));
+    }
+
+    @Test
+    void stagingPreviewsWithoutCountingUsageAndClaimingCountsIt() {
+        CandidateProfile profile = profile("Java Developer", "Java, SQL");
+        StagedQuestionSetRepository repository = mock(StagedQuestionSetRepository.class);
+        when(repository.findById("c@example.com")).thenReturn(Optional.empty());
+        QuestionBankService bank = mock(QuestionBankService.class);
+        when(bank.previewQuestions(profile)).thenReturn(new QuestionBankService.BankedQuestions(
+                List.of(new Question("Q1", "MCQ", "Pick one", List.of("A) x"))), List.of(11L, 12L)));
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            // Once saved as GENERATING, the row is what generate() reads back
+            when(repository.findById("c@example.com")).thenReturn(Optional.of(ready(profile, LocalDateTime.now().plusHours(1))));
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        QuestionPregenerationService service = service(repository, bank);
+        ReflectionTestUtils.setField(service, "executor", executor);
+
+        service.stage(profile);
+
+        verify(repository, times(2)).save(any(StagedQuestionSet.class));
+        verify(bank, never()).recordUsage(any());
+
+        when(repository.deleteForClaim("c@example.com", QuestionPregenerationService.fingerprint(profile),
+                GenerationStatus.READY)).thenReturn(1);
+        Optional<List<Question>> claimed = service.claim(profile);
+
+        assertEquals("Q1", claimed.orElseThrow().get(0).getId());
+        verify(bank).recordUsage(List.of(11L, 12L));
+    }
+
+    @Test
+    void aSetIsOnlyBoundByTheCallerWhoseConditionalDeleteRemovedIt() {
+        CandidateProfile profile = profile("Java Developer", "Java, SQL");
+        StagedQuestionSetRepository repository = mock(StagedQuestionSetRepository.class);
+        when(repository.findById("c@example.com")).thenReturn(Optional.of(ready(profile, LocalDateTime.now().plusHours(1))));
+        // Another node's claim deleted the row between the read and the delete
+        when(repository.deleteForClaim(any(), any(), any())).thenReturn(0);
+        QuestionBankService bank = mock(QuestionBankService.class);
+        QuestionPregenerationService service = service(repository, bank);
+
+        assertTrue(service.claim(profile).isEmpty());
+        verify(bank, never()).recordUsage(any());
+    }
+
+    @Test
+    void expiredOrOutdatedSetsAreNotClaimed() {
+        CandidateProfile profile = profile("Java Developer", "Java, SQL");
+        StagedQuestionSetRepository repository = mock(StagedQuestionSetRepository.class);
+        QuestionBankService bank = mock(QuestionBankService.class);
+        QuestionPregenerationService service = service(repository, bank);
+
+        when(repository.findById("c@example.com")).thenReturn(Optional.of(ready(profile, LocalDateTime.now().minusMinutes(1))));
+        assertTrue(service.claim(profile).isEmpty());
+
+        // Staged for the profile before its skills changed
+        when(repository.findById("c@example.com")).thenReturn(Optional.of(ready(profile, LocalDateTime.now().plusHours(1))));
+        assertTrue(service.claim(profile("Java Developer", "Java, SQL, Kafka")).isEmpty());
+
+        verify(repository, never()).deleteForClaim(any(), any(), any());
+        verifyNoInteractions(bank);
+
+        when(repository.deleteExpired(any())).thenReturn(3);
+        service.evictExpired();
+        verify(repository).deleteExpired(argThat(now -> !now.isAfter(LocalDateTime.now())));
+    }
+}
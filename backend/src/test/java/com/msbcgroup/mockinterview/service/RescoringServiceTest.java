@@ -0,0 +1,116 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.model.InterviewSummary;
+import com.msbcgroup.mockinterview.model.RescoreRun;
+import com.msbcgroup.mockinterview.model.SubmissionScore;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import com.msbcgroup.mockinterview.repository.RescoreRunRepository;
+import com.msbcgroup.mockinterview.repository.SubmissionScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RescoringServiceTest {
+
+    private static InterviewSession submission(String sessionId, LocalDateTime submittedAt) {
+        InterviewSession session = new InterviewSession();
+        session.setSessionId(sessionId);
+        session.setCandidateEmail(sessionId + "@example.com");
+        session.setQuestionsJson("[]");
+        session.setAnswersJson("{}");
+        session.setSubmittedAt(submittedAt);
+        return session;
+    }
+
+    @Test
+    void walksPagesByKeysetSkipsScoredAttemptsAndCheckpointsTheCursor() throws Exception {
+        LocalDateTime t1 = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime t2 = t1.plusMinutes(5);
+        InterviewSession a = submission("a", t1);
+        InterviewSession b = submission("b", t1);
+        InterviewSession c = submission("c", t2);
+
+        RescoreRun run = new RescoreRun();
+        run.setRunId("run-1");
+        run.setRubricVersion("v2");
+        run.setParallelism(2);
+        run.setTotalSubmissions(3L);
+
+        RescoreRunRepository runRepository = mock(RescoreRunRepository.class);
+        when(runRepository.findById("run-1")).thenReturn(Optional.of(run));
+        when(runRepository.checkpoint(eq("run-1"), eq("node-a"), eq(RescoreRun.RunStatus.RUNNING), any(), any(),
+                anyLong(), anyLong(), any())).thenReturn(1);
+        when(runRepository.complete(eq("run-1"), eq("node-a"), eq(RescoreRun.RunStatus.RUNNING),
+                eq(RescoreRun.RunStatus.COMPLETED), any())).thenReturn(1);
+        JobQueueService jobQueueService = mock(JobQueueService.class);
+        when(jobQueueService.getNodeId()).thenReturn("node-a");
+        InterviewSessionRepository sessionRepository = mock(InterviewSessionRepository.class);
+        when(sessionRepository.findSubmittedAfter(any(), eq(""), any(), any(Pageable.class))).thenReturn(List.of(a, b));
+        when(sessionRepository.findSubmittedAfter(eq(t1), eq("b"), any(), any(Pageable.class))).thenReturn(List.of(c));
+        when(sessionRepository.findSubmittedAfter(eq(t2), eq("c"), any(), any(Pageable.class))).thenReturn(List.of());
+        SubmissionScoreRepository scoreRepository = mock(SubmissionScoreRepository.class);
+        when(scoreRepository.existsBySessionIdAndRubricVersion("b", "v2")).thenReturn(true);
+        GradingService gradingService = mock(GradingService.class);
+        when(gradingService.evaluate(a, LlmUseCase.RESCORING)).thenReturn(new InterviewSummary(3, "ok", "s", "i", null));
+        when(gradingService.evaluate(c, LlmUseCase.RESCORING)).thenThrow(new RuntimeException("bad response"));
+
+        RescoringService service = new RescoringService();
+        ReflectionTestUtils.setField(service, "runRepository", runRepository);
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "scoreRepository", scoreRepository);
+        ReflectionTestUtils.setField(service, "gradingService", gradingService);
+        ReflectionTestUtils.setField(service, "jobQueueService", jobQueueService);
+        ReflectionTestUtils.setField(service, "pageSize", 2);
+
+        service.executeRun("run-1");
+
+        verify(scoreRepository).save(argThat((SubmissionScore score) ->
+                score.getSessionId().equals("a") && score.getRubricVersion().equals("v2") && score.getScore() == 3));
+        verify(gradingService, never()).evaluate(b, LlmUseCase.RESCORING);
+        verify(runRepository).checkpoint(eq("run-1"), eq("node-a"), eq(RescoreRun.RunStatus.RUNNING),
+                eq(t2), eq("c"), eq(3L), eq(1L), any());
+        verify(runRepository).complete(eq("run-1"), eq("node-a"), eq(RescoreRun.RunStatus.RUNNING),
+                eq(RescoreRun.RunStatus.COMPLETED), any());
+    }
+
+    @Test
+    void stopsWhenTheCheckpointFindsTheLeaseGone() throws Exception {
+        InterviewSession a = submission("a", LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        RescoreRun run = new RescoreRun();
+        run.setRunId("run-1");
+        run.setRubricVersion("v2");
+        run.setParallelism(1);
+
+        RescoreRunRepository runRepository = mock(RescoreRunRepository.class);
+        when(runRepository.findById("run-1")).thenReturn(Optional.of(run));
+        InterviewSessionRepository sessionRepository = mock(InterviewSessionRepository.class);
+        when(sessionRepository.findSubmittedAfter(any(), eq(""), any(), any(Pageable.class))).thenReturn(List.of(a));
+        GradingService gradingService = mock(GradingService.class);
+        when(gradingService.evaluate(a, LlmUseCase.RESCORING)).thenReturn(new InterviewSummary(3, "ok", "s", "i", null));
+        JobQueueService jobQueueService = mock(JobQueueService.class);
+        when(jobQueueService.getNodeId()).thenReturn("node-a");
+
+        RescoringService service = new RescoringService();
+        ReflectionTestUtils.setField(service, "runRepository", runRepository);
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "scoreRepository", mock(SubmissionScoreRepository.class));
+        ReflectionTestUtils.setField(service, "gradingService", gradingService);
+        ReflectionTestUtils.setField(service, "jobQueueService", jobQueueService);
+        ReflectionTestUtils.setField(service, "pageSize", 1);
+
+        // Another node claimed the run after this node's lease lapsed, so the checkpoint updates nothing
+        service.executeRun("run-1");
+
+        verify(sessionRepository, times(1)).findSubmittedAfter(any(), any(), any(), any(Pageable.class));
+        verify(runRepository, never()).complete(any(), any(), any(), any(), any());
+    }
+}
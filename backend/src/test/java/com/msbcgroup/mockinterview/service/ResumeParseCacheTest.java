@@ -0,0 +1,105 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbcgroup.mockinterview.repository.ResumeParseCacheRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResumeParseCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static ResumeParseCache cache(ResumeParseCacheRepository repository, int memoryMaxEntries) {
+        ResumeParseCache cache = new ResumeParseCache();
+        ReflectionTestUtils.setField(cache, "cacheRepository", repository);
+        ReflectionTestUtils.setField(cache, "llmJsonParser", new LlmJsonParser());
+        ReflectionTestUtils.setField(cache, "ttlHours", 1L);
+        ReflectionTestUtils.setField(cache, "memoryMaxEntries", memoryMaxEntries);
+        ReflectionTestUtils.setField(cache, "dbMaxEntries", 10);
+        return cache;
+    }
+
+    private JsonNode parsed(String name) {
+        return mapper.createObjectNode().put("name", name);
+    }
+
+    @Test
+    void keyIgnoresWhitespaceButNotThePromptVersion() {
+        String key = ResumeParseCache.keyFor("Jane Doe\n  Java,  SQL ", "resume-v1");
+
+        assertEquals(64, key.length());
+        assertEquals(key, ResumeParseCache.keyFor("  Jane Doe Java,\tSQL", "resume-v1"));
+        assertNotEquals(key, ResumeParseCache.keyFor("Jane Doe Java, SQL", "resume-v2"));
+        assertNotEquals(key, ResumeParseCache.keyFor("Jane Doe Java, SQL, Go", "resume-v1"));
+    }
+
+    @Test
+    void expiredEntriesAreNotServed() {
+        ResumeParseCacheRepository repository = mock(ResumeParseCacheRepository.class);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        ResumeParseCache cache = cache(repository, 10);
+
+        cache.put("resume", "v1", parsed("Jane"));
+        assertEquals("Jane", cache.get("resume", "v1").orElseThrow().path("name").asText());
+        verify(repository, never()).findById(any());
+
+        // Past the TTL the memory copy is dropped and the table is consulted instead
+        ReflectionTestUtils.setField(cache, "ttlHours", 0L);
+        assertTrue(cache.get("resume", "v1").isEmpty());
+        verify(repository).findById(ResumeParseCache.keyFor("resume", "v1"));
+    }
+
+    @Test
+    void memoryKeepsTheMostRecentlyUsedEntriesAndTheTableIsTrimmedByLastAccess() {
+        ResumeParseCacheRepository repository = mock(ResumeParseCacheRepository.class);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        ResumeParseCache cache = cache(repository, 2);
+
+        cache.put("a", "v1", parsed("A"));
+        cache.put("b", "v1", parsed("B"));
+        assertTrue(cache.get("a", "v1").isPresent());
+        // "b" is now the least recently used, so "c" pushes it out of memory
+        cache.put("c", "v1", parsed("C"));
+        assertTrue(cache.get("a", "v1").isPresent());
+        assertTrue(cache.get("b", "v1").isEmpty());
+        verify(repository, times(1)).findById(any());
+        verify(repository).findById(ResumeParseCache.keyFor("b", "v1"));
+
+        when(repository.count()).thenReturn(12L);
+        when(repository.findLeastRecentlyUsedKeys(PageRequest.of(0, 2))).thenReturn(List.of("k1", "k2"));
+        cache.evict();
+        verify(repository).deleteAllById(List.of("k1", "k2"));
+    }
+
+    @Test
+    void memoryHitsAreFlushedAsOneTouchOfTheirKeys() {
+        ResumeParseCacheRepository repository = mock(ResumeParseCacheRepository.class);
+        ResumeParseCache cache = cache(repository, 10);
+        cache.put("a", "v1", parsed("A"));
+        cache.put("b", "v1", parsed("B"));
+
+        cache.get("a", "v1");
+        cache.get("a", "v1");
+        cache.get("b", "v1");
+        verify(repository, never()).touchAll(any(), any());
+
+        cache.flushTouches();
+        verify(repository).touchAll(argThat((Collection<String> keys) -> keys.size() == 2
+                && keys.contains(ResumeParseCache.keyFor("a", "v1"))
+                && keys.contains(ResumeParseCache.keyFor("b", "v1"))), any());
+
+        // Nothing hit since, so nothing to write
+        cache.flushTouches();
+        verify(repository, times(1)).touchAll(any(), any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.msbcgroup.mockinterview.service;
+
+import com.msbcgroup.mockinterview.model.GenerationStatus;
+import com.msbcgroup.mockinterview.model.GradingStatus;
+import com.msbcgroup.mockinterview.model.InterviewSession;
+import com.msbcgroup.mockinterview.repository.InterviewMeetingRepository;
+import com.msbcgroup.mockinterview.repository.InterviewSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SubmissionServiceTest {
+
+    @Test
+    void repeatedSubmitsQueueGradingOnceAndReplayTheOriginalOutcome() throws Exception {
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("s1");
+        session.setCandidateEmail("c@example.com");
+
+        InterviewSessionRepository sessionRepository = mock(InterviewSessionRepository.class);
+        when(sessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+        when(sessionRepository.markSubmitted(eq("s1"), anyString(), any(), eq(GradingStatus.PENDING), eq("key-1")))
+                .thenAnswer(invocation -> {
+                    session.setSubmittedAt(invocation.getArgument(2, LocalDateTime.class));
+                    session.setGradingStatus(GradingStatus.PENDING);
+                    session.setSubmissionKey("key-1");
+                    return 1;
+                });
+        AnswerAutosaveService autosaveService = mock(AnswerAutosaveService.class);
+        when(autosaveService.commit(any(), any())).thenReturn(Map.of("answer0", "B"));
+        GradingService gradingService = mock(GradingService.class);
+
+        SubmissionService service = new SubmissionService();
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "meetingRepository", mock(InterviewMeetingRepository.class));
+        ReflectionTestUtils.setField(service, "answerAutosaveService", autosaveService);
+        ReflectionTestUtils.setField(service, "eventCountService", mock(EventCountService.class));
+        ReflectionTestUtils.setField(service, "monitoringService", mock(MonitoringService.class));
+        ReflectionTestUtils.setField(service, "gradingService", gradingService);
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        Map<String, Object> first = service.submit("s1", null, "key-1");
+        Map<String, Object> retry = service.submit("s1", Map.of("answer0", "C"), "key-1");
+        Map<String, Object> noKey = service.submit("s1", null, null);
+
+        assertEquals(false, first.get("duplicate"));
+        assertEquals(true, retry.get("duplicate"));
+        assertEquals(first.get("submittedAt"), retry.get("submittedAt"));
+        assertEquals(true, noKey.get("duplicate"));
+        assertThrows(IllegalStateException.class, () -> service.submit("s1", null, "key-2"));
+        verify(gradingService, times(1)).enqueue("s1");
+        // Replays of a session still waiting for grading make sure it has a job
+        verify(gradingService, atLeastOnce()).submit("s1");
+        verify(sessionRepository, times(1)).markSubmitted(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void rejectsSessionsWhoseQuestionsAreStillGenerating() {
+        InterviewSession session = new InterviewSession();
+        session.setSessionId("s2");
+        session.setGenerationStatus(GenerationStatus.GENERATING);
+        InterviewSessionRepository sessionRepository = mock(InterviewSessionRepository.class);
+        when(sessionRepository.findBySessionId("s2")).thenReturn(Optional.of(session));
+        AnswerAutosaveService autosaveService = mock(AnswerAutosaveService.class);
+
+        SubmissionService service = new SubmissionService();
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "answerAutosaveService", autosaveService);
+
+        assertThrows(IllegalStateException.class, () -> service.submit("s2", null, null));
+        verifyNoInteractions(autosaveService);
+        verify(sessionRepository, never()).markSubmitted(any(), any(), any(), any(), any());
+    }
+}
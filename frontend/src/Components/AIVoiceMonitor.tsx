@@ -1,5 +1,6 @@
 import React, { useEffect, useRef, useState } from 'react';
 import toast from 'react-hot-toast';
+import { logMonitoringEvent } from '../services/monitoringEvents';
 
 interface AIVoiceMonitorProps {
   sessionId: string;
@@ -285,17 +286,12 @@ const AIVoiceMonitor: React.FC<AIVoiceMonitorProps> = ({
 
   const logEvent = async (eventType: string, description: string) => {
     try {
-      await fetch('http://localhost:8081/api/monitoring/log-event', {
-        method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        credentials: 'include',
-        body: JSON.stringify({
-          sessionId,
-          candidateEmail,
-          eventType,
-          description,
-          metadata: JSON.stringify({ timestamp: Date.now() })
-        })
+      await logMonitoringEvent({
+        sessionId,
+        candidateEmail,
+        eventType,
+        description,
+        metadata: JSON.stringify({ timestamp: Date.now() })
       });
     } catch (error) {
       console.error('Failed to log voice event:', error);
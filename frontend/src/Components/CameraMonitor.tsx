@@ -2,6 +2,7 @@ import React, { useRef, useEffect, useState, useCallback } from 'react';
 import * as faceapi from 'face-api.js';
 import { Typography, Button } from '@mui/material';
 import toast from 'react-hot-toast';
+import { logMonitoringEvent } from '../services/monitoringEvents';
 
 interface CameraMonitorProps {
   sessionId: string;
@@ -22,17 +23,12 @@ const CameraMonitor: React.FC<CameraMonitorProps> = ({ sessionId, onInterviewEnd
     if (!sessionId) return;
 
     try {
-      await fetch('http://localhost:8081/api/monitoring/log-event', {
-        method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        credentials: 'include',
-        body: JSON.stringify({
-          sessionId,
-          candidateEmail: 'anonymous@interview.com',
-          eventType: type,
-          description: message,
-          metadata: JSON.stringify({ timestamp: new Date().toISOString() })
-        })
+      await logMonitoringEvent({
+        sessionId,
+        candidateEmail: 'anonymous@interview.com',
+        eventType: type,
+        description: message,
+        metadata: JSON.stringify({ timestamp: new Date().toISOString() })
       });
     } catch (err) {
       console.error('Error logging security violation:', err);
@@ -81,17 +77,12 @@ useEffect(() => {
   if (sessionId && !interviewStarted) {
     const logInterviewStartOnce = async () => {
       try {
-        await fetch('http://localhost:8081/api/monitoring/log-event', {
-          method: 'POST',
-          headers: { 'Content-Type': 'application/json' },
-          credentials: 'include',
-          body: JSON.stringify({
-            sessionId,
-            candidateEmail: 'anonymous@interview.com',
-            eventType: 'INTERVIEW_START',
-            description: 'Interview monitoring started',
-            metadata: JSON.stringify({ timestamp: new Date().toISOString() }) // Use 'timestamp' for consistency
-          })
+        await logMonitoringEvent({
+          sessionId,
+          candidateEmail: 'anonymous@interview.com',
+          eventType: 'INTERVIEW_START',
+          description: 'Interview monitoring started',
+          metadata: JSON.stringify({ timestamp: new Date().toISOString() }) // Use 'timestamp' for consistency
         });
         console.log('INTERVIEW_START event logged successfully.');
       } catch (err) {
@@ -195,12 +186,7 @@ useEffect(() => {
           };
 
           try {
-            await fetch('http://localhost:8081/api/monitoring/log-event', {
-              method: 'POST',
-              headers: { 'Content-Type': 'application/json' },
-              credentials: 'include',
-              body: JSON.stringify(eventData)
-            });
+            await logMonitoringEvent(eventData);
 
             setLastEventType(currentEventType);
             console.log('State change logged:', currentEventType);
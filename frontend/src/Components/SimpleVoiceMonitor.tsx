@@ -1,5 +1,6 @@
 import React, { useEffect, useRef, useState } from 'react';
 import toast from 'react-hot-toast';
+import { logMonitoringEvent } from '../services/monitoringEvents';
 
 interface SimpleVoiceMonitorProps {
   sessionId: string;
@@ -152,17 +153,12 @@ const SimpleVoiceMonitor: React.FC<SimpleVoiceMonitorProps> = ({
     
     // Log violation
     try {
-      await fetch('http://localhost:8081/api/monitoring/log-event', {
-        method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        credentials: 'include',
-        body: JSON.stringify({
-          sessionId,
-          candidateEmail,
-          eventType: 'UNKNOWN_VOICE_DETECTED',
-          description: message,
-          metadata: JSON.stringify({ timestamp: Date.now() })
-        })
+      await logMonitoringEvent({
+        sessionId,
+        candidateEmail,
+        eventType: 'UNKNOWN_VOICE_DETECTED',
+        description: message,
+        metadata: JSON.stringify({ timestamp: Date.now() })
       });
     } catch (error) {
       console.error('Failed to log violation:', error);
@@ -1,5 +1,6 @@
 import React, { useEffect, useRef, useState, useCallback } from 'react';
 import toast from 'react-hot-toast';
+import { logMonitoringEvent } from '../services/monitoringEvents';
 
 interface VoiceProfile {
   mean: number[];
@@ -428,20 +429,15 @@ const VoiceMonitorIndicator: React.FC<VoiceMonitorIndicatorProps> = ({
     }
 
     try {
-      await fetch('http://localhost:8081/api/monitoring/log-event', {
-        method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        credentials: 'include',
-        body: JSON.stringify({
-          sessionId,
-          candidateEmail,
-          eventType: 'UNKNOWN_VOICE_DETECTED',
-          description: message,
-          metadata: JSON.stringify({
-            timestamp: Date.now(),
-            violations: violations + 1,
-            adaptiveThreshold
-          })
+      await logMonitoringEvent({
+        sessionId,
+        candidateEmail,
+        eventType: 'UNKNOWN_VOICE_DETECTED',
+        description: message,
+        metadata: JSON.stringify({
+          timestamp: Date.now(),
+          violations: violations + 1,
+          adaptiveThreshold
         })
       });
     } catch (error) {
@@ -0,0 +1,122 @@
+import React, { useEffect, useState } from 'react';
+import { openMonitoringFeed, MonitoringFeedEntry } from '../../services/monitoringFeed';
+
+interface LiveMonitoringModalProps {
+  isOpen: boolean;
+  onClose: () => void;
+}
+
+const EVENT_TYPES = [
+  'FACE_NOT_DETECTED',
+  'MULTIPLE_FACES',
+  'TAB_SWITCH',
+  'WINDOW_BLUR',
+  'UNKNOWN_VOICE_DETECTED',
+  'MULTIPLE_VOICES_DETECTED',
+  'INTERVIEW_START',
+  'INTERVIEW_END',
+  'INTERVIEW_TERMINATED',
+];
+
+const MAX_ENTRIES = 200;
+
+const LiveMonitoringModal: React.FC<LiveMonitoringModalProps> = ({ isOpen, onClose }) => {
+  const [sessionFilter, setSessionFilter] = useState('');
+  const [appliedSessions, setAppliedSessions] = useState<string[]>([]);
+  const [selectedTypes, setSelectedTypes] = useState<string[]>([]);
+  const [entries, setEntries] = useState<MonitoringFeedEntry[]>([]);
+  const [dropped, setDropped] = useState(0);
+
+  useEffect(() => {
+    if (!isOpen) return;
+    setEntries([]);
+    setDropped(0);
+    return openMonitoringFeed(
+      { sessionIds: appliedSessions, eventTypes: selectedTypes },
+      (entry) => setEntries((current) => [entry, ...current].slice(0, MAX_ENTRIES)),
+      (count) => setDropped((current) => current + count),
+    );
+  }, [isOpen, appliedSessions, selectedTypes]);
+
+  if (!isOpen) return null;
+
+  const toggleType = (type: string) => {
+    setSelectedTypes((current) =>
+      current.includes(type) ? current.filter((t) => t !== type) : [...current, type]);
+  };
+
+  const applySessions = () => {
+    setAppliedSessions(sessionFilter.split(',').map((s) => s.trim()).filter(Boolean));
+  };
+
+  return (
+    <div className="fixed inset-0 bg-transparent bg-opacity-50 backdrop-blur-xs flex items-center justify-center z-50">
+      <div className="bg-white rounded-lg p-6 w-full max-w-4xl max-h-[90vh] flex flex-col border-2 border-black-300">
+        <div className="flex justify-between items-center mb-4">
+          <h2 className="text-2xl font-bold">Live Monitoring</h2>
+          <button onClick={onClose} className="text-gray-500 hover:text-gray-700 text-2xl">×</button>
+        </div>
+
+        <div className="flex gap-2 mb-3">
+          <input
+            value={sessionFilter}
+            onChange={(e) => setSessionFilter(e.target.value)}
+            placeholder="Session IDs, comma-separated (empty for all)"
+            className="flex-1 border border-slate-300 rounded px-3 py-2 text-sm"
+          />
+          <button
+            onClick={applySessions}
+            className="text-white px-4 py-2 rounded-lg font-medium hover:opacity-90"
+            style={{ backgroundColor: '#56C5D0' }}
+          >
+            Apply
+          </button>
+        </div>
+
+        <div className="flex flex-wrap gap-3 mb-3 text-sm">
+          {EVENT_TYPES.map((type) => (
+            <label key={type} className="flex items-center gap-1">
+              <input type="checkbox" checked={selectedTypes.includes(type)} onChange={() => toggleType(type)} />
+              {type}
+            </label>
+          ))}
+        </div>
+
+        {dropped > 0 && (
+          <p className="text-sm text-red-600 mb-2">{dropped} update(s) skipped because the feed fell behind.</p>
+        )}
+
+        <div className="flex-1 overflow-y-auto border border-slate-200 rounded">
+          {entries.length === 0 ? (
+            <p className="p-4 text-slate-500 text-sm">Waiting for events...</p>
+          ) : (
+            <table className="w-full text-sm">
+              <thead className="bg-slate-50 sticky top-0">
+                <tr>
+                  <th className="text-left p-2">Time</th>
+                  <th className="text-left p-2">Candidate</th>
+                  <th className="text-left p-2">Event</th>
+                  <th className="text-left p-2">Count</th>
+                  <th className="text-left p-2">Description</th>
+                </tr>
+              </thead>
+              <tbody>
+                {entries.map((entry, index) => (
+                  <tr key={`${entry.sessionId}-${entry.eventType}-${entry.lastAt}-${index}`} className="border-t border-slate-100">
+                    <td className="p-2 whitespace-nowrap">{new Date(entry.lastAt).toLocaleTimeString()}</td>
+                    <td className="p-2">{entry.candidateEmail}</td>
+                    <td className="p-2">{entry.eventType}</td>
+                    <td className="p-2">{entry.count}</td>
+                    <td className="p-2">{entry.description}</td>
+                  </tr>
+                ))}
+              </tbody>
+            </table>
+          )}
+        </div>
+      </div>
+    </div>
+  );
+};
+
+export default LiveMonitoringModal;
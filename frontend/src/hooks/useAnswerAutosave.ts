@@ -0,0 +1,104 @@
+// src/hooks/useAnswerAutosave.ts
+import { useCallback, useEffect, useRef } from 'react';
+import { interviewAPI } from '../services/api';
+
+const DEBOUNCE_MS = 1500;
+// An answer left untouched this long is reported as final, so the server can grade it early
+const IDLE_FINALIZE_MS = 20000;
+
+/**
+ * Sends changed answers to the server a short while after the candidate stops typing.
+ * Only questions edited since the last successful save are sent, each with a revision so the
+ * server can ignore a save that arrives out of order. `flush` saves immediately, e.g. before submit;
+ * it resolves to false if anything could not be saved. `finalize` reports a question the candidate
+ * has moved on from; questions idle for a while are finalized too.
+ */
+export const useAnswerAutosave = (
+  sessionId: string | null,
+  answers: { [questionId: string]: string | string[] }
+) => {
+  const lastSaved = useRef<{ [questionId: string]: string }>({});
+  const revisions = useRef<{ [questionId: string]: number }>({});
+  const timer = useRef<ReturnType<typeof setTimeout> | null>(null);
+  const idleTimer = useRef<ReturnType<typeof setTimeout> | null>(null);
+  // Questions to report as final with the next save, and the answer last reported as final
+  const pendingFinal = useRef<Set<string>>(new Set());
+  const finalized = useRef<{ [questionId: string]: string }>({});
+  const lastAnswers = useRef(answers);
+  const latest = useRef(answers);
+  latest.current = answers;
+
+  // Answers restored from the server are already saved
+  const markSaved = useCallback((saved: { [questionId: string]: string }) => {
+    lastSaved.current = { ...lastSaved.current, ...saved };
+  }, []);
+
+  const flush = useCallback(async (): Promise<boolean> => {
+    if (timer.current) {
+      clearTimeout(timer.current);
+      timer.current = null;
+    }
+    if (!sessionId) return false;
+
+    const finals = pendingFinal.current;
+    pendingFinal.current = new Set();
+    const changed = Object.entries(latest.current)
+      .map(([questionId, value]) => [questionId, Array.isArray(value) ? value.join(',') : value ?? ''] as const)
+      .filter(([questionId, answer]) => lastSaved.current[questionId] !== answer
+        || (finals.has(questionId) && finalized.current[questionId] !== answer));
+    if (changed.length === 0) return true;
+
+    const deltas = changed.map(([questionId, answer]) => {
+      // Date-based so revisions keep increasing across reloads
+      const revision = Math.max(Date.now(), (revisions.current[questionId] ?? 0) + 1);
+      revisions.current[questionId] = revision;
+      return { questionId, answer, revision, final: finals.has(questionId) };
+    });
+
+    try {
+      await interviewAPI.saveAnswers(sessionId, deltas);
+      deltas.forEach(({ questionId, answer, final }) => {
+        lastSaved.current[questionId] = answer;
+        if (final) finalized.current[questionId] = answer;
+      });
+      return true;
+    } catch (error) {
+      console.warn('Autosave failed, will retry on the next change:', error);
+      finals.forEach((questionId) => pendingFinal.current.add(questionId));
+      return false;
+    }
+  }, [sessionId]);
+
+  const finalize = useCallback((questionId: string) => {
+    pendingFinal.current.add(questionId);
+    flush();
+  }, [flush]);
+
+  useEffect(() => {
+    if (!sessionId) return;
+    if (timer.current) clearTimeout(timer.current);
+    timer.current = setTimeout(() => { flush(); }, DEBOUNCE_MS);
+
+    const edited = Object.keys(answers).filter((questionId) => answers[questionId] !== lastAnswers.current[questionId]);
+    lastAnswers.current = answers;
+    if (edited.length > 0) {
+      if (idleTimer.current) clearTimeout(idleTimer.current);
+      idleTimer.current = setTimeout(() => edited.forEach(finalize), IDLE_FINALIZE_MS);
+    }
+  }, [answers, sessionId, flush, finalize]);
+
+  // Save right away when the tab is hidden; it may be about to close
+  useEffect(() => {
+    const handleVisibility = () => {
+      if (document.visibilityState === 'hidden') flush();
+    };
+    document.addEventListener('visibilitychange', handleVisibility);
+    return () => {
+      document.removeEventListener('visibilitychange', handleVisibility);
+      if (timer.current) clearTimeout(timer.current);
+      if (idleTimer.current) clearTimeout(idleTimer.current);
+    };
+  }, [flush]);
+
+  return { flush, finalize, markSaved };
+};
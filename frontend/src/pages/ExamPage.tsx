@@ -1,6 +1,6 @@
 // Create a new file at: src/pages/ExamPage.tsx
 
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { interviewAPI } from '../services/api'; // Assuming you add interviewAPI to your api.ts
 import toast, { Toaster } from 'react-hot-toast';
@@ -25,6 +25,8 @@ const ExamPage: React.FC = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [isSubmitting, setIsSubmitting] = useState(false);
+  // One key per exam, so a retried submit is recognised as the same submission
+  const submitKey = useRef<string>(crypto.randomUUID());
   const [voiceCalibrated, setVoiceCalibrated] = useState(false);
 
   useEffect(() => {
@@ -76,7 +78,7 @@ const ExamPage: React.FC = () => {
     toast.loading('Submitting your answers...');
 
     try {
-      await interviewAPI.submitAnswers(answers, sessionId);
+      await interviewAPI.submitAnswers(answers, sessionId, submitKey.current);
 
       // Log INTERVIEW_END event
       try {
@@ -13,6 +13,7 @@ import toast, { Toaster } from 'react-hot-toast';
 import ViewCandidateModal from '../Components/hr/ViewCandidateModal';
 import ScheduleSecondRoundModal from '../Components/hr/ScheduleSecondRoundModal';
 import ViewSummaryModal from '../Components/hr/ViewSummaryModal';
+import LiveMonitoringModal from '../Components/hr/LiveMonitoringModal';
 import { useAppSelector } from '../redux/hooks';
 import { FaCopy } from 'react-icons/fa';
 
@@ -44,6 +45,7 @@ const HRDashboard: React.FC = () => {
   // NEW: State for the view report modal
   const [showViewReportModal, setShowViewReportModal] = useState(false);
   const [viewReportData, setViewReportData] = useState<any>(null);
+  const [showLiveMonitoringModal, setShowLiveMonitoringModal] = useState(false);
 
   // Derived counts for dashboard overview
   const { passedCount, failedCount, inProgressCount } = useMemo(() => {
@@ -639,6 +641,16 @@ const HRDashboard: React.FC = () => {
                 </svg>
                 Add Candidate
               </button>
+              <button
+                onClick={() => setShowLiveMonitoringModal(true)}
+                className="text-white px-4 py-2 rounded-lg font-medium transition-all duration-200 shadow-sm flex items-center gap-2 hover:opacity-90"
+                style={{ backgroundColor: '#ED1C24' }}
+              >
+                <svg className="w-4 h-4" fill="none" stroke="currentColor" viewBox="0 0 24 24">
+                  <path strokeLinecap="round" strokeLinejoin="round" strokeWidth={2} d="M15 10l4.553-2.276A1 1 0 0121 8.618v6.764a1 1 0 01-1.447.894L15 14M5 18h8a2 2 0 002-2V8a2 2 0 00-2-2H5a2 2 0 00-2 2v8a2 2 0 002 2z" />
+                </svg>
+                Live Monitoring
+              </button>
             </div>
           </div>
         </div>
@@ -710,6 +722,13 @@ const HRDashboard: React.FC = () => {
         </div>
       </div>
 
+      {showLiveMonitoringModal && (
+        <LiveMonitoringModal
+          isOpen={showLiveMonitoringModal}
+          onClose={() => setShowLiveMonitoringModal(false)}
+        />
+      )}
+
       {showAddCandidateModal && (
         <AddCandidateModal
           isOpen={showAddCandidateModal}
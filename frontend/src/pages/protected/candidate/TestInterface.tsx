@@ -1,7 +1,8 @@
-import React, { useEffect, useState, useCallback } from 'react';
+import React, { useEffect, useState, useCallback, useRef } from 'react';
 import Editor from "@monaco-editor/react";
 import { useAppDispatch, useAppSelector } from '../../../redux/hooks';
 import { useExamSecurity } from '../../../hooks/useExamSecurity';
+import { useAnswerAutosave } from '../../../hooks/useAnswerAutosave';
 import { useParams } from 'react-router-dom';
 import { interviewAPI } from '../../../services/api';
 import { executeCode } from '../../../services/codeExecution';
@@ -27,6 +28,8 @@ import {
   previousQuestion,
   markQuestionForReview,
   setQuestions,
+  appendQuestions,
+  restoreAnswers,
   setSessionId as setReduxSessionId,
   resetTestState
 } from '../../../redux/reducers/testSlice';
@@ -49,8 +52,17 @@ const TestInterface: React.FC<StartTestProps> = ({ onExamSubmit }) => {
   const [currentLanguage, setCurrentLanguage] = useState('javascript');
   const [cameraReady, setCameraReady] = useState(false);
   const [isSubmitting, setIsSubmitting] = useState(false);
+  // One key per exam, so a retried submit is recognised as the same submission
+  const submitKey = useRef<string>(crypto.randomUUID());
   const [codeOutput, setCodeOutput] = useState('');
   const [isExecuting, setIsExecuting] = useState(false);
+  // 'preparing' while the server answers 425 (questions still generating), 'failed' on 503
+  const [startState, setStartState] = useState<'loading' | 'preparing' | 'failed'>('loading');
+  const [startMessage, setStartMessage] = useState('');
+  // False while the server is still streaming questions into this session
+  const [questionsComplete, setQuestionsComplete] = useState(true);
+  const questionCount = useRef(0);
+  questionCount.current = questions.length;
 
 
   const handleSecurityViolation = useCallback(async (type: string, message: string) => {
@@ -66,6 +78,17 @@ const TestInterface: React.FC<StartTestProps> = ({ onExamSubmit }) => {
 
 
   const { activateSecurity, deactivateSecurity } = useExamSecurity(handleSecurityViolation, sessionId, null);
+  const { flush: flushAutosave, finalize: finalizeAnswer, markSaved } = useAnswerAutosave(sessionId, answers);
+
+  // Leaving a question (next, previous or the sidebar) finalizes its answer for early grading
+  const previousQuestionId = useRef<string | null>(null);
+  useEffect(() => {
+    const currentId = questions[currentQuestionIndex]?.id ?? null;
+    if (previousQuestionId.current && previousQuestionId.current !== currentId) {
+      finalizeAnswer(previousQuestionId.current);
+    }
+    previousQuestionId.current = currentId;
+  }, [currentQuestionIndex, questions, finalizeAnswer]);
   const getJavaClassName = (code: string): string | null => {
     // This regex looks for "public class SomeClassName"
     const match = code.match(/public\s+class\s+([a-zA-Z_$][\w$]*)/);
@@ -112,17 +135,21 @@ const TestInterface: React.FC<StartTestProps> = ({ onExamSubmit }) => {
   }, []);
 
   const handleSubmit = useCallback(async () => {
-    if (isSubmitting) return;
+    if (isSubmitting || !questionsComplete) return;
 
     setIsSubmitting(true);
 
     try {
-      const answersPayload: { [key: string]: string } = {};
-      questions.forEach((q, index) => {
-        answersPayload["answer" + index] = answers[q.id] ?? "";
-      });
+      // Everything already autosaved is committed server-side; send the full set only if the last save failed
+      let answersPayload: { [key: string]: string } | null = null;
+      if (!(await flushAutosave())) {
+        answersPayload = {};
+        questions.forEach((q, index) => {
+          answersPayload!["answer" + index] = answers[q.id] ?? "";
+        });
+      }
 
-      const response = await interviewAPI.submitAnswers(answersPayload, sessionId);
+      const response = await interviewAPI.submitAnswers(answersPayload, sessionId, submitKey.current);
 
       if (response.data.status === "success") {
         deactivateSecurity();
@@ -156,24 +183,47 @@ const TestInterface: React.FC<StartTestProps> = ({ onExamSubmit }) => {
       toast.error("Failed to submit interview. Please try again.");
       setIsSubmitting(false);
     }
-  }, [questions, answers, sessionId, onExamSubmit, isSubmitting, deactivateSecurity]);
+  }, [questions, answers, sessionId, onExamSubmit, isSubmitting, questionsComplete, deactivateSecurity, flushAutosave]);
 
   useEffect(() => {
-    const startInterview = async () => {
+    let cancelled = false;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+    const startInterview = async (attempt: number) => {
       if (urlSessionId) {
         try {
-          dispatch(resetTestState());
+          if (attempt === 0) dispatch(resetTestState());
           const response = await interviewAPI.startInterviewWithSession(urlSessionId);
+          if (cancelled) return;
           dispatch(setQuestions(response.data.questions));
           dispatch(setReduxSessionId(response.data.sessionId));
-        } catch (error) {
-          console.error("Failed to start interview:", error);
-          toast.error("Could not start the interview. The link may be invalid or expired.");
+          setQuestionsComplete(response.data.complete !== false);
+          // Resume where the candidate left off if the page was reloaded mid-exam
+          const savedAnswers = response.data.savedAnswers ?? {};
+          markSaved(savedAnswers);
+          dispatch(restoreAnswers(savedAnswers));
+        } catch (error: any) {
+          if (cancelled) return;
+          const status = error.response?.status;
+          if (status === 425) {
+            // Questions are still being generated; retry after 2s, doubling up to 30s
+            setStartState('preparing');
+            retryTimer = setTimeout(() => startInterview(attempt + 1), Math.min(2000 * 2 ** attempt, 30000));
+          } else if (status === 503) {
+            setStartState('failed');
+            setStartMessage(error.response?.data?.message || "Your interview could not be prepared. Please contact HR.");
+          } else {
+            console.error("Failed to start interview:", error);
+            toast.error("Could not start the interview. The link may be invalid or expired.");
+          }
         }
       }
     };
-    startInterview();
-  }, [dispatch, urlSessionId]);
+    startInterview(0);
+    return () => {
+      cancelled = true;
+      clearTimeout(retryTimer);
+    };
+  }, [dispatch, urlSessionId, markSaved]);
 
   useEffect(() => {
     if (questions.length > 0) {
@@ -181,6 +231,26 @@ const TestInterface: React.FC<StartTestProps> = ({ onExamSubmit }) => {
     }
   }, [questions.length, activateSecurity]);
 
+  // Picks up the rest of a set that was still being generated when the exam started
+  useEffect(() => {
+    if (questionsComplete || !sessionId) return;
+    const poll = setInterval(async () => {
+      try {
+        const response = await interviewAPI.getSessionQuestions(sessionId, questionCount.current);
+        dispatch(appendQuestions(response.data.questions));
+        if (response.data.complete) {
+          setQuestionsComplete(true);
+        } else if (response.data.generationStatus === 'FAILED') {
+          setQuestionsComplete(true);
+          toast.error("Some interview questions could not be prepared. Please contact HR.");
+        }
+      } catch (error) {
+        console.error("Failed to fetch remaining questions:", error);
+      }
+    }, 3000);
+    return () => clearInterval(poll);
+  }, [questionsComplete, sessionId, dispatch]);
+
   useEffect(() => {
     if (timeLeft <= 0) {
       toast.error("Time is up! Submitting your test...");
@@ -266,8 +336,18 @@ useEffect(() => {
       <>
         <Toaster position="top-center" />
         <Box className="flex justify-center items-center h-64">
-          <CircularProgress />
-          <Typography className="ml-4">Loading interview questions...</Typography>
+          {startState === 'failed' ? (
+            <Alert severity="error">{startMessage}</Alert>
+          ) : (
+            <>
+              <CircularProgress />
+              <Typography className="ml-4">
+                {startState === 'preparing'
+                  ? "Your interview questions are being prepared. This page will start the interview as soon as they are ready."
+                  : "Loading interview questions..."}
+              </Typography>
+            </>
+          )}
         </Box>
       </>
     );
@@ -312,7 +392,7 @@ useEffect(() => {
 
     const className = currentLanguage === 'java' ? getJavaClassName(selectedAnswer) : undefined;
 
-   const result = await executeCode(selectedAnswer, currentLanguage, className);
+   const result = await executeCode(selectedAnswer, currentLanguage, className, '', sessionId || '');
 
     if (result.error) {
       setCodeOutput(`Error: ${result.error}`);
@@ -519,7 +599,9 @@ useEffect(() => {
 
                 <Box className="flex-1 flex justify-center">
                   <Tooltip
-                    title={!allQuestionsAnswered ?
+                    title={!questionsComplete ?
+                      "More questions are still being prepared. They will appear shortly." :
+                      !allQuestionsAnswered ?
                       `You have ${unansweredQuestions} unanswered question${unansweredQuestions > 1 ? 's' : ''}. Please answer all questions before submitting.` :
                       "Submit your interview"
                     }
@@ -531,7 +613,7 @@ useEffect(() => {
                         color="success"
                         size="large"
                         onClick={handleSubmit}
-                        disabled={isSubmitting || !allQuestionsAnswered}
+                        disabled={isSubmitting || !questionsComplete || !allQuestionsAnswered}
                         sx={{ px: 6, py: 1.5 }}
                       >
                         {isSubmitting ? "Submitting..." : "Submit Interview"}
@@ -53,6 +53,15 @@ const testSlice = createSlice({
             state.isLoading = false;
         },
 
+        // Adds questions that were still being generated when the test started, skipping any already shown.
+        appendQuestions: (state, action: PayloadAction<Question[]>) => {
+            action.payload.forEach((question) => {
+                if (!state.questions.some((q) => q.id === question.id)) {
+                    state.questions.push(question);
+                }
+            });
+        },
+
         // Stores the session ID for the current test.
         setSessionId: (state, action: PayloadAction<string>) => {
             state.sessionId = action.payload;
@@ -69,6 +78,16 @@ const testSlice = createSlice({
             }
         },
 
+        // Restores answers autosaved on the server, e.g. after a reload. Call after setQuestions.
+        restoreAnswers: (state, action: PayloadAction<{ [questionId: string]: string }>) => {
+            Object.entries(action.payload).forEach(([questionId, answer]) => {
+                state.answers[questionId] = answer;
+                if (answer.trim() !== "" && !state.answeredQuestions.includes(questionId)) {
+                    state.answeredQuestions.push(questionId);
+                }
+            });
+        },
+
         // Moves to the next question in the list.
         nextQuestion: (state) => {
             if (state.currentQuestionIndex < state.questions.length - 1) {
@@ -115,8 +134,10 @@ const testSlice = createSlice({
 export const {
     resetTestState,
     setQuestions,
+    appendQuestions,
     setSessionId,
     saveAnswer,
+    restoreAnswers,
     nextQuestion,
     previousQuestion,
     setCurrentQuestionIndex,
@@ -25,6 +25,11 @@ export const hrAPI = {
   scheduleInterview: (candidateEmail: string) => api.post('/hr/schedule-interview', null, {
     params: { candidateEmail }
   }),
+  scheduleInterviews: (candidateEmails: string[], parallelism?: number) =>
+    api.post('/hr/schedule-interviews', { candidateEmails, parallelism }),
+  getScheduleBatch: (batchId: string) => api.get(`/hr/schedule-interviews/${batchId}`),
+  getInterviewStatus: (sessionId: string) => api.get(`/hr/interview-status/${sessionId}`),
+  getGradingStatus: (candidateEmail: string) => api.get(`/hr/grading-status/${candidateEmail}`),
   updateResume: (formData: FormData) => api.put('/hr/update-resume', formData),
   getInterviewSummary: (candidateEmail: string) =>
     api.get(`/hr/interview-summary/${candidateEmail}`),
@@ -50,8 +55,18 @@ export const interviewAPI = {
   startInterviewWithSession: (sessionId: string) => {
     return api.get(`/interview/start-with-session/${sessionId}`);
   },
-  submitAnswers: (answers: { [key: string]: string }, sessionId: string) => {
-    return api.post(`/interview/submit-answers`, {sessionId, answers});
+  // answers may be omitted once everything has been autosaved; the server commits what it has stored.
+  // Reuse the same idempotencyKey when retrying so a repeat returns the original outcome.
+  submitAnswers: (answers: { [key: string]: string } | null, sessionId: string, idempotencyKey?: string) => {
+    return api.post(`/interview/submit-answers`, answers ? {sessionId, answers} : {sessionId},
+      idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined);
+  },
+  // Questions that arrived after the exam started, from index "from" onwards; "complete" is true once the set is final
+  getSessionQuestions: (sessionId: string, from: number) => {
+    return api.get(`/interview/session/${sessionId}/questions`, { params: { from } });
+  },
+  saveAnswers: (sessionId: string, answers: { questionId: string; answer: string; revision: number; final?: boolean }[]) => {
+    return api.put(`/interview/session/${sessionId}/answers`, { answers });
   },
   logEvent: (eventData: any) => {
     return api.post(`/api/monitoring/log-event`, eventData);
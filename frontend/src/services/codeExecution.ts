@@ -12,7 +12,40 @@ const languageMap: { [key: string]: number } = {
 };
 
 // ✅ UPDATED: Function signature now includes an optional 'className' parameter.
-export const executeCode = async (code: string, language: string, className?: string, input: string = '') => {
+const BACKEND_URL = 'http://localhost:8081';
+
+// Java runs in the backend's sandbox; other languages still go to Judge0
+// Only runs for the interview session this browser opened, while it is still in progress
+const executeJavaOnBackend = async (code: string, input: string, sessionId: string) => {
+  try {
+    const response = await fetch(`${BACKEND_URL}/interview/execute-code`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      credentials: 'include',
+      body: JSON.stringify({ sessionId, language: 'java', code, input })
+    });
+
+    const result = await response.json();
+
+    return {
+      output: result.output || 'No output',
+      error: result.status === 'OK' ? '' : (result.message || result.error || result.status),
+      status: result.status || 'Unknown'
+    };
+  } catch (error) {
+    return {
+      output: '',
+      error: 'Execution failed. Please try again.',
+      status: 'Error'
+    };
+  }
+};
+
+export const executeCode = async (code: string, language: string, className?: string, input: string = '', sessionId: string = '') => {
+  if (language === 'java') {
+    return executeJavaOnBackend(code, input, sessionId);
+  }
+
   // NOTE: The 'className' is not directly used in the API call.
   // The Judge0 API infers the filename from the 'public class' name within the source code.
   // We include it in the signature for clarity and to match the function call from the component.
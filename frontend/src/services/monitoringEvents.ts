@@ -0,0 +1,81 @@
+import { websocketService } from './websocket';
+
+export interface MonitoringEventPayload {
+  sessionId: string;
+  candidateEmail: string;
+  eventType: string;
+  description: string;
+  metadata?: string;
+}
+
+const LOG_EVENTS_URL = 'http://localhost:8081/api/monitoring/log-events';
+
+// HTTP fallback events are sent together, once this many are waiting or after FLUSH_DELAY_MS
+const MAX_BATCH = 20;
+const FLUSH_DELAY_MS = 1000;
+
+let connectionRequested = false;
+
+interface PendingBatch {
+  events: MonitoringEventPayload[];
+  sent: Promise<void>;
+  settle: (request: Promise<void>) => void;
+  timer: ReturnType<typeof setTimeout>;
+}
+
+let pending: PendingBatch | null = null;
+
+const flushQueued = (keepalive = false): Promise<void> => {
+  const batch = pending;
+  pending = null;
+  if (!batch) return Promise.resolve();
+  clearTimeout(batch.timer);
+
+  const request = fetch(LOG_EVENTS_URL, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    credentials: 'include',
+    keepalive,
+    body: JSON.stringify(batch.events),
+  }).then(() => undefined);
+  batch.settle(request);
+  return request;
+};
+
+// Send whatever is still queued when the page goes away; keepalive lets the request outlive it
+if (typeof window !== 'undefined') {
+  window.addEventListener('pagehide', () => {
+    flushQueued(true).catch(() => undefined);
+  });
+}
+
+/**
+ * Sends a proctoring event over the exam page's single STOMP connection, opening it on first use.
+ * While the connection is not up yet (or has dropped) the event goes over HTTP instead, batched
+ * with the other events queued in the same second. Resolves once the event has been sent.
+ */
+export const logMonitoringEvent = async (event: MonitoringEventPayload): Promise<void> => {
+  if (!connectionRequested) {
+    connectionRequested = true;
+    websocketService.connect().catch((err) => {
+      console.error('Monitoring WebSocket unavailable, using HTTP:', err);
+    });
+  }
+
+  if (websocketService.sendMonitoringEvent(event)) return;
+
+  if (!pending) {
+    let settle: (request: Promise<void>) => void = () => undefined;
+    const sent = new Promise<void>((resolve) => {
+      settle = resolve;
+    });
+    pending = { events: [], sent, settle, timer: setTimeout(() => flushQueued().catch(() => undefined), FLUSH_DELAY_MS) };
+  }
+  const batch = pending;
+  batch.events.push(event);
+  if (batch.events.length >= MAX_BATCH) {
+    // A failure reaches every caller through batch.sent
+    flushQueued().catch(() => undefined);
+  }
+  await batch.sent;
+};
@@ -0,0 +1,44 @@
+export interface MonitoringFeedEntry {
+  sessionId: string;
+  candidateEmail: string;
+  eventType: string;
+  description: string;
+  firstAt: string;
+  lastAt: string;
+  count: number;
+}
+
+export interface MonitoringFeedFilters {
+  sessionIds?: string[];
+  eventTypes?: string[];
+}
+
+const STREAM_URL = 'http://localhost:8081/hr/monitoring/stream';
+
+/**
+ * Opens HR's live feed of monitoring events (Server-Sent Events). The server filters by session
+ * and event type, and folds bursts into one entry with a count. EventSource reconnects on its own.
+ * Returns a function that closes the feed.
+ */
+export const openMonitoringFeed = (
+  filters: MonitoringFeedFilters,
+  onEntry: (entry: MonitoringFeedEntry) => void,
+  onOverflow?: (dropped: number) => void,
+): (() => void) => {
+  const params = new URLSearchParams();
+  if (filters.sessionIds?.length) params.set('sessionIds', filters.sessionIds.join(','));
+  if (filters.eventTypes?.length) params.set('eventTypes', filters.eventTypes.join(','));
+  const query = params.toString();
+
+  const source = new EventSource(query ? `${STREAM_URL}?${query}` : STREAM_URL, { withCredentials: true });
+  source.addEventListener('monitoring', (event) => {
+    onEntry(JSON.parse((event as MessageEvent).data));
+  });
+  source.addEventListener('overflow', (event) => {
+    onOverflow?.(JSON.parse((event as MessageEvent).data).dropped);
+  });
+  source.onerror = () => {
+    console.warn('Live monitoring feed interrupted, reconnecting');
+  };
+  return () => source.close();
+};
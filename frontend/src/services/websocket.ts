@@ -4,25 +4,35 @@ import { Client } from '@stomp/stompjs';
 class WebSocketService {
   private client: Client | null = null;
   private connected = false;
+  private connecting: Promise<void> | null = null;
 
-  connect(onMessageReceived: (message: any) => void): Promise<void> {
-    return new Promise((resolve, reject) => {
-      const socket = new SockJS('http://localhost:8081/ws');
+  // Candidates connect without a callback (send only); HR passes one to follow the feed,
+  // optionally narrowed to one session's topic.
+  connect(onMessageReceived?: (message: any) => void, topic = '/topic/monitoring'): Promise<void> {
+    if (this.connecting) return this.connecting;
 
+    this.connecting = new Promise((resolve, reject) => {
       this.client = new Client({
-        webSocketFactory: () => socket,
+        webSocketFactory: () => new SockJS('http://localhost:8081/ws'),
+        reconnectDelay: 5000,
+        heartbeatIncoming: 10000,
+        heartbeatOutgoing: 10000,
         onConnect: () => {
           console.log('WebSocket connected');
           this.connected = true;
 
-          // Subscribe to monitoring events
-          this.client?.subscribe('/topic/monitoring', (message) => {
-            const event = JSON.parse(message.body);
-            onMessageReceived(event);
-          });
+          if (onMessageReceived) {
+            this.client?.subscribe(topic, (message) => {
+              const event = JSON.parse(message.body);
+              onMessageReceived(event);
+            });
+          }
 
           resolve();
         },
+        onWebSocketClose: () => {
+          this.connected = false;
+        },
         onStompError: (error) => {
           console.error('WebSocket error:', error);
           reject(error);
@@ -31,27 +41,36 @@ class WebSocketService {
 
       this.client.activate();
     });
+    return this.connecting;
+  }
+
+  isConnected() {
+    return this.connected;
   }
 
+  // Returns false when there is no open connection, so the caller can fall back to HTTP
   sendMonitoringEvent(eventData: {
     sessionId: string;
     candidateEmail: string;
     eventType: string;
     description: string;
     metadata?: string;
-  }) {
+  }): boolean {
     if (this.connected && this.client) {
       this.client.publish({
         destination: '/app/monitoring-event',
         body: JSON.stringify(eventData),
       });
+      return true;
     }
+    return false;
   }
 
   disconnect() {
     if (this.client) {
       this.client.deactivate();
       this.connected = false;
+      this.connecting = null;
     }
   }
 }
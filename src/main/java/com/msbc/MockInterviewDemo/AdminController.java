@@ -1,16 +1,27 @@
 package com.msbc.MockInterviewDemo;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/admin")
 public class AdminController {
 
+    @Autowired
+    private LlmGovernor llmGovernor;
+
     @GetMapping("/dashboard")
     public String dashboard(){
         return "Admin dashboard";
     }
 
+    @GetMapping("/llm-metrics")
+    public Map<String, Object> llmMetrics() {
+        return llmGovernor.getMetrics();
+    }
+
 }
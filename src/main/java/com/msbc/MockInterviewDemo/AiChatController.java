@@ -9,16 +9,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class AiChatController {
 
     private final ChatClient chatClient;
+    private final LlmGovernor llmGovernor;
     
-    public AiChatController(ChatClient.Builder chatClientBuilder) {
+    public AiChatController(ChatClient.Builder chatClientBuilder, LlmGovernor llmGovernor) {
         this.chatClient = chatClientBuilder.build();
+        this.llmGovernor = llmGovernor;
     }
 
     @PostMapping("/chat")
     public String chat(@RequestParam String q) {
-        return chatClient.prompt()
+        return llmGovernor.call(LlmGovernor.UseCase.CHAT, () -> chatClient.prompt()
                 .user(q)
                 .call()
-                .content();
+                .content());
     }
 }
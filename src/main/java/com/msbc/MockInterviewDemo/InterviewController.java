@@ -29,10 +29,12 @@ public class InterviewController {
     private InterviewResultRepository interviewResult;
 
     private final ChatClient chatClient;
+    private final LlmGovernor llmGovernor;
     private final Map<String, List<Question>> userQuestions = new HashMap<>();
 
-    public InterviewController(ChatClient.Builder chatClientBuilder) {
+    public InterviewController(ChatClient.Builder chatClientBuilder, LlmGovernor llmGovernor) {
         this.chatClient = chatClientBuilder.build();
+        this.llmGovernor = llmGovernor;
     }
 
     @GetMapping("/upload")
@@ -84,10 +86,10 @@ public class InterviewController {
                 
                 """.formatted(resumeText, randomSeed);
 
-        String response = chatClient.prompt()
+        String response = llmGovernor.call(LlmGovernor.UseCase.QUESTION_GENERATION, () -> chatClient.prompt()
                 .user(prompt)
                 .call()
-                .content();
+                .content());
 
         List<Question> questions = parseQuestions(response);
         userQuestions.put(userId, questions);
@@ -115,10 +117,10 @@ public class InterviewController {
         }
 
         String reviewPrompt = buildReviewPrompt(questions.stream().map(Question::getQuestion).toList(), userAnswerMap);
-        String aiResponse = chatClient.prompt()
+        String aiResponse = llmGovernor.call(LlmGovernor.UseCase.GRADING, () -> chatClient.prompt()
                 .user(reviewPrompt)
                 .call()
-                .content();
+                .content());
 
         InterviewSummary summary = parseAiSummary(aiResponse);
         
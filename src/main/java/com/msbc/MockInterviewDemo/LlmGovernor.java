@@ -0,0 +1,164 @@
+package com.msbc.MockInterviewDemo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Every AI call in this app goes through here. Each use case gets its own concurrency pool, all of
+ * them share one token bucket, and callers wait at most max-queue-wait-seconds for both before
+ * getting a 503 instead of a provider 429. This app runs separately from the backend and has its
+ * own bucket, so its requests-per-minute is its share of the provider quota, not the whole quota.
+ */
+@Component
+public class LlmGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmGovernor.class);
+
+    public enum UseCase { QUESTION_GENERATION, GRADING, CHAT }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class CapacityException extends RuntimeException {
+        public CapacityException(String message) {
+            super(message);
+        }
+    }
+
+    private final Map<UseCase, Semaphore> pools = new EnumMap<>(UseCase.class);
+    private final Map<UseCase, Metrics> metrics = new EnumMap<>(UseCase.class);
+    private final long maxQueueWaitNanos;
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    private static final class Metrics {
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong waits = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+    }
+
+    public LlmGovernor(@Value("${llm.governor.pool.question-generation:2}") int questionGenerationPool,
+                       @Value("${llm.governor.pool.grading:2}") int gradingPool,
+                       @Value("${llm.governor.pool.chat:1}") int chatPool,
+                       @Value("${llm.governor.requests-per-minute:20}") int requestsPerMinute,
+                       @Value("${llm.governor.burst:5}") int burst,
+                       @Value("${llm.governor.max-queue-wait-seconds:60}") long maxQueueWaitSeconds) {
+        pools.put(UseCase.QUESTION_GENERATION, new Semaphore(questionGenerationPool, true));
+        pools.put(UseCase.GRADING, new Semaphore(gradingPool, true));
+        pools.put(UseCase.CHAT, new Semaphore(chatPool, true));
+        for (UseCase useCase : UseCase.values()) {
+            metrics.put(useCase, new Metrics());
+        }
+        this.maxQueueWaitNanos = TimeUnit.SECONDS.toNanos(maxQueueWaitSeconds);
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public <T> T call(UseCase useCase, Supplier<T> call) {
+        Semaphore pool = pools.get(useCase);
+        Metrics m = metrics.get(useCase);
+        long queuedAt = System.nanoTime();
+        long deadline = queuedAt + maxQueueWaitNanos;
+
+        m.queued.incrementAndGet();
+        boolean acquired = false;
+        try {
+            acquired = pool.tryAcquire(maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+            if (acquired && !takeToken(deadline)) {
+                pool.release();
+                acquired = false;
+            }
+        } catch (InterruptedException e) {
+            if (acquired) {
+                pool.release();
+            }
+            Thread.currentThread().interrupt();
+            throw new CapacityException("Interrupted while waiting for the AI service.");
+        } finally {
+            long waited = System.nanoTime() - queuedAt;
+            m.queued.decrementAndGet();
+            m.waits.incrementAndGet();
+            m.totalWaitNanos.addAndGet(waited);
+            m.maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+
+        if (!acquired) {
+            m.rejected.incrementAndGet();
+            logger.warn("AI call for {} rejected after waiting {} ms", useCase, (System.nanoTime() - queuedAt) / 1_000_000);
+            throw new CapacityException("AI service is busy, please try again shortly.");
+        }
+
+        m.active.incrementAndGet();
+        try {
+            T result = call.get();
+            m.completed.incrementAndGet();
+            return result;
+        } catch (RuntimeException e) {
+            m.failed.incrementAndGet();
+            throw e;
+        } finally {
+            m.active.decrementAndGet();
+            pool.release();
+        }
+    }
+
+    // Takes one token, waiting for a refill; false if none would arrive before the deadline
+    private boolean takeToken(long deadlineNanos) throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (System.nanoTime() + waitNanos > deadlineNanos) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (UseCase useCase : UseCase.values()) {
+            Metrics m = metrics.get(useCase);
+            long waits = m.waits.get();
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("queueDepth", m.queued.get());
+            data.put("active", m.active.get());
+            data.put("availableSlots", pools.get(useCase).availablePermits());
+            data.put("completed", m.completed.get());
+            data.put("failed", m.failed.get());
+            data.put("rejected", m.rejected.get());
+            data.put("avgWaitMs", waits > 0 ? m.totalWaitNanos.get() / waits / 1_000_000.0 : 0.0);
+            data.put("maxWaitMs", m.maxWaitNanos.get() / 1_000_000.0);
+            result.put(useCase.name(), data);
+        }
+        return result;
+    }
+}